@@ -2,13 +2,10 @@ package org.eclipse.microprofile.logging;
 
 import io.opentracing.Span;
 import io.opentracing.Tracer;
-import io.opentracing.log.Fields;
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.Map;
 import java.util.function.Supplier;
 import javax.enterprise.inject.spi.CDI;
-import javax.json.bind.Jsonb;
-import javax.json.bind.JsonbBuilder;
 
 /**
  * Base class containing convenience methods for basic logging methods as well
@@ -25,45 +22,101 @@ import javax.json.bind.JsonbBuilder;
 public abstract class AbstractLogger<T extends LogEvent> implements Logger<T> {
 
   private final Supplier<T> supplier;
+  private final LogEventPool<T> pool;
+  private final AsyncLogDispatcher dispatcher;
+  private final AsyncLogDispatcher spanDispatcher;
+  private final Deduplicator deduplicator;
+  private final LoggerMetrics metrics;
   private final String name;
-  private final Jsonb jsonB;
   
+  /** The Tracer, or null if there is none; only valid once tracerResolved is true */
   private Tracer tracer;
+  private volatile boolean tracerResolved;
+  
+  /** The Sampler applied to every log statement of this Logger, if any */
+  private volatile Sampler sampler;
+  
+  /** The value of the configured Level, pushed by the {@link LevelRegistry} */
+  private volatile int threshold = Level.ALL.intValue();
   
   public AbstractLogger(final String name, Supplier<T> supplier) {
+    this(name, supplier, Configuration.current().isAsync() ? AsyncLogDispatcher.getInstance() : null);
+  }
+  
+  /**
+   * Create a Logger that writes its events through the given dispatcher, rather than
+   * the one selected by {@link Configuration#ASYNC}.
+   * 
+   * @param name The name of the Logger.
+   * @param supplier The supplier of LogEvents.
+   * @param dispatcher The dispatcher that writes the events, or null to write them on the logging Thread.
+   */
+  protected AbstractLogger(final String name, Supplier<T> supplier, AsyncLogDispatcher dispatcher) {
     this.name = name;
-    this.supplier = supplier;
-    this.jsonB = JsonbBuilder.create();
-    initTracer();
+    this.dispatcher = dispatcher;
+    this.spanDispatcher = initSpanDispatcher(dispatcher);
+    this.deduplicator = Configuration.current().isDedup() ? Deduplicator.getInstance() : null;
+    this.metrics = Configuration.current().isMetrics() ? LoggingMetrics.forLogger(name) : null;
+    this.pool = initPool(supplier);
+    this.supplier = pool != null ? pool : supplier;
+    LevelRegistry.register(this);
   }
   
   public Supplier<T> getSupplier() {
     return supplier;
   }
 
+  /**
+   * Get the Sampler applied to every log statement of this Logger.
+   * 
+   * @return The Sampler, or null if every statement at a loggable level is written.
+   */
+  public Sampler getSampler() {
+    return sampler;
+  }
+  
+  /**
+   * Set a Sampler to apply to every log statement of this Logger, E.g. to rate limit a
+   * Logger used in a hot loop. A Sampler given to a single log statement takes precedence.
+   * 
+   * @param sampler The Sampler, or null to write every statement at a loggable level.
+   */
+  public void setSampler(Sampler sampler) {
+    this.sampler = sampler;
+  }
+  
+  /**
+   * Get the metrics recorded for this Logger's name.
+   * 
+   * @return The metrics, or null if {@link Configuration#METRICS} was not enabled when this Logger was created.
+   */
+  public LoggerMetrics getMetrics() {
+    return metrics;
+  }
+
   @Override
   public void debug(LogFunction<T> f) {
-    log(Level.DEBUG, f);
+    write(Level.DEBUG, sampler, f);
   }
 
   @Override
   public void error(LogFunction<T> f) {
-    log(Level.ERROR, f);
+    write(Level.ERROR, sampler, f);
   }
 
   @Override
   public void info(LogFunction<T> f) {
-    log(Level.INFO, f);
+    write(Level.INFO, sampler, f);
   }
 
   @Override
   public void trace(LogFunction<T> f) {
-    log(Level.TRACE, f);
+    write(Level.TRACE, sampler, f);
   }
 
   @Override
   public void warn(LogFunction<T> f) {
-    log(Level.WARN, f);
+    write(Level.WARN, sampler, f);
   }
   
   @Override
@@ -73,25 +126,75 @@ public abstract class AbstractLogger<T extends LogEvent> implements Logger<T> {
   
   @Override
   public void log(Level lvl, LogFunction<T> f) {
-    if (isLoggable(lvl)) {
+    write(lvl, sampler, f);
+  }
+  
+  @Override
+  public void log(Level lvl, Sampler sampler, LogFunction<T> f) {
+    write(lvl, sampler, f);
+  }
+  
+  /**
+   * Perform logging.
+   * 
+   * The implementation is shared by all the logging methods, each calling it directly, in order to 
+   * create a consistent Stack Trace before calling down into {@link #writeLog(org.eclipse.microprofile.logging.Level, org.eclipse.microprofile.logging.LogEvent))
+   * 
+   * @param lvl The level at which to log.
+   * @param sampler The Sampler deciding whether the statement is written, or null.
+   * @param f Log function
+   */
+  private void write(Level lvl, Sampler sampler, LogFunction<T> f) {
+    final boolean loggable = isLoggable(lvl);
+    if (loggable && (sampler == null || sampler.sample())) {
+      if (metrics != null) {
+        metrics.recordEvent(lvl);
+      }
+      
+      // The context recorded on this Thread is written before the error.
+      if (lvl.intValue() >= Level.ERROR.intValue() && Configuration.current().isRecorderEnabled()) {
+        FlightRecorder.flush();
+      }
+      
       final T event = getSupplier().get();
+      if (sampler != null) {
+        final long suppressed = sampler.drainSuppressed();
+        if (suppressed > 0) {
+          event.suppressed = suppressed;
+        }
+      }
       
       // If the log will go to the Span, initialise
       // the log event with the Span ID before calling
       // the log function.
-      if (isSpanImplicitLoggable(lvl)) {
-        final Span span = tracer.activeSpan();
+      final Span span = getSpanImplicit(lvl);
+      if (span != null) {
         event.spanId = span.context().toSpanId();
       }
       
       // Invoke the log function
-      event.message = f.log(event);
+      populate(event, f);
       
-      writeLog(lvl, event);
+      // Span logging comes first as a dispatched 
+      // event is no longer owned by this Thread.
+      if (span != null) {
+        writeSpan(lvl, span, event);
+      }
       
-      if (isSpanImplicitLoggable(lvl)) {
-        writeSpan(event);
+      // Repeats are only suppressed for the Logging Framework, 
+      // each Span still receives its own log data.
+      final RequestLogBuffer buffer = Configuration.current().isRequestBuffer() ? RequestLogBuffer.current() : null;
+      if (deduplicator != null && deduplicator.isDuplicate(this, lvl, f, event)) {
+        recycle(event);
+      } else if (buffer != null && buffer.add(this, lvl, event)) {
+        // Written, or discarded, when the request ends.
+      } else if (dispatcher == null) {
+        writeDispatched(lvl, event);
+      } else {
+        dispatch(lvl, event);
       }
+    } else if (!loggable && Configuration.current().isRecorded(lvl)) {
+      FlightRecorder.record(this, lvl, f);
     }
   }
   
@@ -111,21 +214,30 @@ public abstract class AbstractLogger<T extends LogEvent> implements Logger<T> {
     // logging may not be available as a Tracer
     // may not exist.
     boolean logFunctionCalled = false;
-    if (isSpanAvailable()) {
+    final Level spanLevel = getSpanLevel();
+    final Span span = getActiveSpan();
+    if (span != null) {
       logFunctionCalled = true;
-      final Span span = tracer.activeSpan();
       event.spanId = span.context().toSpanId();
-      event.message = f.log(event);
-      writeSpan(event);
+      populate(event, f);
+      writeSpan(spanLevel, span, event);
     } 
     
-    final Level spanLevel = getSpanLevel();
     if (isLoggable(spanLevel)) {
       if (!logFunctionCalled) {
-        event.message = f.log(event);
+        populate(event, f);
+      }
+      if (metrics != null) {
+        metrics.recordEvent(spanLevel);
       }
       
-      writeLog(spanLevel, event);
+      if (dispatcher == null) {
+        writeDispatched(spanLevel, event);
+      } else {
+        dispatch(spanLevel, event);
+      }
+    } else {
+      recycle(event);
     }
   }
   
@@ -134,6 +246,32 @@ public abstract class AbstractLogger<T extends LogEvent> implements Logger<T> {
     return name;
   }
   
+  /**
+   * Is the given Level enabled by the Level configured for this Logger in the {@link LevelRegistry}?
+   * 
+   * <p>
+   * Sub-classes that also consult the Logging Framework should combine its answer with this one,
+   * E.g. {@code super.isLoggable(lvl) && delegate.isEnabled(lvl)}, checking this first as it is
+   * a single comparison.
+   * </p>
+   * 
+   * @param lvl The Logging Level
+   * @return true if the Level is greater-than-or-equal-to the configured Level.
+   */
+  @Override
+  public boolean isLoggable(Level lvl) {
+    return lvl.intValue() >= threshold;
+  }
+  
+  /**
+   * Set the value of the configured Level.
+   * 
+   * @param threshold The integer value of the Level.
+   */
+  void setThreshold(int threshold) {
+    this.threshold = threshold;
+  }
+  
   /**
    * Get the JSON formatted String version of the supplied {@link LogEvent}
    * 
@@ -142,7 +280,19 @@ public abstract class AbstractLogger<T extends LogEvent> implements Logger<T> {
    * @return The event as a JSON String.
    */
   public String getJsonString(T event) {
-    return jsonB.toJson(event);
+    return LogEventEncoder.getDefault().toJson(event);
+  }
+  
+  /**
+   * Write the supplied {@link LogEvent} as JSON, E.g. straight into the buffer of a Logging Framework,
+   * without creating an intermediate String.
+   * 
+   * @param event The event to convert to JSON.
+   * @param out Where to write the JSON.
+   * @throws IOException If the Appendable fails.
+   */
+  public void writeJson(T event, Appendable out) throws IOException {
+    LogEventEncoder.getDefault().encode(event, out);
   }
   
   /**
@@ -155,97 +305,277 @@ public abstract class AbstractLogger<T extends LogEvent> implements Logger<T> {
   public abstract void writeLog(Level lvl, T event);
   
   /**
-   * Is Span logging enabled for the given Level
+   * Write several {@link LogEvent}s, in order, to the Logging subsystem; E.g. the events a
+   * {@link RequestLogBuffer} held for this Logger. A Logging Framework that can take a batch
+   * should override this, so it is entered once for all of them; the default writes them one
+   * by one with {@link #writeLog(Level, LogEvent)}.
    * 
-   * @param lvl The level to compare
-   * @return true The level is sufficient and Tracing is available.
+   * @param lvls The Levels of the log statements.
+   * @param events The log data.
+   * @param offset The index of the first event to write.
+   * @param count The number of events to write.
    */
-  private boolean isSpanAvailable() {
-    return tracer != null &&
-           tracer.activeSpan() != null;
+  public void writeLogs(Level[] lvls, T[] events, int offset, int count) {
+    for (int i = offset; i < offset + count; i++) {
+      writeLog(lvls[i], events[i]);
+    }
   }
   
   /**
-   * Is Span logging enabled for the given Level
+   * Get the active Span, if Tracing is available.
+   * 
+   * @return The active Span, or null.
+   */
+  private Span getActiveSpan() {
+    final Tracer t = getTracer();
+    return t != null ? t.activeSpan() : null;
+  }
+  
+  /**
+   * Get the Span a log statement at the given Level should also be logged to.
    * 
    * @param lvl The level to compare
-   * @return true The level is sufficient and Tracing is available.
+   * @return The active Span if the level is sufficient and Tracing is available, otherwise null.
    */
-  private boolean isSpanImplicitLoggable(Level lvl) {
-    return lvl.intValue() >= getSpanImplicitLevel().intValue() &&
-           tracer != null &&
-           tracer.activeSpan() != null;
+  private Span getSpanImplicit(Level lvl) {
+    return Configuration.current().isSpanImplicit(lvl) ? getActiveSpan() : null;
   }
   
   /**
    * Write the {@link LogEvent} to Span Logging.
    * 
    * <p>
-   * Note: This method expects Tracing to be available. As such, a call
-   * to this method must be wrapped in {@link #isSpanLoggable(org.eclipse.microprofile.logging.Level)}
+   * If {@link Configuration#SPAN_ASYNC} is enabled, the Span log data is handed to
+   * the {@link AsyncLogDispatcher} rather than written on this Thread.
    * </p>
    * 
+   * @param lvl The Level of the log statement.
+   * @param span The Span to log to, as captured for this log statement.
    * @param event The log data.
    */
-  private void writeSpan(T event) {
-    final Map<String, ?> fields = build(event);
-    final Span span = tracer.activeSpan();
-    span.log(fields);
+  private void writeSpan(Level lvl, Span span, T event) {
+    final Map<String, ?> fields = SpanFields.of(event);
+    if (metrics != null) {
+      metrics.recordSpan();
+    }
+    if (spanDispatcher == null) {
+      span.log(fields);
+    } else {
+      spanDispatcher.dispatchSpan(lvl, span, fields);
+    }
   }
   
+  /**
+   * Get the configured Logging Level at which {@link #span(org.eclipse.microprofile.logging.LogFunction)}
+   * method calls should be logged at. 
+   * 
+   * @return The configured Span Log Level.
+   */
+  private Level getSpanLevel() {
+    return Configuration.current().getSpanLevel();
+  }
   
-
   /**
-   * Convert the {@link LogEvent} data into Span log data.
+   * Hand the event to the {@link AsyncLogDispatcher}.
    * 
-   * @param event The event to convert.
-   * @return The Span log data.
+   * @param lvl The Level of the log statement.
+   * @param event The log data.
    */
-  private Map<String, ?> build(LogEvent event) {
-    final Map<String, Object> fields = new HashMap<>();
-    final Throwable thrown = event.throwable;
-    if (thrown != null) {
-      fields.put(Fields.EVENT, "error");
-      fields.put(Fields.ERROR_KIND, "Exception");
-      fields.put(Fields.ERROR_OBJECT, thrown);
-      fields.put(Fields.MESSAGE, thrown.getMessage());
-    } else {
-      fields.put(Fields.MESSAGE, event.message);
+  private void dispatch(Level lvl, T event) {
+    if (!dispatcher.dispatch(this, lvl, event)) {
+      recycle(event);
     }
-    return fields;
   }
   
   /**
-   * Get the configured Logging Level at which {@link #span(org.eclipse.microprofile.logging.LogFunction)}
-   * method calls should be logged at. 
+   * Write an event on the logging Thread, or on behalf of the {@link AsyncLogDispatcher}.
+   * The event is recycled even if the Logging Framework throws.
    * 
-   * @return The configured Span Log Level.
+   * @param lvl The Level of the log statement.
+   * @param event The log data.
    */
-  private Level getSpanLevel() {
-    return Configuration.get(Configuration.SPAN_LEVEL);
+  void writeDispatched(Level lvl, T event) {
+    try {
+      final long start = metrics != null ? System.nanoTime() : 0;
+      writeLog(lvl, event);
+      if (metrics != null) {
+        metrics.recordWrite(System.nanoTime() - start);
+      }
+    } finally {
+      recycle(event);
+    }
   }
   
   /**
-   * Get the configured Logging Level at which standard log methods such as debug(), warn(), etc.
-   * should also perform span logging.
+   * Call the log function, after copying the {@link LogContext} into the event so the function can
+   * see, or replace, it. A message returned by the function replaces one given as a template, 
+   * a null result leaves the template to be formatted when the message is needed.
    * 
-   * @return The configured Span Implicit Log Level.
+   * @param event The event to populate.
+   * @param f The log function.
    */
-  private Level getSpanImplicitLevel() {
-    return Configuration.get(Configuration.SPAN_IMPLICIT_LEVEL);
+  private static <T extends LogEvent> void populate(T event, LogFunction<T> f) {
+    final LogContext context = LogContext.current();
+    if (!context.isEmpty()) {
+      event.context = context;
+    }
+    final String message = f.log(event);
+    if (message != null || event.template == null) {
+      event.message = message;
+    }
   }
   
   /**
-   * Initialise the OpenTracing Tracer instance, if available.
+   * Write the summary of a log statement repeated within the {@link Deduplicator} window.
+   * 
+   * @param lvl The Level of the repeated log statement.
+   * @param message The message of the repeated log statement.
+   * @param count The number of repeats.
    */
-  private void initTracer() {
-    if (tracer == null) {
-      try {
-        tracer = CDI.current().select(Tracer.class).get();
-      } catch (Throwable ise) {
-        // Tracer not available. This can be quite likely so,
-        // this isn't an issue.
+  void writeRepeated(Level lvl, String message, long count) {
+    final T event = getSupplier().get();
+    event.message = message;
+    event.suppressed = count;
+    if (dispatcher == null) {
+      writeDispatched(lvl, event);
+    } else {
+      dispatch(lvl, event);
+    }
+  }
+  
+  /**
+   * Write a log statement deferred by the {@link FlightRecorder}, regardless of whether its Level is loggable.
+   * Like the statements written as they are made, it is held by the current {@link RequestLogBuffer}, if any,
+   * so the order of the statements is kept.
+   * 
+   * @param lvl The Level of the log statement.
+   * @param f The deferred log function.
+   * @param timestamp The time the log statement was made.
+   */
+  void writeDeferred(Level lvl, LogFunction<T> f, long timestamp) {
+    final T event = getSupplier().get();
+    populate(event, f);
+    event.timestamp = timestamp;
+    final RequestLogBuffer buffer = Configuration.current().isRequestBuffer() ? RequestLogBuffer.current() : null;
+    if (buffer != null && buffer.add(this, lvl, event)) {
+      // Written, or discarded, when the request ends.
+    } else if (dispatcher == null) {
+      writeDispatched(lvl, event);
+    } else {
+      dispatch(lvl, event);
+    }
+  }
+  
+  /**
+   * Write events held by a {@link RequestLogBuffer}, with a single call to {@link #writeLogs(Level[], LogEvent[], int, int)}
+   * unless they are dispatched. The events are recycled even if the Logging Framework throws.
+   * 
+   * @param lvls The Levels of the log statements.
+   * @param events The log data.
+   * @param offset The index of the first event to write.
+   * @param count The number of events to write.
+   */
+  void writeBuffered(Level[] lvls, T[] events, int offset, int count) {
+    if (dispatcher != null) {
+      for (int i = offset; i < offset + count; i++) {
+        dispatch(lvls[i], events[i]);
+      }
+      return;
+    }
+    try {
+      final long start = metrics != null ? System.nanoTime() : 0;
+      writeLogs(lvls, events, offset, count);
+      if (metrics != null) {
+        // The write latency of each event is its share of the batch.
+        final long nanos = (System.nanoTime() - start) / count;
+        for (int i = 0; i < count; i++) {
+          metrics.recordWrite(nanos);
+        }
       }
+    } finally {
+      for (int i = offset; i < offset + count; i++) {
+        recycle(events[i]);
+      }
+    }
+  }
+  
+  /**
+   * Discard an event held by a {@link RequestLogBuffer}, without writing it.
+   * 
+   * @param event The log data.
+   */
+  void discard(T event) {
+    recycle(event);
+  }
+  
+  /**
+   * Return the event to the {@link LogEventPool}, if {@link Configuration#EVENT_POOLING} is enabled.
+   * 
+   * @param event The event that has been written.
+   */
+  private void recycle(T event) {
+    if (pool != null) {
+      pool.release(event);
+    }
+  }
+  
+  /**
+   * Select the dispatcher for Span log data, if {@link Configuration#SPAN_ASYNC} is enabled.
+   * 
+   * @param dispatcher The dispatcher used for writing events, if any.
+   * @return The dispatcher for Span log data, or null if it is written on the logging Thread.
+   */
+  private static AsyncLogDispatcher initSpanDispatcher(AsyncLogDispatcher dispatcher) {
+    if (Configuration.current().isSpanAsync()) {
+      return dispatcher != null ? dispatcher : AsyncLogDispatcher.getInstance();
+    }
+    return null;
+  }
+  
+  /**
+   * Create the {@link LogEventPool} wrapping the supplier, if {@link Configuration#EVENT_POOLING} is enabled.
+   * 
+   * @param supplier The supplier given to this Logger.
+   * @return The pool, or null if events are not pooled.
+   */
+  private static <T extends LogEvent> LogEventPool<T> initPool(Supplier<T> supplier) {
+    if (supplier instanceof LogEventPool) {
+      return (LogEventPool<T>) supplier;
+    }
+    if (supplier != null && Configuration.current().isEventPooling()) {
+      return new LogEventPool<>(supplier);
+    }
+    return null;
+  }
+  
+  /**
+   * Get the OpenTracing Tracer instance, resolving it when first needed rather than
+   * when the Logger is created.
+   * 
+   * @return The Tracer, or null if it is not available.
+   */
+  private Tracer getTracer() {
+    if (!tracerResolved) {
+      // Racing Threads resolve the same Tracer; the volatile write publishes it.
+      tracer = resolveTracer();
+      tracerResolved = true;
+    }
+    return tracer;
+  }
+  
+  /**
+   * Resolve the OpenTracing Tracer instance, if available. Called once, the first time
+   * this Logger needs the Tracer.
+   * 
+   * @return The Tracer, or null if it is not available.
+   */
+  protected Tracer resolveTracer() {
+    try {
+      return CDI.current().select(Tracer.class).get();
+    } catch (Throwable ise) {
+      // Tracer not available. This can be quite likely so,
+      // this isn't an issue.
+      return null;
     }
   }
 }
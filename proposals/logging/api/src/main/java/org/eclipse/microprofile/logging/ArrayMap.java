@@ -0,0 +1,85 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable map of a few entries, E.g. a {@link LogContext} or Span log data, held in two arrays
+ * rather than in a {@link java.util.HashMap} with its table and entry objects. Keys are looked up
+ * by comparing each in turn.
+ *
+ * @param <V> The type of the values.
+ */
+abstract class ArrayMap<V> extends AbstractMap<String, V> {
+
+  final String[] keys;
+  final V[] values;
+
+  ArrayMap(String[] keys, V[] values) {
+    this.keys = keys;
+    this.values = values;
+  }
+
+  @Override
+  public int size() {
+    return keys.length;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public V get(Object key) {
+    final int index = indexOf(key);
+    return index >= 0 ? values[index] : null;
+  }
+
+  /**
+   * @param key The key.
+   * @return The index of the entry of the key, or -1 if there is none.
+   */
+  final int indexOf(Object key) {
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i].equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    return new AbstractSet<Entry<String, V>>() {
+      @Override
+      public Iterator<Entry<String, V>> iterator() {
+        return new Iterator<Entry<String, V>>() {
+          private int index;
+
+          @Override
+          public boolean hasNext() {
+            return index < keys.length;
+          }
+
+          @Override
+          public Entry<String, V> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            final int current = index++;
+            return new SimpleImmutableEntry<>(keys[current], values[current]);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return keys.length;
+      }
+    };
+  }
+}
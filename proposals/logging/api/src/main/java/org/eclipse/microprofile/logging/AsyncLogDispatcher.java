@@ -0,0 +1,431 @@
+package org.eclipse.microprofile.logging;
+
+import io.opentracing.Span;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands written {@link LogEvent} instances from the logging Threads to a single consumer Thread,
+ * which then calls {@link AbstractLogger#writeLog(org.eclipse.microprofile.logging.Level, org.eclipse.microprofile.logging.LogEvent)},
+ * so a slow Logging Framework does not add to the latency of the logging Thread.
+ * 
+ * <p>
+ * Span log data can be handed over the same way, so that calls to {@link Span#log(long, java.util.Map)}
+ * are also made by the consumer Thread. The timestamp of the log statement is captured when it is
+ * dispatched.
+ * </p>
+ * 
+ * <p>
+ * The events are held in a bounded, lock-free ring buffer of pre-allocated entries, so
+ * dispatching an event does not allocate. The consumer drains the buffer in batches of up to
+ * {@link Configuration#ASYNC_BATCH} events. When the buffer is full, the {@link OverflowPolicy}
+ * decides whether the logging Thread waits or the event is dropped.
+ * </p>
+ * 
+ * <p>
+ * The queue depth and the number of dropped events are exposed so backpressure can be monitored,
+ * as well as the number of events the Logging Framework failed to write.
+ * </p>
+ * 
+ * <p>
+ * Closing the dispatcher writes the events already queued, then stops the consumer Thread; events
+ * dispatched afterwards are written on the logging Thread.
+ * </p>
+ */
+public class AsyncLogDispatcher implements AutoCloseable {
+  
+  /** How long the consumer parks when the buffer is empty, unless woken by a logging Thread */
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+  
+  /** How long a blocked logging Thread parks before retrying */
+  private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+  
+  private static class InstanceHolder {
+    static final AsyncLogDispatcher INSTANCE = create();
+    
+    private static AsyncLogDispatcher create() {
+      final AsyncLogDispatcher dispatcher = new AsyncLogDispatcher(Configuration.get(Configuration.ASYNC_CAPACITY),
+                                                                   Configuration.get(Configuration.ASYNC_BATCH),
+                                                                   Configuration.get(Configuration.ASYNC_OVERFLOW),
+                                                                   Configuration.get(Configuration.ASYNC_OVERFLOW_LEVEL),
+                                                                   Configuration.get(Configuration.ASYNC_SAMPLE),
+                                                                   r -> {
+                                                                     final Thread thread = new Thread(r, "mp-logging-dispatcher");
+                                                                     thread.setDaemon(true);
+                                                                     return thread;
+                                                                   });
+      Runtime.getRuntime().addShutdownHook(new Thread(dispatcher::close, "mp-logging-dispatcher-shutdown"));
+      return dispatcher;
+    }
+  }
+  
+  /**
+   * A slot in the ring buffer.
+   */
+  private static final class Entry {
+    AbstractLogger<?> logger;
+    Level level;
+    LogEvent event;
+    Span span;
+    long timestampMicros;
+    Map<String, ?> fields;
+  }
+  
+  private final Entry[] entries;
+  
+  /** The sequence at which each slot can next be written (by a producer) or read (by the consumer) */
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final int batchSize;
+  
+  /** The next sequence to be claimed by a producer */
+  private final AtomicLong tail = new AtomicLong();
+  
+  /** The next sequence to be read by the consumer */
+  private final AtomicLong head = new AtomicLong();
+  
+  private final OverflowPolicy overflowPolicy;
+  private final int overflowLevel;
+  private final int sampleRate;
+  private final AtomicLong overflowCount = new AtomicLong();
+  private final LongAdder dropped = new LongAdder();
+  private final FailureReporter failures =
+      new FailureReporter("mp-logging: the dispatcher failed to write an event, further failures are only counted");
+  
+  private final Thread consumer;
+  private volatile boolean consumerWaiting;
+  private volatile boolean closed;
+  
+  /**
+   * Get the dispatcher configured through {@link Configuration}, shared by all Loggers.
+   * 
+   * <p>
+   * The consumer Thread is started on first access.
+   * </p>
+   * 
+   * @return The shared dispatcher.
+   */
+  public static AsyncLogDispatcher getInstance() {
+    return InstanceHolder.INSTANCE;
+  }
+  
+  /**
+   * Create a dispatcher and start its consumer Thread.
+   * 
+   * @param capacity The number of events the buffer can hold, rounded up to the next power of two.
+   * @param batchSize The maximum number of events written before the consumer publishes its progress.
+   * @param overflowPolicy What to do when the buffer is full.
+   * @param overflowLevel Events at or above this level are never dropped.
+   * @param sampleRate For {@link OverflowPolicy#SAMPLE}, one in this many events is kept.
+   * @param threadFactory The factory creating the consumer Thread.
+   */
+  public AsyncLogDispatcher(int capacity, int batchSize, OverflowPolicy overflowPolicy, Level overflowLevel, 
+                            int sampleRate, ThreadFactory threadFactory) {
+    final int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+    this.entries = new Entry[size];
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      entries[i] = new Entry();
+      sequences.set(i, i);
+    }
+    this.mask = size - 1;
+    this.batchSize = Math.max(1, batchSize);
+    this.overflowPolicy = overflowPolicy;
+    this.overflowLevel = overflowLevel.intValue();
+    this.sampleRate = Math.max(1, sampleRate);
+    this.consumer = threadFactory.newThread(this::consume);
+    this.consumer.start();
+  }
+  
+  /**
+   * Queue the event for writing by the consumer Thread.
+   * 
+   * <p>
+   * If the event is accepted, the dispatcher owns it and the caller MUST NOT modify it; the
+   * consumer returns it to the Logger's {@link LogEventPool}, if any, once written.
+   * </p>
+   * 
+   * @param <T> The Type of LogEvent.
+   * @param logger The Logger that will write the event.
+   * @param lvl The level of the log statement.
+   * @param event The log data.
+   * @return true if the event was queued (or written), false if it was dropped by the {@link OverflowPolicy}.
+   */
+  public <T extends LogEvent> boolean dispatch(AbstractLogger<T> logger, Level lvl, T event) {
+    if (closed || Thread.currentThread() == consumer) {
+      // Closed, or logging from within a Logging Framework; waiting for room would never end.
+      @SuppressWarnings("unchecked")
+      final AbstractLogger<LogEvent> eventLogger = (AbstractLogger<LogEvent>) logger;
+      write(eventLogger, lvl, event);
+      return true;
+    }
+    
+    final long position = acquire(lvl);
+    if (position < 0) {
+      return false;
+    }
+    
+    final int index = (int) position & mask;
+    final Entry entry = entries[index];
+    entry.logger = logger;
+    entry.level = lvl;
+    entry.event = event;
+    publish(index, position);
+    return true;
+  }
+  
+  /**
+   * Queue Span log data for writing by the consumer Thread.
+   * 
+   * <p>
+   * Note: Tracers may ignore, or reject, log data for a Span that has been finished
+   * by the time the consumer Thread writes it.
+   * </p>
+   * 
+   * @param lvl The level of the log statement, used by the {@link OverflowPolicy}.
+   * @param span The Span to log to.
+   * @param fields The Span log data.
+   * @return true if the data was queued (or written), false if it was dropped by the {@link OverflowPolicy}.
+   */
+  public boolean dispatchSpan(Level lvl, Span span, Map<String, ?> fields) {
+    final long timestampMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    if (closed || Thread.currentThread() == consumer) {
+      writeSpan(span, timestampMicros, fields);
+      return true;
+    }
+    
+    final long position = acquire(lvl);
+    if (position < 0) {
+      return false;
+    }
+    
+    final int index = (int) position & mask;
+    final Entry entry = entries[index];
+    entry.span = span;
+    entry.timestampMicros = timestampMicros;
+    entry.fields = fields;
+    publish(index, position);
+    return true;
+  }
+  
+  /**
+   * Wait until all events dispatched before this call have been written.
+   */
+  public void flush() {
+    final long target = tail.get();
+    while (head.get() < target && consumer.isAlive()) {
+      LockSupport.unpark(consumer);
+      LockSupport.parkNanos(FULL_PARK_NANOS);
+    }
+  }
+  
+  /**
+   * Write the events already queued, then stop the consumer Thread. Events dispatched
+   * afterwards are written on the logging Thread; events dispatched while closing
+   * may not be written.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    if (Thread.currentThread() == consumer) {
+      return;
+    }
+    LockSupport.unpark(consumer);
+    boolean interrupted = false;
+    while (consumer.isAlive()) {
+      try {
+        consumer.join();
+      } catch (InterruptedException ie) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+  
+  /**
+   * Get the number of events waiting to be written.
+   * 
+   * @return The queue depth.
+   */
+  public long getQueueDepth() {
+    return Math.max(0, tail.get() - head.get());
+  }
+  
+  /**
+   * Get the number of events the buffer can hold.
+   * 
+   * @return The capacity.
+   */
+  public int getCapacity() {
+    return entries.length;
+  }
+  
+  /**
+   * Get the number of events dropped because the buffer was full.
+   * 
+   * @return The dropped event count.
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+  
+  /**
+   * Get the number of events, and Span log data, the consumer Thread failed to write because
+   * the Logging Framework, or the Tracer, threw. The first failure is reported to {@link System#err}.
+   * 
+   * @return The failed event count.
+   */
+  public long getFailedCount() {
+    return failures.getCount();
+  }
+  
+  /**
+   * Claim the next slot in the buffer, applying the {@link OverflowPolicy} if it is full.
+   * 
+   * @param lvl The level of the log statement.
+   * @return The sequence of the claimed slot, or -1 if the statement was dropped.
+   */
+  private long acquire(Level lvl) {
+    long position = claim();
+    if (position < 0) {
+      if (shouldDrop(lvl)) {
+        dropped.increment();
+        return -1;
+      }
+      while ((position = claim()) < 0) {
+        if (!consumer.isAlive()) {
+          // Closed while waiting for room that will never come.
+          dropped.increment();
+          return -1;
+        }
+        LockSupport.parkNanos(FULL_PARK_NANOS);
+      }
+    }
+    return position;
+  }
+  
+  /**
+   * Make a populated slot visible to the consumer, and wake it if it is waiting.
+   * 
+   * @param index The index of the slot.
+   * @param position The sequence of the slot.
+   */
+  private void publish(int index, long position) {
+    // A full volatile write, so it can't be reordered with the read of consumerWaiting;
+    // otherwise the consumer could park without seeing the event, and without being woken.
+    sequences.set(index, position + 1);
+    
+    if (consumerWaiting) {
+      consumerWaiting = false;
+      LockSupport.unpark(consumer);
+    }
+  }
+  
+  /**
+   * Claim the next slot in the buffer.
+   * 
+   * @return The sequence of the claimed slot, or -1 if the buffer is full.
+   */
+  private long claim() {
+    long position = tail.get();
+    for (;;) {
+      final long available = sequences.get((int) position & mask) - position;
+      if (available == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          return position;
+        }
+        position = tail.get();
+      } else if (available < 0) {
+        return -1;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+  
+  /**
+   * Apply the {@link OverflowPolicy} to an event that does not fit in the buffer.
+   * 
+   * @param lvl The level of the event.
+   * @return true if the event should be dropped, false if the caller should wait.
+   */
+  private boolean shouldDrop(Level lvl) {
+    if (overflowPolicy == OverflowPolicy.BLOCK || lvl.intValue() >= overflowLevel) {
+      return false;
+    }
+    if (overflowPolicy == OverflowPolicy.SAMPLE) {
+      return overflowCount.getAndIncrement() % sampleRate != 0;
+    }
+    return true;
+  }
+  
+  /**
+   * The consumer loop; write events in batches, park when there is nothing to do,
+   * stop when there is nothing to do and the dispatcher is closed.
+   */
+  private void consume() {
+    long position = head.get();
+    for (;;) {
+      int written = 0;
+      while (written < batchSize) {
+        final int index = (int) position & mask;
+        if (sequences.get(index) != position + 1) {
+          break;
+        }
+        final Entry entry = entries[index];
+        if (entry.event != null) {
+          @SuppressWarnings("unchecked")
+          final AbstractLogger<LogEvent> logger = (AbstractLogger<LogEvent>) entry.logger;
+          write(logger, entry.level, entry.event);
+          entry.logger = null;
+          entry.level = null;
+          entry.event = null;
+        } else {
+          writeSpan(entry.span, entry.timestampMicros, entry.fields);
+          entry.span = null;
+          entry.fields = null;
+        }
+        sequences.lazySet(index, position + entries.length);
+        position++;
+        written++;
+      }
+      
+      if (written > 0) {
+        head.set(position);
+      } else if (closed) {
+        return;
+      } else {
+        consumerWaiting = true;
+        if (sequences.get((int) position & mask) != position + 1) {
+          LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        consumerWaiting = false;
+      }
+    }
+  }
+  
+  private void write(AbstractLogger<LogEvent> logger, Level lvl, LogEvent event) {
+    try {
+      logger.writeDispatched(lvl, event);
+    } catch (Throwable t) {
+      // A failing Logging Framework must not stop the consumer.
+      failures.failed(1, t);
+    }
+  }
+  
+  private void writeSpan(Span span, long timestampMicros, Map<String, ?> fields) {
+    try {
+      span.log(timestampMicros, fields);
+    } catch (Throwable t) {
+      // E.g. the Span has already finished.
+      failures.failed(1, t);
+    }
+  }
+}
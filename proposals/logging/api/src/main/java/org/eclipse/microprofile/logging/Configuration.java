@@ -1,11 +1,20 @@
 package org.eclipse.microprofile.logging;
 
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.ConfigProvider;
 
 /**
  * Logging Configuration Items.
+ * 
+ * <p>
+ * The items read on the logging hot path (the Span levels), and those read each time a Logger
+ * is created, are held in a {@link Snapshot} that is read once and then only replaced by 
+ * {@link #refresh()}, either explicitly or periodically when {@link #REFRESH_INTERVAL} is configured.
+ * </p>
  */
 public class Configuration {
 
@@ -21,7 +30,7 @@ public class Configuration {
    * </ul>
    * </p>
    */
-  public static final Item SPAN_LEVEL = new Item("mp.logging.span.level", Level.DEBUG);
+  public static final Item<Level> SPAN_LEVEL = new Item<>("mp.logging.span.level", Level.DEBUG, Level::parse);
   
   /**
    * The logging level at which the {@link LogEvent} data will also be sent to Span logging.
@@ -34,17 +43,332 @@ public class Configuration {
    * </ul>
    * </p>
    */
-  public static final Item SPAN_IMPLICIT_LEVEL = new Item("mp.logging.span.implicit", Level.OFF);
+  public static final Item<Level> SPAN_IMPLICIT_LEVEL = new Item<>("mp.logging.span.implicit", Level.OFF, Level::parse);
+  
+  /**
+   * Whether {@link AbstractLogger} instances recycle {@link LogEvent} instances through a
+   * {@link LogEventPool} rather than asking their {@link java.util.function.Supplier} for a
+   * new instance on every log statement.
+   * 
+   * <p>
+   * When enabled, a logging implementation MUST NOT keep a reference to a {@link LogEvent}
+   * once {@link AbstractLogger#writeLog(org.eclipse.microprofile.logging.Level, org.eclipse.microprofile.logging.LogEvent)}
+   * has returned.
+   * </p>
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.event.pooling}</li>
+   *  <li>Default Value: {@code false}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Boolean> EVENT_POOLING = new Item<>("mp.logging.event.pooling", Boolean.FALSE, Boolean::valueOf);
+  
+  /**
+   * The number of {@link LogEvent} instances each {@link LogEventPool} can hold. The value is rounded
+   * up to the next power of two; {@code 0} sizes the pool from the number of available processors.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.event.pool.size}</li>
+   *  <li>Default Value: {@code 0}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Integer> EVENT_POOL_SIZE = new Item<>("mp.logging.event.pool.size", 0, Integer::valueOf);
+  
+  /**
+   * Whether {@link AbstractLogger} instances hand written {@link LogEvent} instances to the shared
+   * {@link AsyncLogDispatcher} rather than writing them on the logging Thread.
+   * 
+   * <p>
+   * When enabled, a logging implementation MUST NOT depend on being called on the logging Thread,
+   * E.g. to find the caller from the Stack.
+   * </p>
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.async}</li>
+   *  <li>Default Value: {@code false}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Boolean> ASYNC = new Item<>("mp.logging.async", Boolean.FALSE, Boolean::valueOf);
+  
+  /**
+   * The number of events the {@link AsyncLogDispatcher} can hold, rounded up to the next power of two.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.async.capacity}</li>
+   *  <li>Default Value: {@code 8192}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Integer> ASYNC_CAPACITY = new Item<>("mp.logging.async.capacity", 8192, Integer::valueOf);
+  
+  /**
+   * The maximum number of events the {@link AsyncLogDispatcher} writes in one batch.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.async.batch}</li>
+   *  <li>Default Value: {@code 256}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Integer> ASYNC_BATCH = new Item<>("mp.logging.async.batch", 256, Integer::valueOf);
+  
+  /**
+   * What the {@link AsyncLogDispatcher} does when it is full; one of {@code BLOCK}, {@code DROP} or {@code SAMPLE}.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.async.overflow}</li>
+   *  <li>Default Value: {@link OverflowPolicy#BLOCK}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<OverflowPolicy> ASYNC_OVERFLOW = new Item<>("mp.logging.async.overflow", OverflowPolicy.BLOCK, 
+                                                                      s -> OverflowPolicy.valueOf(s.toUpperCase(Locale.ROOT)));
+  
+  /**
+   * The lowest level that is never dropped by the {@link OverflowPolicy#DROP} and {@link OverflowPolicy#SAMPLE} policies.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.async.overflow.level}</li>
+   *  <li>Default Value: {@link Level#WARN}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Level> ASYNC_OVERFLOW_LEVEL = new Item<>("mp.logging.async.overflow.level", Level.WARN, Level::parse);
+  
+  /**
+   * For the {@link OverflowPolicy#SAMPLE} policy, one in this many of the events that would be dropped is kept.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.async.sample}</li>
+   *  <li>Default Value: {@code 10}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Integer> ASYNC_SAMPLE = new Item<>("mp.logging.async.sample", 10, Integer::valueOf);
+  
+  /**
+   * Whether Span log data is handed to the {@link AsyncLogDispatcher} rather than being sent to the
+   * Span on the logging Thread. The timestamp of the log statement is captured when it is dispatched.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.span.async}</li>
+   *  <li>Default Value: {@code false}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Boolean> SPAN_ASYNC = new Item<>("mp.logging.span.async", Boolean.FALSE, Boolean::valueOf);
+  
+  /**
+   * Whether {@link AbstractLogger} instances pass written {@link LogEvent} instances through the shared
+   * {@link Deduplicator}, so that repeats of a log statement are summarized rather than written.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.dedup}</li>
+   *  <li>Default Value: {@code false}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Boolean> DEDUP = new Item<>("mp.logging.dedup", Boolean.FALSE, Boolean::valueOf);
+  
+  /**
+   * The interval, in milliseconds, at which the {@link Deduplicator} writes the summaries of repeated log statements.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.dedup.window}</li>
+   *  <li>Default Value: {@code 10000}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Long> DEDUP_WINDOW = new Item<>("mp.logging.dedup.window", 10_000L, Long::valueOf);
+  
+  /**
+   * The maximum number of distinct log statements the {@link Deduplicator} tracks.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.dedup.capacity}</li>
+   *  <li>Default Value: {@code 1024}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Integer> DEDUP_CAPACITY = new Item<>("mp.logging.dedup.capacity", 1024, Integer::valueOf);
+  
+  /**
+   * The lowest level of the log statements the {@link FlightRecorder} records when they are not loggable,
+   * E.g. {@code DEBUG}; {@link Level#OFF} disables the recorder.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.recorder.level}</li>
+   *  <li>Default Value: {@link Level#OFF}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Level> RECORDER_LEVEL = new Item<>("mp.logging.recorder.level", Level.OFF, Level::parse);
+  
+  /**
+   * The number of log statements the {@link FlightRecorder} keeps per Thread.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.recorder.size}</li>
+   *  <li>Default Value: {@code 64}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Integer> RECORDER_SIZE = new Item<>("mp.logging.recorder.size", 64, Integer::valueOf);
+  
+  /**
+   * Should Loggers record {@link LoggerMetrics}: the number of events per Level, the number of Span log
+   * events and the time taken to write events to the Logging Framework. Read when a Logger is created.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.metrics}</li>
+   *  <li>Default Value: {@code false}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Boolean> METRICS = new Item<>("mp.logging.metrics", Boolean.FALSE, Boolean::valueOf);
+  
+  /**
+   * Should the events of a request be held in a {@link RequestLogBuffer}, and written together when
+   * the request ends, rather than as they are logged.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.request.buffer}</li>
+   *  <li>Default Value: {@code false}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Boolean> REQUEST_BUFFER = new Item<>("mp.logging.request.buffer", Boolean.FALSE, Boolean::valueOf);
+  
+  /**
+   * The number of events a {@link RequestLogBuffer} holds; when it is full, the events held are written
+   * and buffering continues.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.request.buffer.size}</li>
+   *  <li>Default Value: {@code 1024}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Integer> REQUEST_BUFFER_SIZE = new Item<>("mp.logging.request.buffer.size", 1024, Integer::valueOf);
+  
+  /**
+   * The lowest level of the buffered events written when a request succeeds, E.g. {@code WARN} to drop
+   * the INFO, DEBUG and TRACE events of successful requests; the events of failed requests are all written.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.request.buffer.success.level}</li>
+   *  <li>Default Value: {@link Level#ALL}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Level> REQUEST_BUFFER_SUCCESS_LEVEL = new Item<>("mp.logging.request.buffer.success.level", 
+                                                                            Level.ALL, Level::parse);
+  
+  /**
+   * The interval, in milliseconds, at which the {@link Snapshot} is re-read from MicroProfile Config.
+   * A value of {@code 0} (or less) disables the periodic refresh; the configuration is then only re-read 
+   * by calls to {@link #refresh()}.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.config.refresh}</li>
+   *  <li>Default Value: {@code 0}.</li>
+   * </ul>
+   * </p>
+   */
+  public static final Item<Long> REFRESH_INTERVAL = new Item<>("mp.logging.config.refresh", 0L, Long::valueOf);
+  
+  /**
+   * The prefix of the keys configuring the Level of Loggers by name; see {@link LevelRegistry}.
+   * 
+   * <p>
+   * This item's:
+   * <ul>
+   *  <li>Key: {@code mp.logging.level.<logger name prefix>}, or {@code mp.logging.level} for all Loggers.</li>
+   *  <li>Default Value: {@link Level#ALL}, leaving the Level to the Logging Framework.</li>
+   * </ul>
+   * </p>
+   */
+  public static final String LEVEL_PREFIX = "mp.logging.level";
+  
+  /** The current Snapshot; MUST be declared after the Items it reads */
+  private static volatile Snapshot snapshot = Snapshot.load();
+  
+  static {
+    final long interval = get(REFRESH_INTERVAL);
+    if (interval > 0) {
+      Scheduler.get().scheduleWithFixedDelay(Configuration::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+  }
+  
+  /**
+   * Get the cached configuration used on the logging hot path.
+   * 
+   * @return The current Snapshot.
+   */
+  public static Snapshot current() {
+    return snapshot;
+  }
+  
+  /**
+   * Re-read the cached configuration from MicroProfile Config and atomically replace
+   * the current {@link Snapshot}, and the Levels held by the {@link LevelRegistry}.
+   */
+  public static void refresh() {
+    snapshot = Snapshot.load();
+    LevelRegistry.refresh();
+  }
   
   /**
    * Utility method to get a configuration from MicoProfile Config.
    * 
+   * @param <V> The type of the configuration value.
    * @param configItem The Configuration Item to retrieve.
    * 
    * @return The configuration value (or its default).
    */
-  public static Level get(Configuration.Item configItem) {
-    Level returnLevel = configItem.getDefault();
+  public static <V> V get(Configuration.Item<V> configItem) {
+    V returnValue = configItem.getDefault();
     Optional<String> configValue = null;
     try {
       Config config = ConfigProvider.getConfig();
@@ -55,30 +379,160 @@ public class Configuration {
 
     if (configValue != null && configValue.isPresent()) {
       try {
-        returnLevel = Level.parse(configValue.get());
+        returnValue = configItem.parse(configValue.get());
       } catch (IllegalArgumentException iae) {
-        // Unable to find level with configured name
+        // Unable to find level with configured name, or not a number.
       }
     }
     
-    return returnLevel;
+    return returnValue;
+  }
+  
+  /**
+   * An immutable view of the configuration items read on every log statement.
+   */
+  public static final class Snapshot {
+    private final Level spanLevel;
+    private final Level spanImplicitLevel;
+    private final int spanImplicitValue;
+    private final boolean eventPooling;
+    private final boolean async;
+    private final boolean spanAsync;
+    private final boolean dedup;
+    private final int recorderValue;
+    private final boolean metrics;
+    private final boolean requestBuffer;
+    
+    private Snapshot(Level spanLevel, Level spanImplicitLevel, boolean eventPooling, boolean async, boolean spanAsync,
+                     boolean dedup, Level recorderLevel, boolean metrics, boolean requestBuffer) {
+      this.spanLevel = spanLevel;
+      this.spanImplicitLevel = spanImplicitLevel;
+      this.spanImplicitValue = spanImplicitLevel.intValue();
+      this.eventPooling = eventPooling;
+      this.async = async;
+      this.spanAsync = spanAsync;
+      this.dedup = dedup;
+      this.recorderValue = recorderLevel.intValue();
+      this.metrics = metrics;
+      this.requestBuffer = requestBuffer;
+    }
+    
+    private static Snapshot load() {
+      return new Snapshot(get(SPAN_LEVEL), get(SPAN_IMPLICIT_LEVEL), get(EVENT_POOLING), get(ASYNC), get(SPAN_ASYNC), 
+                          get(DEDUP), get(RECORDER_LEVEL), get(METRICS), 
+                          get(REQUEST_BUFFER));
+    }
+
+    /**
+     * @return The value of {@link Configuration#SPAN_LEVEL}
+     */
+    public Level getSpanLevel() {
+      return spanLevel;
+    }
+
+    /**
+     * @return The value of {@link Configuration#SPAN_IMPLICIT_LEVEL}
+     */
+    public Level getSpanImplicitLevel() {
+      return spanImplicitLevel;
+    }
+    
+    /**
+     * Should a log statement at the given level also be sent to Span logging?
+     * 
+     * @param lvl The level of the log statement.
+     * @return true if the level is greater-than-or-equal-to the {@link Configuration#SPAN_IMPLICIT_LEVEL}.
+     */
+    public boolean isSpanImplicit(Level lvl) {
+      return lvl.intValue() >= spanImplicitValue;
+    }
+
+    /**
+     * @return The value of {@link Configuration#EVENT_POOLING}
+     */
+    public boolean isEventPooling() {
+      return eventPooling;
+    }
+
+    /**
+     * @return The value of {@link Configuration#ASYNC}
+     */
+    public boolean isAsync() {
+      return async;
+    }
+
+    /**
+     * @return The value of {@link Configuration#SPAN_ASYNC}
+     */
+    public boolean isSpanAsync() {
+      return spanAsync;
+    }
+
+    /**
+     * @return The value of {@link Configuration#DEDUP}
+     */
+    public boolean isDedup() {
+      return dedup;
+    }
+    
+    /**
+     * @return true if the {@link Configuration#RECORDER_LEVEL} enables the {@link FlightRecorder}.
+     */
+    public boolean isRecorderEnabled() {
+      return recorderValue != Level.OFF.intValue();
+    }
+    
+    /**
+     * Should a log statement at the given level be recorded, if it is not loggable?
+     * 
+     * @param lvl The level of the log statement.
+     * @return true if the level is greater-than-or-equal-to the {@link Configuration#RECORDER_LEVEL}.
+     */
+    public boolean isRecorded(Level lvl) {
+      return lvl.intValue() >= recorderValue && recorderValue != Level.OFF.intValue();
+    }
+    
+    /**
+     * @return The value of {@link Configuration#METRICS}
+     */
+    public boolean isMetrics() {
+      return metrics;
+    }
+    
+    /**
+     * @return The value of {@link Configuration#REQUEST_BUFFER}
+     */
+    public boolean isRequestBuffer() {
+      return requestBuffer;
+    }
   }
   
-  public static class Item {
+  /**
+   * A configuration item; its key, default value and the conversion from the configured String.
+   * 
+   * @param <V> The type of the configuration value.
+   */
+  public static class Item<V> {
     private final String key;
-    private final Level defaultVal;
+    private final V defaultVal;
+    private final Function<String, V> parser;
   
-    private Item(String key, Level defaultVal) {
+    private Item(String key, V defaultVal, Function<String, V> parser) {
       this.key = key;
       this.defaultVal = defaultVal;
+      this.parser = parser;
     }
 
     public String getKey() {
       return key;
     }
 
-    public Level getDefault() {
+    public V getDefault() {
       return defaultVal;
     }
+    
+    V parse(String value) {
+      return parser.apply(value.trim());
+    }
   }
 }
@@ -0,0 +1,269 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Suppresses repeated log statements, E.g. the same failure logged thousands of times a second
+ * while a downstream dependency is unavailable.
+ *
+ * <p>
+ * Each written {@link LogEvent} is fingerprinted by its Logger name, Level, message (or message
+ * {@link LogEvent#template(java.lang.String, java.lang.Object...) template}, if given), the type of its
+ * Throwable, if present, and the log statement it was written by, as identified by the class of its
+ * {@link LogFunction}. The first occurrence of a fingerprint is written; repeats are counted instead
+ * and, once per window, a summary event carrying the original message and the count (in
+ * {@link LogEvent#suppressed}) is written for each fingerprint that repeated. A fingerprint that did
+ * not repeat during a window is forgotten.
+ * </p>
+ *
+ * <p>
+ * Checking a repeat does not allocate: fingerprints are looked up with a key reused by each Thread,
+ * and the Stack Trace of the Throwable is not used, as getting it copies the whole trace.
+ * </p>
+ *
+ * <p>
+ * The number of fingerprints tracked is bounded; once the bound is reached, events with new
+ * fingerprints are written as normal.
+ * </p>
+ */
+public class Deduplicator {
+
+  private static class InstanceHolder {
+    static final Deduplicator INSTANCE = create();
+
+    private static Deduplicator create() {
+      final long window = Configuration.get(Configuration.DEDUP_WINDOW);
+      final Deduplicator deduplicator = new Deduplicator(Configuration.get(Configuration.DEDUP_CAPACITY));
+      Scheduler.get().scheduleWithFixedDelay(deduplicator::summarize, window, window, TimeUnit.MILLISECONDS);
+      return deduplicator;
+    }
+  }
+
+  private static final ThreadLocal<Fingerprint> LOOKUP = ThreadLocal.withInitial(Fingerprint::new);
+
+  private final ConcurrentMap<Fingerprint, Repeats> seen = new ConcurrentHashMap<>();
+  private final int capacity;
+
+  /**
+   * Create a Deduplicator. The caller is responsible for calling {@link #summarize()} once per window.
+   *
+   * @param capacity The maximum number of fingerprints tracked.
+   */
+  public Deduplicator(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Get the shared Deduplicator, summarizing every {@link Configuration#DEDUP_WINDOW}.
+   *
+   * @return The shared instance.
+   */
+  public static Deduplicator getInstance() {
+    return InstanceHolder.INSTANCE;
+  }
+
+  /**
+   * Is the event a repeat of one written during the current window? If so it is counted, and MUST NOT be written.
+   *
+   * @param logger The Logger writing the event.
+   * @param lvl The level of the event.
+   * @param f The log function that populated the event; its class identifies the log statement.
+   * @param event The populated event.
+   * @return true if the event is a repeat.
+   */
+  public boolean isDuplicate(AbstractLogger<?> logger, Level lvl, LogFunction<?> f, LogEvent event) {
+    final String message = event.template != null ? event.template : event.message;
+    final Fingerprint lookup = LOOKUP.get().set(logger.getName(), lvl, message, event.throwable, f.getClass());
+    try {
+      final Repeats repeats = seen.get(lookup);
+      if (repeats != null) {
+        if (repeats.increment()) {
+          return true;
+        }
+        // Retired by summarize(), so the event is the first of the new window.
+        seen.remove(lookup, repeats);
+      }
+
+      if (seen.size() < capacity) {
+        // A racing Thread that loses is a repeat, unless the winner has been retired already.
+        final Repeats existing = seen.putIfAbsent(lookup.copy(), new Repeats(logger, lvl, event.getMessage()));
+        return existing != null && existing.increment();
+      }
+      return false;
+    } finally {
+      // The Thread must not keep the event's data reachable.
+      lookup.clear();
+    }
+  }
+
+  /**
+   * Write a summary of the repeats of each fingerprint since the last call, and forget the
+   * fingerprints that did not repeat.
+   */
+  public void summarize() {
+    for (Map.Entry<Fingerprint, Repeats> entry : seen.entrySet()) {
+      final Repeats repeats = entry.getValue();
+      if (repeats.retire()) {
+        seen.remove(entry.getKey(), repeats);
+      } else {
+        final long count = repeats.drain();
+        if (count > 0) {
+          try {
+            repeats.logger.writeRepeated(repeats.level, repeats.message, count);
+          } catch (Throwable t) {
+            // A failing Logger must not stop the summaries of the others.
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the number of fingerprints currently tracked.
+   *
+   * @return The number of fingerprints.
+   */
+  public int getTrackedCount() {
+    return seen.size();
+  }
+
+  /**
+   * The repeats of a fingerprint, and what is needed to write their summary.
+   */
+  private static final class Repeats {
+    /** The count of a fingerprint that is no longer tracked; it is not counted further */
+    private static final long RETIRED = -1;
+
+    private final AbstractLogger<?> logger;
+    private final Level level;
+    private final String message;
+    private final AtomicLong count = new AtomicLong();
+
+    Repeats(AbstractLogger<?> logger, Level level, String message) {
+      this.logger = logger;
+      this.level = level;
+      this.message = message;
+    }
+
+    /**
+     * Count a repeat, unless the fingerprint has been retired; a repeat counted is always summarized.
+     *
+     * @return true if the repeat was counted.
+     */
+    boolean increment() {
+      for (;;) {
+        final long current = count.get();
+        if (current == RETIRED) {
+          return false;
+        }
+        if (count.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * Retire the fingerprint if it did not repeat since the last summary.
+     *
+     * @return true if retired; false if there are repeats to summarize.
+     */
+    boolean retire() {
+      return count.compareAndSet(0, RETIRED);
+    }
+
+    /**
+     * Take the repeats counted since the last summary.
+     *
+     * @return The number of repeats, 0 if the fingerprint has been retired.
+     */
+    long drain() {
+      for (;;) {
+        final long current = count.get();
+        if (current == RETIRED) {
+          return 0;
+        }
+        if (count.compareAndSet(current, 0)) {
+          return current;
+        }
+      }
+    }
+  }
+
+  /**
+   * Identifies repeats of a log statement. A key used for lookups is reused, a copy is stored.
+   */
+  private static final class Fingerprint {
+    private String name;
+    private Level level;
+    private String message;
+    private Class<?> throwableType;
+    private Class<?> callSite;
+    private int hash;
+
+    Fingerprint set(String name, Level level, String message, Throwable throwable, Class<?> callSite) {
+      this.name = name;
+      this.level = level;
+      this.message = message;
+      this.throwableType = throwable != null ? throwable.getClass() : null;
+      this.callSite = callSite;
+      int h = Objects.hashCode(name);
+      h = 31 * h + level.intValue();
+      h = 31 * h + Objects.hashCode(message);
+      h = 31 * h + Objects.hashCode(throwableType);
+      h = 31 * h + Objects.hashCode(callSite);
+      this.hash = h;
+      return this;
+    }
+
+    /**
+     * Copy this key for storing.
+     *
+     * @return The copy.
+     */
+    Fingerprint copy() {
+      final Fingerprint copy = new Fingerprint();
+      copy.name = name;
+      copy.level = level;
+      copy.message = message;
+      copy.throwableType = throwableType;
+      copy.callSite = callSite;
+      copy.hash = hash;
+      return copy;
+    }
+
+    void clear() {
+      name = null;
+      level = null;
+      message = null;
+      throwableType = null;
+      callSite = null;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Fingerprint)) {
+        return false;
+      }
+      final Fingerprint other = (Fingerprint) obj;
+      return hash == other.hash
+             && level.intValue() == other.level.intValue()
+             && throwableType == other.throwableType
+             && callSite == other.callSite
+             && Objects.equals(name, other.name)
+             && Objects.equals(message, other.message);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the events the Logging Framework failed to write, and reports the first failure to
+ * {@link System#err}; reporting each would flood the console when the Logging Framework is broken.
+ */
+final class FailureReporter {
+
+  private final String message;
+  private final LongAdder count = new LongAdder();
+  private final AtomicBoolean reported = new AtomicBoolean();
+
+  /**
+   * @param message The message printed before the stack trace of the first failure.
+   */
+  FailureReporter(String message) {
+    this.message = message;
+  }
+
+  /**
+   * Count the events of a failed write, and report the failure if it is the first.
+   *
+   * @param events The number of events the write was given.
+   * @param t The failure.
+   */
+  void failed(long events, Throwable t) {
+    count.add(events);
+    if (reported.compareAndSet(false, true)) {
+      System.err.println(message);
+      t.printStackTrace();
+    }
+  }
+
+  /**
+   * @return The number of events counted as failed.
+   */
+  long getCount() {
+    return count.sum();
+  }
+}
@@ -0,0 +1,124 @@
+package org.eclipse.microprofile.logging;
+
+/**
+ * Keeps the most recent log statements that were not loggable, so that the context leading
+ * up to an ERROR can be written with it.
+ *
+ * <p>
+ * When {@link Configuration#RECORDER_LEVEL} is configured, a log statement below the level of its
+ * Logger, but at or above the recorder level, is recorded in a fixed size ring buffer held by the
+ * current Thread. Only the {@link LogFunction} and the time are kept; the function is not called,
+ * and no {@link LogEvent} is created, unless the statement is later written, with the time it was
+ * recorded as its {@link LogEvent#timestamp}. When a statement at {@link Level#ERROR} or
+ * above is logged on the same Thread, the recorded statements are written first, oldest first,
+ * and the buffer is cleared.
+ * </p>
+ *
+ * <p>
+ * As a recorded LogFunction is called later, it sees the state of the objects it captured at the
+ * time it is called. Applications that handle a request per Thread should call {@link #clear()}
+ * at the start (or end) of each request, so the context written with an ERROR is that of the request
+ * and recorded functions do not keep the objects they captured reachable.
+ * </p>
+ */
+public final class FlightRecorder {
+
+  private static final ThreadLocal<FlightRecorder> RECORDERS =
+      ThreadLocal.withInitial(() -> new FlightRecorder(Configuration.get(Configuration.RECORDER_SIZE)));
+
+  private final AbstractLogger<?>[] loggers;
+  private final Level[] levels;
+  private final LogFunction<?>[] functions;
+  private final long[] times;
+  private int next;
+  private int size;
+
+  private FlightRecorder(int capacity) {
+    capacity = Math.max(1, capacity);
+    this.loggers = new AbstractLogger<?>[capacity];
+    this.levels = new Level[capacity];
+    this.functions = new LogFunction<?>[capacity];
+    this.times = new long[capacity];
+  }
+
+  /**
+   * Discard the statements recorded by the current Thread.
+   */
+  public static void clear() {
+    RECORDERS.get().reset();
+  }
+
+  /**
+   * Record a statement that was not loggable, replacing the oldest one if the buffer is full.
+   *
+   * @param logger The Logger of the statement.
+   * @param lvl The Level of the statement.
+   * @param f The deferred log function.
+   */
+  static void record(AbstractLogger<?> logger, Level lvl, LogFunction<?> f) {
+    final FlightRecorder recorder = RECORDERS.get();
+    final int index = recorder.next;
+    recorder.loggers[index] = logger;
+    recorder.levels[index] = lvl;
+    recorder.functions[index] = f;
+    recorder.times[index] = System.currentTimeMillis();
+    recorder.next = index + 1 == recorder.functions.length ? 0 : index + 1;
+    if (recorder.size < recorder.functions.length) {
+      recorder.size++;
+    }
+  }
+
+  /**
+   * Write, oldest first, and discard the statements recorded by the current Thread.
+   */
+  @SuppressWarnings("unchecked")
+  static void flush() {
+    final FlightRecorder recorder = RECORDERS.get();
+    final int count = recorder.size;
+    if (count == 0) {
+      return;
+    }
+
+    // Take the statements out first, as a deferred function may itself log.
+    final AbstractLogger<?>[] recordedLoggers = new AbstractLogger<?>[count];
+    final Level[] recordedLevels = new Level[count];
+    final LogFunction<?>[] recordedFunctions = new LogFunction<?>[count];
+    final long[] recordedTimes = new long[count];
+    final int capacity = recorder.functions.length;
+    int index = recorder.next - count;
+    if (index < 0) {
+      index += capacity;
+    }
+    for (int i = 0; i < count; i++) {
+      recordedLoggers[i] = recorder.loggers[index];
+      recordedLevels[i] = recorder.levels[index];
+      recordedFunctions[i] = recorder.functions[index];
+      recordedTimes[i] = recorder.times[index];
+      index = index + 1 == capacity ? 0 : index + 1;
+    }
+    recorder.reset();
+
+    for (int i = 0; i < count; i++) {
+      try {
+        ((AbstractLogger<LogEvent>) recordedLoggers[i]).writeDeferred(recordedLevels[i], 
+                                                                      (LogFunction<LogEvent>) recordedFunctions[i], 
+                                                                      recordedTimes[i]);
+      } catch (Throwable t) {
+        // A failing deferred function must not prevent the ERROR being logged.
+      }
+    }
+  }
+
+  /**
+   * Discard the recorded statements.
+   */
+  private void reset() {
+    for (int i = 0; i < functions.length; i++) {
+      loggers[i] = null;
+      levels[i] = null;
+      functions[i] = null;
+    }
+    next = 0;
+    size = 0;
+  }
+}
@@ -0,0 +1,58 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds a separate {@link Sampler} per key, E.g. a token bucket per client or per error code,
+ * so that one noisy key does not suppress the log statements of the others.
+ *
+ * <p>
+ * For Example:
+ * {@code log.log(Level.WARN, SAMPLERS.forKey(clientId), e -> "Request rejected")}
+ * </p>
+ *
+ * <p>
+ * The number of keys is bounded; once the bound is reached, keys without a Sampler of their own
+ * share a single overflow Sampler.
+ * </p>
+ *
+ * @param <K> The type of the key.
+ */
+public class KeyedSampler<K> {
+
+  private final ConcurrentMap<K, Sampler> samplers = new ConcurrentHashMap<>();
+  private final Supplier<Sampler> factory;
+  private final int maxKeys;
+  private final Sampler overflow;
+
+  /**
+   * Create a keyed sampler.
+   *
+   * @param factory Creates the Sampler for a new key, E.g. {@code () -> Sampler.tokenBucket(1, 10)}.
+   * @param maxKeys The maximum number of keys with a Sampler of their own.
+   */
+  public KeyedSampler(Supplier<Sampler> factory, int maxKeys) {
+    this.factory = factory;
+    this.maxKeys = maxKeys;
+    this.overflow = factory.get();
+  }
+
+  /**
+   * Get the Sampler for a key.
+   *
+   * @param key The key.
+   * @return The Sampler for the key, or the shared overflow Sampler.
+   */
+  public Sampler forKey(K key) {
+    final Sampler sampler = samplers.get(key);
+    if (sampler != null) {
+      return sampler;
+    }
+    if (samplers.size() >= maxKeys) {
+      return overflow;
+    }
+    return samplers.computeIfAbsent(key, k -> factory.get());
+  }
+}
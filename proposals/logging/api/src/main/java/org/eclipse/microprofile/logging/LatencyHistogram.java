@@ -0,0 +1,148 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations, in nanoseconds.
+ *
+ * <p>
+ * Like an HDR histogram, values are counted in log-linear buckets: each power of two is split
+ * into eight buckets of equal width, so a recorded value is known to within 1/8 (12.5%) of itself,
+ * for any value, in a fixed {@value #BUCKETS} counters. Recording is a couple of shifts and
+ * an atomic increment; nothing is allocated.
+ * </p>
+ *
+ * <p>
+ * The values read are not an atomic snapshot; while events are being recorded, the count,
+ * mean and percentiles may each include a slightly different set of values.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+  /** Values below {@code 2^SUB_BUCKET_BITS} have a bucket each; larger values keep this many significant bits */
+  static final int SUB_BUCKET_BITS = 4;
+  static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+
+  /** Enough buckets for any positive long */
+  static final int BUCKETS = (63 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS + SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Record a duration.
+   *
+   * @param nanos The duration in nanoseconds; negative values are recorded as {@code 0}.
+   */
+  public void record(long nanos) {
+    final long value = Math.max(0, nanos);
+    counts.incrementAndGet(indexOf(value));
+    count.increment();
+    sum.add(value);
+
+    // Only contend on the maximum while it is growing.
+    long current = max.get();
+    while (value > current && !max.compareAndSet(current, value)) {
+      current = max.get();
+    }
+  }
+
+  /**
+   * @return The number of durations recorded.
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * @return The largest duration recorded, in nanoseconds, or {@code 0} if none were.
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * @return The mean of the durations recorded, in nanoseconds, or {@code 0} if none were.
+   */
+  public double getMean() {
+    final long n = count.sum();
+    return n == 0 ? 0 : (double) sum.sum() / n;
+  }
+
+  /**
+   * Get the duration at or below which the given percentage of the recorded durations fall.
+   *
+   * @param percentile The percentile, between {@code 0} and {@code 100}, E.g. {@code 99.9}.
+   * @return The largest value in the bucket holding the percentile, in nanoseconds, but no more
+   *         than the maximum; or {@code 0} if no durations were recorded.
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Not a valid percentile \"" + percentile + "\"");
+    }
+    long total = 0;
+    final long[] snapshot = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    final long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= target) {
+        return Math.min(highestValueAt(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Discard the recorded durations.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    count.reset();
+    sum.reset();
+    max.set(0);
+  }
+
+  /**
+   * Get the bucket of a value: values below {@link #SUB_BUCKETS} each have their own, larger values
+   * share one with the values having the same highest {@link #SUB_BUCKET_BITS} bits.
+   *
+   * @param value A value, {@code 0} or more.
+   * @return The index of its bucket.
+   */
+  static int indexOf(long value) {
+    final int magnitude = 63 - Long.numberOfLeadingZeros(value | (SUB_BUCKETS - 1));
+    final int shift = magnitude - (SUB_BUCKET_BITS - 1);
+    return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+  }
+
+  /**
+   * Get the largest value counted in a bucket.
+   *
+   * @param index The index of the bucket.
+   * @return The largest value in the bucket.
+   */
+  static long highestValueAt(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    final int shift = index / HALF_SUB_BUCKETS - 1;
+    final long lowest = (long) (index - shift * HALF_SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
@@ -1,21 +1,30 @@
 package org.eclipse.microprofile.logging;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The different Levels at which a Log statement can be logged.
+ * 
+ * <p>
+ * The predefined Levels are indexed by name and by integer value so {@link #parse(java.lang.String)} 
+ * is a constant-time lookup. Custom Levels, parsed from an integer value, are interned so the
+ * same value always yields the same instance, up to {@link #MAX_CUSTOM_LEVELS}; beyond that
+ * a new, equal, instance is returned rather than growing the index without bound.
+ * </p>
  */
 public class Level {
   
-  /** This MUST be first so it's available in the constructor */
-  private static final List<Level> LEVELS = new ArrayList<>();
+  /** The maximum number of custom Levels that are interned */
+  public static final int MAX_CUSTOM_LEVELS = 64;
   
   /**
    * Special Level used to turn off logging.
    */
-  public static Level OFF = new Level("OFF", Integer.MAX_VALUE);
+  public static final Level OFF = new Level("OFF", Integer.MAX_VALUE);
   
   /**
    * Message indicating a serious failure has occurred and may be of 
@@ -23,7 +32,7 @@ public class Level {
    * 
    * <p>The level is initialized at 1000</p>
    */
-  public static Level ERROR = new Level("ERROR", 1000);
+  public static final Level ERROR = new Level("ERROR", 1000);
   
   /**
    * Message indicating a potential problem that may be of particular 
@@ -31,7 +40,7 @@ public class Level {
    * 
    * <p>The level is initialized at 900</p>
    */
-  public static Level WARN = new Level("WARN", 900);
+  public static final Level WARN = new Level("WARN", 900);
   
   /**
    * Message providing informational content typically useful to most users 
@@ -39,7 +48,7 @@ public class Level {
    * 
    * <p>The level is initialized at 800</p>
    */
-  public static Level INFO = new Level("INFO", 800);
+  public static final Level INFO = new Level("INFO", 800);
   
   /**
    * Message for tracing information, typically more useful to Developers 
@@ -47,7 +56,7 @@ public class Level {
    * 
    * <p>The level is initialized at 500</p>
    */
-  public static Level DEBUG = new Level("DEBUG", 500);
+  public static final Level DEBUG = new Level("DEBUG", 500);
   
   /**
    * Message for more detailed tracing information, typically more useful 
@@ -55,39 +64,110 @@ public class Level {
    * 
    * <p>The level is initialized at 400</p>
    */
-  public static Level TRACE = new Level("TRACE", 400);
+  public static final Level TRACE = new Level("TRACE", 400);
   
   /**
    * Level to indicate ALL logging
    */
-  public static Level ALL = new Level("ALL", Integer.MIN_VALUE);
+  public static final Level ALL = new Level("ALL", Integer.MIN_VALUE);
   
+  /** The predefined Levels by name; MUST be declared after the Levels */
+  private static final Map<String, Level> BY_NAME;
+  
+  /** The predefined Levels by integer value; MUST be declared after the Levels */
+  private static final Map<Integer, Level> BY_VALUE;
+  
+  /** The interned custom Levels by integer value */
+  private static final ConcurrentMap<Integer, Level> CUSTOM = new ConcurrentHashMap<>();
+  
+  static {
+    final Level[] levels = { OFF, ERROR, WARN, INFO, DEBUG, TRACE, ALL };
+    final Map<String, Level> byName = new HashMap<>();
+    final Map<Integer, Level> byValue = new HashMap<>();
+    for (Level level : levels) {
+      byName.put(level.getName(), level);
+      byValue.put(level.intValue(), level);
+    }
+    BY_NAME = Collections.unmodifiableMap(byName);
+    BY_VALUE = Collections.unmodifiableMap(byValue);
+  }
+  
+  /**
+   * Get the Level with the given name or integer value.
+   * 
+   * @param name The name of a predefined Level, or an integer value.
+   * @return The Level.
+   * @throws IllegalArgumentException If the name is neither a predefined Level nor an integer.
+   */
   public static Level parse(String name) {
-    int intValue = -1;
-    boolean isInt = false;
-    try {
-      intValue = Integer.parseInt(name);
-      isInt = true;
-    } catch (NumberFormatException nfe) {
-      
+    if (name == null) {
+      throw new IllegalArgumentException("Not a valid Level \"null\"");
     }
     
-    Iterator<Level> levelIt = LEVELS.iterator();
-    while (levelIt.hasNext()) {
-      Level level = levelIt.next();
-      if (level.getName().equals(name)) {
-        return level;
-      } else if (isInt && level.intValue() == intValue) {
-        return level;
-      }
+    final Level named = BY_NAME.get(name);
+    if (named != null) {
+      return named;
     }
     
-    if (isInt) {
-      return new Level(name, intValue);
+    if (isInteger(name)) {
+      try {
+        return valueOf(Integer.parseInt(name));
+      } catch (NumberFormatException nfe) {
+        // Out of range, fall through.
+      }
     }
     
     throw new IllegalArgumentException("Not a valid Level \"" + name + "\"");
   }
+  
+  /**
+   * Get the Level with the given integer value; either a predefined Level or a custom
+   * Level named after the value.
+   * 
+   * @param value The integer value.
+   * @return The Level.
+   */
+  public static Level valueOf(int value) {
+    final Integer key = value;
+    final Level predefined = BY_VALUE.get(key);
+    if (predefined != null) {
+      return predefined;
+    }
+    
+    final Level custom = CUSTOM.get(key);
+    if (custom != null) {
+      return custom;
+    }
+    
+    final Level level = new Level(String.valueOf(value), value);
+    if (CUSTOM.size() >= MAX_CUSTOM_LEVELS) {
+      return level;
+    }
+    final Level existing = CUSTOM.putIfAbsent(key, level);
+    return existing != null ? existing : level;
+  }
+  
+  /**
+   * Does the String look like an integer? Avoids the cost of a {@link NumberFormatException}
+   * for Level names.
+   * 
+   * @param s The String to check.
+   * @return true if the String is an optional sign followed by one or more digits.
+   */
+  private static boolean isInteger(String s) {
+    final int length = s.length();
+    int i = length > 1 && (s.charAt(0) == '-' || s.charAt(0) == '+') ? 1 : 0;
+    if (i == length) {
+      return false;
+    }
+    for (; i < length; i++) {
+      final char c = s.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
 
   private final String name;
   private final int value;
@@ -96,7 +176,6 @@ public class Level {
   private Level(String name, int value) {
     this.name = name;
     this.value = value;
-    LEVELS.add(this);
   }
 
   /**
@@ -0,0 +1,131 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+/**
+ * Hierarchical, per-Logger, Level configuration.
+ * 
+ * <p>
+ * Levels are configured by Logger name prefix using the {@link Configuration#LEVEL_PREFIX} key,
+ * E.g. {@code mp.logging.level.com.acme=DEBUG}. The effective Level of a Logger is that of the
+ * longest configured prefix of its name, on package (dot) boundaries, falling back to the
+ * {@code mp.logging.level} root, or {@link Level#ALL} when nothing is configured.
+ * </p>
+ * 
+ * <p>
+ * The effective Level is resolved once and pushed into each {@link AbstractLogger} as an int,
+ * so {@link AbstractLogger#isLoggable(org.eclipse.microprofile.logging.Level)} is a single
+ * comparison. The Levels are re-read, and pushed again to every live Logger, by {@link #refresh()}, 
+ * which is also called by {@link Configuration#refresh()}.
+ * </p>
+ */
+public final class LevelRegistry {
+  
+  /** The configured Levels by Logger name prefix; the root is the empty String */
+  private static volatile Map<String, Level> levels = load();
+  
+  /** The live Loggers; guarded by itself */
+  private static final Set<AbstractLogger<?>> LOGGERS = Collections.newSetFromMap(new WeakHashMap<>());
+  
+  private LevelRegistry() {
+  }
+  
+  /**
+   * Get the configured Level for a Logger name.
+   * 
+   * @param name The Logger name.
+   * @return The Level of the longest configured prefix of the name, or {@link Level#ALL}.
+   */
+  public static Level getLevel(String name) {
+    return resolve(levels, name);
+  }
+  
+  /**
+   * Re-read the Levels from MicroProfile Config and push the effective Level to every live Logger.
+   */
+  public static void refresh() {
+    synchronized (LOGGERS) {
+      final Map<String, Level> current = load();
+      levels = current;
+      for (AbstractLogger<?> logger : LOGGERS) {
+        logger.setThreshold(resolve(current, logger.getName()).intValue());
+      }
+    }
+  }
+  
+  /**
+   * Track a Logger so its effective Level is pushed to it on {@link #refresh()}.
+   * 
+   * @param logger The Logger, which is only weakly referenced.
+   */
+  static void register(AbstractLogger<?> logger) {
+    synchronized (LOGGERS) {
+      LOGGERS.add(logger);
+      logger.setThreshold(resolve(levels, logger.getName()).intValue());
+    }
+  }
+  
+  /**
+   * Find the Level of the longest configured prefix of a name.
+   * 
+   * @param configured The configured Levels.
+   * @param name The Logger name.
+   * @return The Level, or {@link Level#ALL} if there is none.
+   */
+  private static Level resolve(Map<String, Level> configured, String name) {
+    if (configured.isEmpty()) {
+      return Level.ALL;
+    }
+    
+    String prefix = name != null ? name : "";
+    for (;;) {
+      final Level level = configured.get(prefix);
+      if (level != null) {
+        return level;
+      }
+      if (prefix.isEmpty()) {
+        return Level.ALL;
+      }
+      final int dot = prefix.lastIndexOf('.');
+      prefix = dot > 0 ? prefix.substring(0, dot) : "";
+    }
+  }
+  
+  /**
+   * Read the configured Levels from MicroProfile Config.
+   * 
+   * @return The Levels by Logger name prefix.
+   */
+  private static Map<String, Level> load() {
+    final Map<String, Level> loaded = new HashMap<>();
+    try {
+      final Config config = ConfigProvider.getConfig();
+      for (String key : config.getPropertyNames()) {
+        final String prefix;
+        if (key.equals(Configuration.LEVEL_PREFIX)) {
+          prefix = "";
+        } else if (key.startsWith(Configuration.LEVEL_PREFIX + ".")) {
+          prefix = key.substring(Configuration.LEVEL_PREFIX.length() + 1);
+        } else {
+          continue;
+        }
+        
+        try {
+          config.getOptionalValue(key, String.class)
+                .ifPresent(value -> loaded.put(prefix, Level.parse(value.trim())));
+        } catch (IllegalArgumentException iae) {
+          // Unable to find level with configured name.
+        }
+      }
+    } catch (Throwable t) {
+      // Do nothing as MP Config is an optional component.
+    }
+    return Collections.unmodifiableMap(loaded);
+  }
+}
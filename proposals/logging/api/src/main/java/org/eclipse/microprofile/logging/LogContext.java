@@ -0,0 +1,197 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * Contextual data, E.g. the request id, user and tenant, copied into every {@link LogEvent}
+ * (as {@link LogEvent#context}) logged while the context is current, rather than set by each
+ * {@link LogFunction}.
+ *
+ * <p>
+ * A LogContext is an immutable snapshot; {@link #with(java.lang.String, java.lang.String)} returns
+ * a new one. A context is made current for a scope, which restores the previous context when
+ * it ends:
+ * </p>
+ * <pre>
+ * LogContext.current().with("requestId", id).with("user", user).run(() -&gt; handle(request));
+ *
+ * try (LogContext.Scope scope = LogContext.bind("tenant", tenant)) {
+ *   ...
+ * }
+ * </pre>
+ *
+ * <p>
+ * Each Thread holds a single reference to its current snapshot, rather than a mutable map, so making
+ * a context current costs one Thread local write and logging copies a reference; which suits many
+ * short lived (E.g. virtual) Threads. Because the snapshot is immutable, an event written later by an
+ * asynchronous writer sees the context of its log statement. A context is not inherited by new
+ * Threads; use {@link #wrap(java.lang.Runnable)} to hand it to another Thread or an executor.
+ * </p>
+ */
+public final class LogContext extends ArrayMap<String> {
+
+  /** The context without any data */
+  public static final LogContext EMPTY = new LogContext(new String[0], new String[0]);
+
+  /** The current snapshot, absent when empty */
+  private static final ThreadLocal<LogContext> CURRENT = new ThreadLocal<>();
+
+  private LogContext(String[] keys, String[] values) {
+    super(keys, values);
+  }
+
+  /**
+   * Get the context of the current Thread.
+   *
+   * @return The current context, or {@link #EMPTY}.
+   */
+  public static LogContext current() {
+    final LogContext context = CURRENT.get();
+    return context != null ? context : EMPTY;
+  }
+
+  /**
+   * Make the current context, with the given entry, current until the returned scope is closed.
+   *
+   * @param key The key.
+   * @param value The value, or null to remove the key.
+   * @return The scope, to close when the entry no longer applies.
+   */
+  public static Scope bind(String key, String value) {
+    return current().with(key, value).attach();
+  }
+
+  /**
+   * Get a context with the entries of this one and the given entry.
+   *
+   * @param key The key.
+   * @param value The value, or null to remove the key.
+   * @return The new context.
+   */
+  public LogContext with(String key, String value) {
+    if (key == null) {
+      throw new NullPointerException("key");
+    }
+    final int index = indexOf(key);
+    if (value == null) {
+      return index < 0 ? this : without(index);
+    }
+    if (index >= 0) {
+      final String[] newValues = values.clone();
+      newValues[index] = value;
+      return new LogContext(keys, newValues);
+    }
+    final String[] newKeys = Arrays.copyOf(keys, keys.length + 1);
+    final String[] newValues = Arrays.copyOf(values, values.length + 1);
+    newKeys[keys.length] = key;
+    newValues[values.length] = value;
+    return new LogContext(newKeys, newValues);
+  }
+
+  /**
+   * Make this context current until the returned scope is closed.
+   *
+   * @return The scope, which restores the previous context when closed.
+   */
+  public Scope attach() {
+    final LogContext previous = CURRENT.get();
+    set(this);
+    return new Scope(previous);
+  }
+
+  /**
+   * Run a task with this context current.
+   *
+   * @param task The task.
+   */
+  public void run(Runnable task) {
+    final Scope scope = attach();
+    try {
+      task.run();
+    } finally {
+      scope.close();
+    }
+  }
+
+  /**
+   * Call a task with this context current.
+   *
+   * @param <V> The type of the result.
+   * @param task The task.
+   * @return The result of the task.
+   * @throws Exception If the task fails.
+   */
+  public <V> V call(Callable<V> task) throws Exception {
+    final Scope scope = attach();
+    try {
+      return task.call();
+    } finally {
+      scope.close();
+    }
+  }
+
+  /**
+   * Wrap a task so that it runs with this context current, on whichever Thread runs it.
+   *
+   * @param task The task.
+   * @return The wrapped task.
+   */
+  public Runnable wrap(Runnable task) {
+    return () -> run(task);
+  }
+
+  /**
+   * @param index The index of an entry.
+   * @return The key of the entry.
+   */
+  String keyAt(int index) {
+    return keys[index];
+  }
+
+  /**
+   * @param index The index of an entry.
+   * @return The value of the entry.
+   */
+  String valueAt(int index) {
+    return values[index];
+  }
+
+  private LogContext without(int index) {
+    if (keys.length == 1) {
+      return EMPTY;
+    }
+    final String[] newKeys = new String[keys.length - 1];
+    final String[] newValues = new String[values.length - 1];
+    System.arraycopy(keys, 0, newKeys, 0, index);
+    System.arraycopy(values, 0, newValues, 0, index);
+    System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+    System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+    return new LogContext(newKeys, newValues);
+  }
+
+  private static void set(LogContext context) {
+    if (context == null || context.isEmpty()) {
+      // Leave nothing behind on Threads that are done with their context.
+      CURRENT.remove();
+    } else {
+      CURRENT.set(context);
+    }
+  }
+
+  /**
+   * The scope in which a context is current; closing it restores the previous context.
+   */
+  public static final class Scope implements AutoCloseable {
+    private final LogContext previous;
+
+    private Scope(LogContext previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      set(previous);
+    }
+  }
+}
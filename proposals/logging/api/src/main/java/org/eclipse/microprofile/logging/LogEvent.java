@@ -1,5 +1,7 @@
 package org.eclipse.microprofile.logging;
 
+import java.util.Arrays;
+import java.util.Map;
 import javax.json.bind.annotation.JsonbTransient;
 
 /**
@@ -25,7 +27,8 @@ import javax.json.bind.annotation.JsonbTransient;
  */
 public class LogEvent {
   /** 
-   * The log event message
+   * The log event message. If the message was given as a {@link #template(java.lang.String, java.lang.Object...) template},
+   * this is null until {@link #getMessage()} formats it.
    */
   public String message;
   
@@ -42,4 +45,126 @@ public class LogEvent {
    */
   @JsonbTransient
   public Throwable throwable;
+  
+  /**
+   * The number of earlier executions of the log statement that were suppressed by a {@link Sampler},
+   * or null if none were.
+   */
+  public Long suppressed;
+  
+  /**
+   * The {@link LogContext} current when the log statement was made, or null if it was empty.
+   */
+  public Map<String, String> context;
+  
+  /**
+   * The time, in milliseconds since the epoch, the log statement was made if it is written later,
+   * E.g. by the {@link FlightRecorder} or a {@link RequestLogBuffer}; {@code 0} if it is written as
+   * it is made. A Logging Framework that records the time of an event should record this one.
+   */
+  @JsonbTransient
+  public long timestamp;
+  
+  /**
+   * The message template given to {@link #template(java.lang.String, java.lang.Object...)}, if any.
+   */
+  @JsonbTransient
+  public String template;
+  
+  /**
+   * The arguments given to {@link #template(java.lang.String, java.lang.Object...)}, if any.
+   */
+  @JsonbTransient
+  public Object[] arguments;
+  
+  /**
+   * Give the message as a template and its arguments, deferring the formatting of the message
+   * until it is needed, E.g. on the Thread of an asynchronous writer, or not at all when the
+   * Logging Framework writes the template and arguments as structured data.
+   * 
+   * <p>
+   * Each {@code {}} in the template is replaced by the next argument. As the arguments are only
+   * formatted later, they should not be changed by the application after the log statement.
+   * </p>
+   * 
+   * <p>
+   * For Example: {@code log.info(e -> e.template("User {} logged in from {}", user, address))}
+   * </p>
+   * 
+   * @param template The message template.
+   * @param args The arguments.
+   * @return null, so the result can be returned from a {@link LogFunction}.
+   */
+  public String template(String template, Object... args) {
+    this.template = template;
+    this.arguments = args;
+    this.message = null;
+    return null;
+  }
+  
+  /**
+   * Get the message, formatting it from the {@link #template} and {@link #arguments} the first time,
+   * if it was given as a template.
+   * 
+   * @return The message.
+   */
+  public String getMessage() {
+    if (message == null && template != null) {
+      message = format(template, arguments);
+    }
+    return message;
+  }
+  
+  /**
+   * Replace each {@code {}} in the template with the next argument.
+   * 
+   * @param template The message template.
+   * @param args The arguments, may be null.
+   * @return The formatted message.
+   */
+  static String format(String template, Object[] args) {
+    if (args == null || args.length == 0) {
+      return template;
+    }
+    
+    final StringBuilder message = new StringBuilder(template.length() + 16 * args.length);
+    int start = 0;
+    int arg = 0;
+    int placeholder;
+    while (arg < args.length && (placeholder = template.indexOf("{}", start)) >= 0) {
+      message.append(template, start, placeholder);
+      final Object value = args[arg++];
+      if (value instanceof Object[]) {
+        message.append(Arrays.deepToString((Object[]) value));
+      } else {
+        message.append(value);
+      }
+      start = placeholder + 2;
+    }
+    message.append(template, start, template.length());
+    return message.toString();
+  }
+  
+  /**
+   * Clear the statement specific data held by this event so that the instance
+   * can be handed to another log statement.
+   * 
+   * <p>
+   * This method is only called when {@link Configuration#EVENT_POOLING} is enabled and the
+   * event has been written. Sub-classes that hold statement specific data MUST override
+   * this method, call {@code super.reset()} and clear that data. Data that is populated
+   * once by a {@link java.util.function.Supplier}, and is the same for every statement,
+   * can be left untouched.
+   * </p>
+   */
+  public void reset() {
+    message = null;
+    spanId = null;
+    throwable = null;
+    suppressed = null;
+    context = null;
+    timestamp = 0;
+    template = null;
+    arguments = null;
+  }
 }
@@ -0,0 +1,458 @@
+package org.eclipse.microprofile.logging;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.annotation.JsonbProperty;
+import javax.json.bind.annotation.JsonbTransient;
+
+/**
+ * Encodes a {@link LogEvent} (or sub-class) as JSON directly into an {@link Appendable}.
+ *
+ * <p>
+ * The properties of each LogEvent class are discovered once, following the JSON-B defaults
+ * (public fields and getters, getters taking precedence, {@link JsonbTransient} and
+ * {@link JsonbProperty} honoured, null values omitted and properties in lexicographical order,
+ * those of a super-class before those declared by its sub-classes),
+ * and read through cached {@link MethodHandle}s rather than reflection on every event.
+ * </p>
+ *
+ * <p>
+ * Strings, numbers, booleans, characters and enums are written by the encoder; any other property
+ * value is written by JSON-B. A class using other JSON-B annotations (E.g. adapters, formats or
+ * a property order) is written entirely by JSON-B.
+ * </p>
+ *
+ * <p>
+ * Encoders are thread-safe; {@link #getDefault()} is shared by all Loggers and only creates
+ * its {@link Jsonb} instance when a value first needs it.
+ * </p>
+ */
+public class LogEventEncoder {
+
+  /** Buffers retained per Thread are released if they grow beyond this many characters */
+  private static final int MAX_RETAINED_BUFFER = 8192;
+
+  private static final ClassValue<Descriptor> DESCRIPTORS = new ClassValue<Descriptor>() {
+    @Override
+    protected Descriptor computeValue(Class<?> type) {
+      return Descriptor.of(type);
+    }
+  };
+
+  private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+
+  private final Supplier<Jsonb> jsonb;
+
+  /**
+   * Create an encoder.
+   *
+   * @param jsonb The JSON-B instance used for values and classes the encoder does not handle itself.
+   */
+  public LogEventEncoder(Jsonb jsonb) {
+    this(() -> jsonb);
+  }
+
+  private LogEventEncoder(Supplier<Jsonb> jsonb) {
+    this.jsonb = jsonb;
+  }
+
+  /**
+   * Get the encoder shared by all Loggers.
+   *
+   * @return The shared encoder.
+   */
+  public static LogEventEncoder getDefault() {
+    return DefaultHolder.ENCODER;
+  }
+
+  /**
+   * Encode an event as a JSON String, using a buffer retained by the current Thread.
+   *
+   * @param event The event to encode.
+   * @return The JSON String.
+   */
+  public String toJson(LogEvent event) {
+    StringBuilder buffer = BUFFER.get();
+    if (buffer.length() > 0) {
+      // Called while encoding another event on this Thread, E.g. from a getter.
+      buffer = new StringBuilder();
+    }
+    try {
+      encode(event, buffer);
+      return buffer.toString();
+    } catch (IOException ioe) {
+      // StringBuilder does not throw IOException.
+      throw new IllegalStateException(ioe);
+    } finally {
+      if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+        BUFFER.remove();
+      } else {
+        buffer.setLength(0);
+      }
+    }
+  }
+
+  /**
+   * Encode an event as JSON.
+   *
+   * @param event The event to encode.
+   * @param out Where to write the JSON.
+   * @throws IOException If the Appendable fails.
+   */
+  public void encode(LogEvent event, Appendable out) throws IOException {
+    final Descriptor descriptor = DESCRIPTORS.get(event.getClass());
+    if (descriptor == null) {
+      out.append(jsonb.get().toJson(event));
+      return;
+    }
+
+    out.append('{');
+    boolean first = true;
+    for (Property property : descriptor.properties) {
+      final Object value = property.get(event);
+      if (value == null) {
+        continue;
+      }
+      if (!first) {
+        out.append(',');
+      }
+      first = false;
+      out.append(property.encodedName).append(':');
+      writeValue(value, out);
+    }
+    out.append('}');
+  }
+
+  /**
+   * Write a property value.
+   *
+   * @param value The non-null value.
+   * @param out Where to write the JSON.
+   * @throws IOException If the Appendable fails.
+   */
+  private void writeValue(Object value, Appendable out) throws IOException {
+    if (value instanceof String) {
+      writeString((String) value, out);
+    } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long
+               || value instanceof Short || value instanceof Byte) {
+      out.append(value.toString());
+    } else if (value instanceof Character) {
+      writeString(value.toString(), out);
+    } else if (value instanceof Enum) {
+      writeString(((Enum<?>) value).name(), out);
+    } else if (value instanceof LogContext) {
+      writeContext((LogContext) value, out);
+    } else {
+      out.append(jsonb.get().toJson(value));
+    }
+  }
+
+  /**
+   * Write a {@link LogContext} as a JSON object, without iterating its entries.
+   *
+   * @param context The context.
+   * @param out Where to write the JSON.
+   * @throws IOException If the Appendable fails.
+   */
+  private static void writeContext(LogContext context, Appendable out) throws IOException {
+    out.append('{');
+    for (int i = 0; i < context.size(); i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      writeString(context.keyAt(i), out);
+      out.append(':');
+      writeString(context.valueAt(i), out);
+    }
+    out.append('}');
+  }
+
+  /**
+   * Write a quoted, escaped, JSON String.
+   *
+   * @param s The String.
+   * @param out Where to write the JSON.
+   * @throws IOException If the Appendable fails.
+   */
+  static void writeString(String s, Appendable out) throws IOException {
+    out.append('"');
+    int start = 0;
+    final int length = s.length();
+    for (int i = 0; i < length; i++) {
+      final char c = s.charAt(i);
+      if (c >= 0x20 && c != '"' && c != '\\') {
+        continue;
+      }
+      out.append(s, start, i);
+      start = i + 1;
+      switch (c) {
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\b':
+          out.append("\\b");
+          break;
+        case '\f':
+          out.append("\\f");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        default:
+          out.append("\\u00");
+          out.append(Character.forDigit(c >> 4, 16));
+          out.append(Character.forDigit(c & 0xF, 16));
+      }
+    }
+    out.append(s, start, length);
+    out.append('"');
+  }
+
+  /**
+   * Lazy holder of the shared encoder.
+   */
+  private static final class DefaultHolder {
+    static final LogEventEncoder ENCODER = new LogEventEncoder(JsonbHolder::get);
+  }
+
+  /**
+   * Lazy holder of the shared Jsonb instance, created on first use.
+   */
+  private static final class JsonbHolder {
+    private static final Jsonb JSONB = JsonbBuilder.create();
+
+    static Jsonb get() {
+      return JSONB;
+    }
+  }
+
+  /**
+   * The properties of a LogEvent class, in the order they are written.
+   */
+  private static final class Descriptor {
+    private final Property[] properties;
+
+    private Descriptor(Property[] properties) {
+      this.properties = properties;
+    }
+
+    /**
+     * Discover the properties of a class.
+     *
+     * @param type The class.
+     * @return The Descriptor, or null if the class must be written by JSON-B.
+     */
+    static Descriptor of(Class<?> type) {
+      if (hasUnsupportedAnnotation(type)) {
+        return null;
+      }
+
+      try {
+        final Map<String, AccessibleObject> byJavaName = new TreeMap<>();
+        for (Field field : type.getFields()) {
+          if (!Modifier.isStatic(field.getModifiers())) {
+            byJavaName.put(field.getName(), field);
+          }
+        }
+        for (Method method : type.getMethods()) {
+          final String javaName = getterName(method);
+          if (javaName != null) {
+            byJavaName.put(javaName, method);
+          }
+        }
+
+        final List<Property> properties = new ArrayList<>();
+        for (Map.Entry<String, AccessibleObject> entry : byJavaName.entrySet()) {
+          final AccessibleObject member = entry.getValue();
+          if (hasUnsupportedAnnotation(member)) {
+            return null;
+          }
+          if (member.isAnnotationPresent(JsonbTransient.class)) {
+            continue;
+          }
+          final Field field = member instanceof Method ? field(type, entry.getKey()) : (Field) member;
+          if (field != null && field != member && hasUnsupportedAnnotation(field)) {
+            return null;
+          }
+          if (field != null && field.isAnnotationPresent(JsonbTransient.class)) {
+            continue;
+          }
+          final Class<?> declaringClass = ((Member) member).getDeclaringClass();
+          properties.add(new Property(propertyName(entry.getKey(), member, field), depth(declaringClass), accessor(member)));
+        }
+        properties.sort(Comparator.<Property>comparingInt(p -> p.depth).thenComparing(p -> p.name));
+        return new Descriptor(properties.toArray(new Property[properties.size()]));
+      } catch (ReflectiveOperationException | IOException | RuntimeException e) {
+        // Not accessible, let JSON-B deal with it.
+        return null;
+      }
+    }
+
+    /**
+     * Get the depth of a class in its hierarchy.
+     *
+     * @param type The class.
+     * @return The number of super-classes.
+     */
+    private static int depth(Class<?> type) {
+      int depth = 0;
+      for (Class<?> c = type.getSuperclass(); c != null; c = c.getSuperclass()) {
+        depth++;
+      }
+      return depth;
+    }
+
+    /**
+     * Get the property name of a getter.
+     *
+     * @param method The method.
+     * @return The Java property name, or null if the method is not a getter.
+     */
+    private static String getterName(Method method) {
+      if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0
+          || method.getDeclaringClass() == Object.class) {
+        return null;
+      }
+      final String name = method.getName();
+      final int prefix;
+      if (name.startsWith("get") && method.getReturnType() != void.class) {
+        prefix = 3;
+      } else if (name.startsWith("is") && method.getReturnType() == boolean.class) {
+        prefix = 2;
+      } else {
+        return null;
+      }
+      if (name.length() == prefix) {
+        return null;
+      }
+      return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+    }
+
+    /**
+     * Find the (possibly non-public) field backing a getter.
+     *
+     * @param type The class.
+     * @param name The Java property name.
+     * @return The field, or null.
+     */
+    private static Field field(Class<?> type, String name) {
+      for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+        try {
+          return c.getDeclaredField(name);
+        } catch (NoSuchFieldException nsfe) {
+          // Try the super-class.
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Get the JSON property name, preferring a {@link JsonbProperty} on the getter to one on the field.
+     *
+     * @param javaName The Java property name.
+     * @param member The field or getter that is read.
+     * @param field The field, if any.
+     * @return The JSON property name.
+     */
+    private static String propertyName(String javaName, AccessibleObject member, Field field) {
+      final JsonbProperty property = member.getAnnotation(JsonbProperty.class);
+      if (property != null && !property.value().isEmpty()) {
+        return property.value();
+      }
+      if (field != null && field != member) {
+        final JsonbProperty fieldProperty = field.getAnnotation(JsonbProperty.class);
+        if (fieldProperty != null && !fieldProperty.value().isEmpty()) {
+          return fieldProperty.value();
+        }
+      }
+      return javaName;
+    }
+
+    /**
+     * Create an accessor for a field or getter, taking an Object and returning an Object.
+     *
+     * @param member The field or getter.
+     * @return The accessor.
+     * @throws IllegalAccessException If the member cannot be accessed.
+     */
+    private static MethodHandle accessor(AccessibleObject member) throws IllegalAccessException {
+      member.setAccessible(true);
+      final MethodHandle handle = member instanceof Field
+          ? MethodHandles.lookup().unreflectGetter((Field) member)
+          : MethodHandles.lookup().unreflect((Method) member);
+      return handle.asType(MethodType.methodType(Object.class, Object.class));
+    }
+
+    /**
+     * Is a JSON-B annotation other than {@link JsonbTransient} and {@link JsonbProperty} present?
+     *
+     * @param element The class, field or method.
+     * @return true if the encoder cannot honour the annotations.
+     */
+    private static boolean hasUnsupportedAnnotation(AnnotatedElement element) {
+      for (Annotation annotation : element.getAnnotations()) {
+        final Class<? extends Annotation> annotationType = annotation.annotationType();
+        if (annotationType.getName().startsWith("javax.json.bind.annotation.")
+            && annotationType != JsonbTransient.class && annotationType != JsonbProperty.class) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * A property of a LogEvent class.
+   */
+  private static final class Property {
+    private final String name;
+    private final int depth;
+    private final String encodedName;
+    private final MethodHandle accessor;
+
+    Property(String name, int depth, MethodHandle accessor) throws IOException {
+      this.name = name;
+      this.depth = depth;
+      final StringBuilder encoded = new StringBuilder();
+      writeString(name, encoded);
+      this.encodedName = encoded.toString();
+      this.accessor = accessor;
+    }
+
+    Object get(Object event) throws IOException {
+      try {
+        return (Object) accessor.invokeExact(event);
+      } catch (IOException | RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new IOException(t);
+      }
+    }
+  }
+}
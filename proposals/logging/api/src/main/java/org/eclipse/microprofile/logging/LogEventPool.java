@@ -0,0 +1,116 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Supplier} that recycles {@link LogEvent} instances rather than creating
+ * a new instance for every log statement.
+ *
+ * <p>
+ * The pool is a fixed size array of slots. Each Thread starts its search for a free
+ * (or occupied) slot at a position derived from its ID, so uncontended Threads mostly
+ * work on their own slots, while an event released by one Thread (E.g. an asynchronous
+ * writer) can still be picked up by another. When no pooled event is found the wrapped
+ * {@link Supplier} is asked for a new instance; when the pool is full a released event
+ * is simply left to the garbage collector.
+ * </p>
+ *
+ * <p>
+ * Events are {@link LogEvent#reset() reset} before they are returned to the pool.
+ * </p>
+ *
+ * @param <T> The Type of LogEvent held by the pool.
+ */
+public class LogEventPool<T extends LogEvent> implements Supplier<T> {
+
+  /** The number of slots inspected before giving up on the pool */
+  private static final int PROBES = 4;
+
+  private final Supplier<T> factory;
+  private final AtomicReferenceArray<T> slots;
+  private final int mask;
+
+  /**
+   * Create a pool sized by {@link Configuration#EVENT_POOL_SIZE}.
+   *
+   * @param factory The supplier used to create events when the pool is empty.
+   */
+  public LogEventPool(Supplier<T> factory) {
+    this(factory, Configuration.get(Configuration.EVENT_POOL_SIZE));
+  }
+
+  /**
+   * Create a pool.
+   *
+   * @param factory The supplier used to create events when the pool is empty.
+   * @param size The number of events the pool can hold, {@code 0} or less to size by the number of processors.
+   */
+  public LogEventPool(Supplier<T> factory, int size) {
+    this.factory = factory;
+    if (size <= 0) {
+      size = 4 * Runtime.getRuntime().availableProcessors();
+    }
+    final int capacity = Integer.highestOneBit(Math.max(PROBES, size - 1) << 1);
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Take an event from the pool, or create a new one if none is available.
+   *
+   * @return An event ready to be populated.
+   */
+  @Override
+  public T get() {
+    final int start = probe();
+    for (int i = 0; i < PROBES; i++) {
+      final int index = (start + i) & mask;
+      final T event = slots.get(index);
+      if (event != null && slots.compareAndSet(index, event, null)) {
+        return event;
+      }
+    }
+    return factory.get();
+  }
+
+  /**
+   * Reset the event and return it to the pool.
+   *
+   * <p>
+   * The caller MUST NOT use the event after calling this method.
+   * </p>
+   *
+   * @param event The event that has been written.
+   */
+  public void release(T event) {
+    event.reset();
+    final int start = probe();
+    for (int i = 0; i < PROBES; i++) {
+      final int index = (start + i) & mask;
+      if (slots.get(index) == null && slots.compareAndSet(index, null, event)) {
+        return;
+      }
+    }
+    // The pool is full, leave the event to the garbage collector.
+  }
+
+  /**
+   * Get the supplier used to create events when the pool is empty.
+   *
+   * @return The wrapped supplier.
+   */
+  public Supplier<T> getFactory() {
+    return factory;
+  }
+
+  /**
+   * The first slot inspected by the current Thread.
+   *
+   * @return The (unmasked) slot index.
+   */
+  private static int probe() {
+    // Fibonacci hashing spreads sequential Thread IDs across the slots.
+    return (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 32);
+  }
+}
@@ -154,6 +154,36 @@ public interface Logger<T extends LogEvent> {
    */
   void log(Level lvl, LogFunction<T> f);
   
+  /**
+   * Log a {@link LogEvent} at the given level, if the {@link Sampler} accepts it.
+   * 
+   * <p>
+   * The Sampler is only consulted if the level is loggable, and the {@link LogFunction} is only
+   * called if the Sampler accepts the statement. The number of statements the Sampler rejected
+   * since it last accepted one is reported in {@link LogEvent#suppressed}.
+   * </p>
+   * 
+   * <p>
+   * Note: A Sampler is typically held by a call site, E.g. in a static field, so that it sees
+   * every execution of that log statement.
+   * </p>
+   * 
+   * @param lvl The level at which to log the {@link LogEvent}
+   * @param sampler Decides which of the log statements are written.
+   * @param f Function to generate log message and populate a {@link LogEvent} as required.
+   */
+  default void log(Level lvl, Sampler sampler, LogFunction<T> f) {
+    if (isLoggable(lvl) && sampler.sample()) {
+      final long suppressed = sampler.drainSuppressed();
+      log(lvl, e -> {
+        if (suppressed > 0) {
+          e.suppressed = suppressed;
+        }
+        return f.log(e);
+      });
+    }
+  }
+  
   /**
    * Is the Logging implementation configured to output log statements
    * at the given Level?
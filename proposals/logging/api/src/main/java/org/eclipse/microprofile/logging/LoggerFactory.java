@@ -55,6 +55,12 @@ public class LoggerFactory {
    * The name of the Logger will be inferred in the same way as {@link LoggerFactory#getLogger()}
    * </p>
    *
+   * <p>
+   * Loggers are shared by name and by the class of the Supplier, not by the Supplier instance: a lambda
+   * that captures state gets the Logger created for the first Supplier of its class, and its own
+   * captured state is not used. Set such state in the {@link LogFunction} instead.
+   * </p>
+   *
    * @param <T> The LogEvent sub-class type.
    * @param supplier The {@link Supplier} instance responsible for creating instances of the LogEvent sub-class.
    *
@@ -92,6 +98,12 @@ public class LoggerFactory {
    * The name of the Logger will be inferred in the same way as {@link LoggerFactory#getLogger()}
    * </p>
    *
+   * <p>
+   * Loggers are shared by name and by the class of the Supplier, not by the Supplier instance: a lambda
+   * that captures state gets the Logger created for the first Supplier of its class, and its own
+   * captured state is not used. Set such state in the {@link LogFunction} instead.
+   * </p>
+   *
    * @param <T> The LogEvent sub-class type.
    * @param name The name to use for the Logger.
    * @param supplier The {@link Supplier} instance responsible for creating instances of the LogEvent sub-class.
@@ -0,0 +1,145 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics recorded for the Loggers of a name, when {@link Configuration#METRICS} is enabled:
+ * the number of events per Level, the number of events written to Span logging and the time taken by {@link AbstractLogger#writeLog(org.eclipse.microprofile.logging.Level, org.eclipse.microprofile.logging.LogEvent)}.
+ *
+ * <p>
+ * Counters are {@link LongAdder}s, so Threads logging at the same time do not contend on a
+ * single counter.
+ * </p>
+ *
+ * @see LoggingMetrics
+ */
+public final class LoggerMetrics {
+
+  private final String name;
+  private final LongAdder trace = new LongAdder();
+  private final LongAdder debug = new LongAdder();
+  private final LongAdder info = new LongAdder();
+  private final LongAdder warn = new LongAdder();
+  private final LongAdder error = new LongAdder();
+  private final ConcurrentMap<Level, LongAdder> custom = new ConcurrentHashMap<>();
+  private final LongAdder spans = new LongAdder();
+  private final LatencyHistogram writeLatency = new LatencyHistogram();
+
+  LoggerMetrics(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return The name of the Loggers.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the number of events at a Level: log statements that were loggable and, if sampled, accepted.
+   * Repeats suppressed by the {@link Deduplicator} are included.
+   *
+   * @param lvl The Level.
+   * @return The number of events.
+   */
+  public long getCount(Level lvl) {
+    final LongAdder counter = counter(lvl, false);
+    return counter != null ? counter.sum() : 0;
+  }
+
+  /**
+   * Get the number of events per Level, for each Level at which there were events.
+   *
+   * @return The counts, ordered by Level from the lowest.
+   */
+  public Map<Level, Long> getCounts() {
+    final Map<Level, Long> counts = new TreeMap<>((a, b) -> Integer.compare(a.intValue(), b.intValue()));
+    addCount(counts, Level.TRACE, trace);
+    addCount(counts, Level.DEBUG, debug);
+    addCount(counts, Level.INFO, info);
+    addCount(counts, Level.WARN, warn);
+    addCount(counts, Level.ERROR, error);
+    custom.forEach((lvl, counter) -> addCount(counts, lvl, counter));
+    return Collections.unmodifiableMap(counts);
+  }
+
+  /**
+   * @return The number of events written to Span logging.
+   */
+  public long getSpanCount() {
+    return spans.sum();
+  }
+
+  /**
+   * @return The time taken to write events to the Logging Framework, in nanoseconds.
+   */
+  public LatencyHistogram getWriteLatency() {
+    return writeLatency;
+  }
+
+  /**
+   * Count an event at a Level.
+   *
+   * @param lvl The Level of the event.
+   */
+  void recordEvent(Level lvl) {
+    counter(lvl, true).increment();
+  }
+
+  /**
+   * Count an event written to Span logging.
+   */
+  void recordSpan() {
+    spans.increment();
+  }
+
+  /**
+   * Record the time taken to write an event to the Logging Framework.
+   *
+   * @param nanos The duration in nanoseconds.
+   */
+  void recordWrite(long nanos) {
+    writeLatency.record(nanos);
+  }
+
+  /**
+   * Get the counter of a Level; the predefined Levels are held in fields rather than looked up.
+   *
+   * @param lvl The Level.
+   * @param create Should the counter of a custom Level be created if it does not exist?
+   * @return The counter, or null.
+   */
+  private LongAdder counter(Level lvl, boolean create) {
+    switch (lvl.intValue()) {
+      case 400:
+        return trace;
+      case 500:
+        return debug;
+      case 800:
+        return info;
+      case 900:
+        return warn;
+      case 1000:
+        return error;
+      default:
+        final LongAdder counter = custom.get(lvl);
+        if (counter != null || !create) {
+          return counter;
+        }
+        return custom.computeIfAbsent(lvl, l -> new LongAdder());
+    }
+  }
+
+  private static void addCount(Map<Level, Long> counts, Level lvl, LongAdder counter) {
+    final long count = counter.sum();
+    if (count > 0) {
+      counts.put(lvl, count);
+    }
+  }
+}
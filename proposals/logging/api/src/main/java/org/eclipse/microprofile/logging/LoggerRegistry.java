@@ -1,19 +1,42 @@
 package org.eclipse.microprofile.logging;
 
-import java.util.Map;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * Centralised storage of Loggers based on name and type of LogEvent generated.
+ * 
+ * <p>
+ * Loggers are held by name, then by the class of their {@link Supplier}; so a lambda or new instance
+ * of a supplier class passed on every call finds the same Logger, while suppliers of the same LogEvent
+ * type that populate it differently (different classes) get their own Logger. A lookup that finds
+ * a Logger does not allocate.
+ * </p>
+ * 
+ * <p>
+ * As a consequence, suppliers of the same class share a Logger even if they differ in state, E.g. lambdas
+ * capturing different values: the Logger keeps using the supplier it was created with.
+ * </p>
+ * 
+ * <p>
+ * Loggers are only weakly held, so Loggers with dynamically generated names are discarded once the
+ * application no longer references them.
+ * </p>
  */
 public class LoggerRegistry {
 
+  /** Fallback index into the Stack when the calling class cannot be resolved from the class context */
   private static final int STACK_TRACE_INDEX = 5;
 
-  private final Map<LoggerKey, Logger> loggers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ConcurrentMap<Class<?>, LoggerReference>> loggers = new ConcurrentHashMap<>();
+  
+  private final ReferenceQueue<Logger> discarded = new ReferenceQueue<>();
 
   /**
    * Get a Logger without specifying a name.
@@ -38,6 +61,11 @@ public class LoggerRegistry {
   /**
    * Get a Logger using its name and the LogEvent type it generates.
    * 
+   * <p>
+   * The Logger is found by the class of the supplier; if one exists, it keeps the supplier it was
+   * created with, and the given supplier, along with any state it captures, is not used.
+   * </p>
+   * 
    * @param <T> The LogEvent Type generated by the Logger
    * 
    * @param name The name of the Logger
@@ -47,17 +75,85 @@ public class LoggerRegistry {
    * @return The Logger for the given name and LogEvent type combination.
    */
   public <T extends LogEvent> Logger<T> getLogger(String name, Supplier<?> supplier, Function<? super LoggerKey, ? extends Logger> builder) {
-    final LoggerKey key = new LoggerKey(name, supplier);
-    final Logger<T> logger = loggers.computeIfAbsent(key, builder);
-    return logger;
+    final Class<?> type = supplier != null ? supplier.getClass() : Void.class;
+    final ConcurrentMap<Class<?>, LoggerReference> byType = loggers.get(name);
+    if (byType != null) {
+      final LoggerReference reference = byType.get(type);
+      if (reference != null) {
+        final Logger<T> logger = reference.get();
+        if (logger != null) {
+          return logger;
+        }
+      }
+    }
+    return createLogger(name, supplier, type, builder);
+  }
+  
+  /**
+   * Create and store a Logger, unless another Thread got there first.
+   * 
+   * @param <T> The LogEvent Type generated by the Logger
+   * 
+   * @param name The name of the Logger
+   * @param supplier The supplier used to generate LogEvents of the appropriate type.
+   * @param type The class of the supplier.
+   * @param builder Function used to created a Logger instance.
+   * 
+   * @return The stored Logger.
+   */
+  private <T extends LogEvent> Logger<T> createLogger(String name, Supplier<?> supplier, Class<?> type, 
+                                                      Function<? super LoggerKey, ? extends Logger> builder) {
+    expungeDiscardedLoggers();
+    
+    // The Logger is kept strongly reachable here until it is returned.
+    final Logger[] logger = new Logger[1];
+    loggers.computeIfAbsent(name, n -> new ConcurrentHashMap<>(2))
+           .compute(type, (t, existing) -> {
+             logger[0] = existing != null ? existing.get() : null;
+             if (logger[0] != null) {
+               return existing;
+             }
+             logger[0] = builder.apply(new LoggerKey(name, supplier));
+             return new LoggerReference(logger[0], name, type, discarded);
+           });
+    return logger[0];
+  }
+  
+  /**
+   * Remove the entries of Loggers that have been garbage collected.
+   */
+  private void expungeDiscardedLoggers() {
+    Reference<? extends Logger> discardedLogger;
+    while ((discardedLogger = discarded.poll()) != null) {
+      final LoggerReference reference = (LoggerReference) discardedLogger;
+      loggers.computeIfPresent(reference.name, (n, byType) -> {
+        byType.remove(reference.type, reference);
+        return byType.isEmpty() ? null : byType;
+      });
+    }
   }
 
   /**
    * Get the Logger's name from the Stack.
    * 
+   * <p>
+   * The name is that of the class calling {@link LoggerFactory}, or when the {@link LoggerFactoryProvider} 
+   * is called directly, the first class that is neither a LoggerFactoryProvider nor this registry.
+   * The classes on the Stack are taken from the class context, which unlike a Stack Trace does not 
+   * create a {@link StackTraceElement} per frame and does not depend on a fixed depth.
+   * </p>
+   * 
    * @return The logger name
    */
   private String getLoggerName() {
+    final Class<?>[] context = CallerResolver.getCallers();
+    if (context != null) {
+      final Class<?> caller = findCaller(context);
+      if (caller != null) {
+        return caller.getName();
+      }
+    }
+    
     String name = "unknown";
     final StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
 
@@ -69,16 +165,79 @@ public class LoggerRegistry {
     return name;
   }
   
+  /**
+   * Find the class that asked for a Logger.
+   * 
+   * @param context The classes on the Stack, most recent first.
+   * @return The calling class, or null if it cannot be found.
+   */
+  private static Class<?> findCaller(Class<?>[] context) {
+    for (int i = 0; i < context.length - 1; i++) {
+      if (context[i] == LoggerFactory.class && context[i + 1] != LoggerFactory.class) {
+        return context[i + 1];
+      }
+    }
+    
+    for (Class<?> c : context) {
+      if (c != CallerResolver.class && 
+          !LoggerRegistry.class.isAssignableFrom(c) && 
+          !LoggerFactoryProvider.class.isAssignableFrom(c)) {
+        return c;
+      }
+    }
+    return null;
+  }
+  
+  /**
+   * Exposes the protected {@link SecurityManager#getClassContext()}; it is never installed.
+   */
+  private static final class CallerResolver extends SecurityManager {
+    
+    /** null if a SecurityManager is installed that does not allow this one to be created */
+    private static final CallerResolver INSTANCE = create();
+    
+    private static CallerResolver create() {
+      try {
+        return new CallerResolver();
+      } catch (SecurityException se) {
+        return null;
+      }
+    }
+    
+    /**
+     * Get the classes on the current Thread's Stack.
+     * 
+     * @return The classes, most recent first, or null if they are not available.
+     */
+    static Class<?>[] getCallers() {
+      return INSTANCE != null ? INSTANCE.getClassContext() : null;
+    }
+  }
+  
+  /**
+   * A weak reference to a stored Logger that remembers where it is stored.
+   */
+  private static final class LoggerReference extends WeakReference<Logger> {
+    private final String name;
+    private final Class<?> type;
+    
+    LoggerReference(Logger logger, String name, Class<?> type, ReferenceQueue<Logger> queue) {
+      super(logger, queue);
+      this.name = name;
+      this.type = type;
+    }
+  }
+  
   /**
    * Key used to identify Logger instances by both their name and
-   * the type of LogEvent they generate.
+   * the type of LogEvent they generate, given to the builder of a Logger.
    * 
    * A logger with the name "MyLogger" that generates a LogEvent 
    * is different to a logger with the same name but generates CustomLogEvents.
    * 
    * @param <T> The type of LogEvent
    */
-  public class LoggerKey<T extends LogEvent> {
+  public static class LoggerKey<T extends LogEvent> {
     private final String name;
     private final Supplier<T> supplier;
     
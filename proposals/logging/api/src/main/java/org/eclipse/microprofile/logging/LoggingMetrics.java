@@ -0,0 +1,170 @@
+package org.eclipse.microprofile.logging;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds the {@link LoggerMetrics} of every Logger name and the {@link MetricsReporter}s they are
+ * published to.
+ *
+ * <p>
+ * Loggers only record metrics when {@link Configuration#METRICS} is enabled. The Loggers of
+ * the same name, E.g. with different LogEvent suppliers, share their metrics.
+ * </p>
+ *
+ * <p>
+ * The metrics are held by their Loggers, and only weakly here; like the Loggers in the
+ * {@link LoggerRegistry}, the metrics of dynamically generated names are discarded once no Logger
+ * of the name is referenced, and are then withdrawn from the reporters.
+ * </p>
+ */
+public final class LoggingMetrics {
+
+  private static final ConcurrentMap<String, MetricsReference> METRICS = new ConcurrentHashMap<>();
+
+  private static final ReferenceQueue<LoggerMetrics> DISCARDED = new ReferenceQueue<>();
+
+  private static class ReportersHolder {
+    static final List<MetricsReporter> REPORTERS = load();
+
+    private static List<MetricsReporter> load() {
+      final List<MetricsReporter> reporters = new CopyOnWriteArrayList<>();
+      try {
+        ServiceLoader.load(MetricsReporter.class).forEach(reporters::add);
+      } catch (Throwable t) {
+        // A reporter that cannot be loaded, E.g. without its metrics system, is not used.
+      }
+      return reporters;
+    }
+  }
+
+  private LoggingMetrics() {
+  }
+
+  /**
+   * Get the metrics of a Logger name.
+   *
+   * @param name The Logger name.
+   * @return The metrics, or null if no Logger of the name records metrics.
+   */
+  public static LoggerMetrics get(String name) {
+    final MetricsReference reference = METRICS.get(name);
+    return reference != null ? reference.get() : null;
+  }
+
+  /**
+   * Get the metrics of every Logger name, E.g. to find the Loggers that dominate volume or time.
+   *
+   * @return The metrics.
+   */
+  public static Collection<LoggerMetrics> getAll() {
+    final List<LoggerMetrics> all = new ArrayList<>(METRICS.size());
+    for (MetricsReference reference : METRICS.values()) {
+      final LoggerMetrics metrics = reference.get();
+      if (metrics != null) {
+        all.add(metrics);
+      }
+    }
+    return Collections.unmodifiableCollection(all);
+  }
+
+  /**
+   * Add a reporter, and publish the metrics that already exist to it.
+   *
+   * @param reporter The reporter.
+   */
+  public static synchronized void addReporter(MetricsReporter reporter) {
+    ReportersHolder.REPORTERS.add(reporter);
+    for (LoggerMetrics metrics : getAll()) {
+      register(reporter, metrics);
+    }
+  }
+
+  /**
+   * Remove a reporter. Metrics it has published are not withdrawn.
+   *
+   * @param reporter The reporter.
+   */
+  public static void removeReporter(MetricsReporter reporter) {
+    ReportersHolder.REPORTERS.remove(reporter);
+  }
+
+  /**
+   * Get, or create and publish, the metrics of a Logger name.
+   *
+   * @param name The Logger name.
+   * @return The metrics.
+   */
+  static LoggerMetrics forLogger(String name) {
+    final LoggerMetrics metrics = get(name);
+    if (metrics != null) {
+      return metrics;
+    }
+    return create(name);
+  }
+
+  private static synchronized LoggerMetrics create(String name) {
+    expungeDiscardedMetrics();
+    LoggerMetrics metrics = get(name);
+    if (metrics == null) {
+      metrics = new LoggerMetrics(name);
+      METRICS.put(name, new MetricsReference(metrics, DISCARDED));
+      for (MetricsReporter reporter : ReportersHolder.REPORTERS) {
+        register(reporter, metrics);
+      }
+    }
+    return metrics;
+  }
+
+  /**
+   * Remove the entries of metrics that have been garbage collected, and withdraw them from the reporters.
+   */
+  private static void expungeDiscardedMetrics() {
+    Reference<? extends LoggerMetrics> discarded;
+    while ((discarded = DISCARDED.poll()) != null) {
+      final MetricsReference reference = (MetricsReference) discarded;
+      if (METRICS.remove(reference.name, reference)) {
+        for (MetricsReporter reporter : ReportersHolder.REPORTERS) {
+          unregister(reporter, reference.name);
+        }
+      }
+    }
+  }
+
+  private static void register(MetricsReporter reporter, LoggerMetrics metrics) {
+    try {
+      reporter.register(metrics);
+    } catch (Throwable t) {
+      // A failing reporter must not prevent a Logger being created.
+    }
+  }
+
+  private static void unregister(MetricsReporter reporter, String name) {
+    try {
+      reporter.unregister(name);
+    } catch (Throwable t) {
+      // A failing reporter must not prevent a Logger being created.
+    }
+  }
+
+  /**
+   * A weak reference to the metrics of a Logger name that remembers the name.
+   */
+  private static final class MetricsReference extends WeakReference<LoggerMetrics> {
+    private final String name;
+
+    MetricsReference(LoggerMetrics metrics, ReferenceQueue<LoggerMetrics> queue) {
+      super(metrics, queue);
+      this.name = metrics.getName();
+    }
+  }
+}
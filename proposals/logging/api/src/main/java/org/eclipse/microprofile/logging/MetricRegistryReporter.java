@@ -0,0 +1,116 @@
+package org.eclipse.microprofile.logging;
+
+import java.lang.ref.WeakReference;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetadataBuilder;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+
+/**
+ * Publishes {@link LoggerMetrics} to a MicroProfile Metrics {@link MetricRegistry}, as Gauges
+ * tagged with the Logger name:
+ * <ul>
+ *  <li>{@code mp.logging.events}, per predefined Level (tagged {@code level}), from TRACE to ERROR.</li>
+ *  <li>{@code mp.logging.span.events}</li>
+ *  <li>{@code mp.logging.write.time.mean}, {@code .p50}, {@code .p99} and {@code .max}, in nanoseconds.</li>
+ * </ul>
+ *
+ * <p>
+ * For Example, from an observer of the application scope's initialization:
+ * {@code LoggingMetrics.addReporter(new MetricRegistryReporter(applicationRegistry))}
+ * </p>
+ *
+ * <p>
+ * The Gauges only hold the metrics weakly, and are removed once the metrics are discarded.
+ * </p>
+ */
+public class MetricRegistryReporter implements MetricsReporter {
+
+  private static final String TAG_LOGGER = "logger";
+  private static final String TAG_LEVEL = "level";
+  private static final Level[] LEVELS = {Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR};
+  private static final String EVENTS = "mp.logging.events";
+  private static final String SPAN_EVENTS = "mp.logging.span.events";
+  private static final String WRITE_TIME_MEAN = "mp.logging.write.time.mean";
+  private static final String WRITE_TIME_P50 = "mp.logging.write.time.p50";
+  private static final String WRITE_TIME_P99 = "mp.logging.write.time.p99";
+  private static final String WRITE_TIME_MAX = "mp.logging.write.time.max";
+
+  private final MetricRegistry registry;
+
+  /**
+   * Create a reporter.
+   *
+   * @param registry The registry to publish to.
+   */
+  public MetricRegistryReporter(MetricRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public void register(LoggerMetrics metrics) {
+    final WeakReference<LoggerMetrics> reference = new WeakReference<>(metrics);
+    final Tag logger = new Tag(TAG_LOGGER, metrics.getName());
+    final Metadata events = metadata(EVENTS, MetricUnits.NONE, "Events written per Level");
+    for (Level lvl : LEVELS) {
+      register(events, gauge(reference, m -> m.getCount(lvl)), logger, new Tag(TAG_LEVEL, lvl.getName()));
+    }
+    register(metadata(SPAN_EVENTS, MetricUnits.NONE, "Events written to Span logging"), 
+             gauge(reference, LoggerMetrics::getSpanCount), logger);
+
+    register(metadata(WRITE_TIME_MEAN, MetricUnits.NANOSECONDS, "Mean time writing an event"), 
+             (Gauge<Double>) () -> read(reference, m -> m.getWriteLatency().getMean(), 0.0), logger);
+    register(metadata(WRITE_TIME_P50, MetricUnits.NANOSECONDS, "Median time writing an event"), 
+             gauge(reference, m -> m.getWriteLatency().getValueAtPercentile(50)), logger);
+    register(metadata(WRITE_TIME_P99, MetricUnits.NANOSECONDS, "99th percentile time writing an event"), 
+             gauge(reference, m -> m.getWriteLatency().getValueAtPercentile(99)), logger);
+    register(metadata(WRITE_TIME_MAX, MetricUnits.NANOSECONDS, "Maximum time writing an event"), 
+             gauge(reference, m -> m.getWriteLatency().getMax()), logger);
+  }
+
+  @Override
+  public void unregister(String name) {
+    final Tag logger = new Tag(TAG_LOGGER, name);
+    for (Level lvl : LEVELS) {
+      registry.remove(new MetricID(EVENTS, logger, new Tag(TAG_LEVEL, lvl.getName())));
+    }
+    for (String metric : new String[] {SPAN_EVENTS, WRITE_TIME_MEAN, WRITE_TIME_P50, WRITE_TIME_P99, WRITE_TIME_MAX}) {
+      registry.remove(new MetricID(metric, logger));
+    }
+  }
+
+  /**
+   * A Gauge reading the metrics through a weak reference; 0 once they are discarded.
+   */
+  private static Gauge<Long> gauge(WeakReference<LoggerMetrics> reference, ToLongFunction<LoggerMetrics> value) {
+    return () -> read(reference, m -> value.applyAsLong(m), 0L);
+  }
+
+  private static <V> V read(WeakReference<LoggerMetrics> reference, Function<LoggerMetrics, V> value, V discarded) {
+    final LoggerMetrics metrics = reference.get();
+    return metrics != null ? value.apply(metrics) : discarded;
+  }
+
+  private void register(Metadata metadata, Gauge<?> gauge, Tag... tags) {
+    try {
+      registry.register(metadata, gauge, tags);
+    } catch (IllegalArgumentException iae) {
+      // Already registered, E.g. the reporter was added twice.
+    }
+  }
+
+  private static Metadata metadata(String name, String unit, String description) {
+    return new MetadataBuilder()
+        .withName(name)
+        .withType(MetricType.GAUGE)
+        .withUnit(unit)
+        .withDescription(description)
+        .build();
+  }
+}
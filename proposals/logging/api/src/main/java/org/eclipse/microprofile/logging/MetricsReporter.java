@@ -0,0 +1,37 @@
+package org.eclipse.microprofile.logging;
+
+/**
+ * Publishes {@link LoggerMetrics} to a metrics system, E.g. MicroProfile Metrics with
+ * {@link MetricRegistryReporter}.
+ *
+ * <p>
+ * Reporters are added with {@link LoggingMetrics#addReporter(org.eclipse.microprofile.logging.MetricsReporter)}
+ * or, to be found when the metrics are first used, listed in
+ * {@code META-INF/services/org.eclipse.microprofile.logging.MetricsReporter}.
+ * </p>
+ */
+public interface MetricsReporter {
+
+  /**
+   * Publish the metrics of a Logger name. Called once for each name, when its first Logger is
+   * created, or when the reporter is added if that is later. The metrics are live; a reporter
+   * reads them when it needs them rather than copying them.
+   *
+   * <p>
+   * A reporter SHOULD only hold the metrics weakly, as they are discarded once no Logger of the name
+   * is referenced; otherwise they are kept for as long as the reporter is.
+   * </p>
+   *
+   * @param metrics The metrics.
+   */
+  void register(LoggerMetrics metrics);
+
+  /**
+   * Withdraw the metrics of a Logger name that have been discarded. Called when the metrics of
+   * a name are next created.
+   *
+   * @param name The Logger name.
+   */
+  default void unregister(String name) {
+  }
+}
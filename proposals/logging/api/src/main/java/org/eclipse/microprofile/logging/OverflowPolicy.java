@@ -0,0 +1,25 @@
+package org.eclipse.microprofile.logging;
+
+/**
+ * What an {@link AsyncLogDispatcher} does with a log statement when its queue is full.
+ */
+public enum OverflowPolicy {
+  
+  /**
+   * The logging Thread waits until the queue has room for the event. No events are lost.
+   */
+  BLOCK,
+  
+  /**
+   * Events below the {@link Configuration#ASYNC_OVERFLOW_LEVEL} are dropped; events at or 
+   * above that level wait for room in the queue.
+   */
+  DROP,
+  
+  /**
+   * As {@link #DROP}, but one in every {@link Configuration#ASYNC_SAMPLE} of the events below the
+   * {@link Configuration#ASYNC_OVERFLOW_LEVEL} still waits for room in the queue, so a trace
+   * of the lower level logging survives a burst.
+   */
+  SAMPLE
+}
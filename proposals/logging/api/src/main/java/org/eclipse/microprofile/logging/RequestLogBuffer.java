@@ -0,0 +1,209 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the events logged while handling a request, and writes them together when the request ends;
+ * so the events of a successful request below {@link Configuration#REQUEST_BUFFER_SUCCESS_LEVEL} can
+ * be dropped, and each run of consecutive events of the same Logger is handed to the Logging Framework
+ * in a single {@link AbstractLogger#writeLogs(Level[], LogEvent[], int, int)} call.
+ *
+ * <p>
+ * When {@link Configuration#REQUEST_BUFFER} is enabled, a buffer is attached to the Thread handling
+ * the request by {@link #begin()}, E.g. by the {@link RequestLogBufferFilter} of a JAX-RS application,
+ * and the events logged by that Thread are held until {@link #end(boolean)}. Span logging, the
+ * {@link Sampler}s and the {@link Deduplicator} apply as the events are logged; only the writing
+ * to the Logging Framework is deferred. A buffer that reaches {@link Configuration#REQUEST_BUFFER_SIZE}
+ * events writes them, and continues.
+ * </p>
+ *
+ * <p>
+ * As the events are written after the log statements, each is given the time it was held as its
+ * {@link LogEvent#timestamp}; a Logging Framework that records the Thread of an event records
+ * that of the end of the request.
+ * </p>
+ */
+public final class RequestLogBuffer {
+
+  /** The buffer of each Thread; a holder, so a buffer ended on another Thread can clear it */
+  private static final ThreadLocal<AtomicReference<RequestLogBuffer>> CURRENT = ThreadLocal.withInitial(AtomicReference::new);
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private static final FailureReporter FAILURES =
+      new FailureReporter("mp-logging: failed to write the events of a request, further failures are only counted");
+
+  private final AtomicReference<RequestLogBuffer> owner;
+  private final int capacity;
+  private final int successValue;
+  private AbstractLogger<?>[] loggers = new AbstractLogger<?>[INITIAL_CAPACITY];
+  private Level[] levels = new Level[INITIAL_CAPACITY];
+  private LogEvent[] events = new LogEvent[INITIAL_CAPACITY];
+  private int size;
+  private boolean ended;
+
+  private RequestLogBuffer(AtomicReference<RequestLogBuffer> owner, int capacity, Level successLevel) {
+    this.owner = owner;
+    this.capacity = Math.max(1, capacity);
+    this.successValue = successLevel.intValue();
+  }
+
+  /**
+   * Start buffering the events logged by the current Thread, if {@link Configuration#REQUEST_BUFFER}
+   * is enabled. The events of a buffer that was not ended are written first.
+   *
+   * @return The buffer, or null if buffering is not enabled.
+   */
+  public static RequestLogBuffer begin() {
+    if (!Configuration.current().isRequestBuffer()) {
+      return null;
+    }
+    final AtomicReference<RequestLogBuffer> current = CURRENT.get();
+    final RequestLogBuffer previous = current.get();
+    if (previous != null) {
+      previous.end(false);
+    }
+    final RequestLogBuffer buffer = new RequestLogBuffer(current, Configuration.get(Configuration.REQUEST_BUFFER_SIZE), 
+                                                         Configuration.get(Configuration.REQUEST_BUFFER_SUCCESS_LEVEL));
+    current.set(buffer);
+    return buffer;
+  }
+
+  /**
+   * Get the buffer of the current Thread.
+   *
+   * @return The buffer, or null if the events of the current Thread are not buffered.
+   */
+  public static RequestLogBuffer current() {
+    return CURRENT.get().get();
+  }
+
+  /**
+   * End the request: write the buffered events, oldest first, and stop buffering. May be called on
+   * a Thread other than the one that began the buffer, E.g. for an asynchronous request.
+   *
+   * @param success Did the request succeed? If so, events below {@link Configuration#REQUEST_BUFFER_SUCCESS_LEVEL}
+   *                are dropped.
+   */
+  public void end(boolean success) {
+    // The Thread that began the buffer may have begun another since.
+    owner.compareAndSet(this, null);
+    final int count;
+    final AbstractLogger<?>[] endLoggers;
+    final Level[] endLevels;
+    final LogEvent[] endEvents;
+    synchronized (this) {
+      if (ended) {
+        return;
+      }
+      ended = true;
+      count = size;
+      endLoggers = loggers;
+      endLevels = levels;
+      endEvents = events;
+      size = 0;
+      // Neither the events, which may be recycled once written, nor the Loggers stay reachable from the buffer.
+      loggers = null;
+      levels = null;
+      events = null;
+    }
+    write(endLoggers, endLevels, endEvents, count, success ? successValue : Level.ALL.intValue());
+  }
+
+  /**
+   * Get the number of buffered events the Logging Framework failed to write, as it threw. A batch
+   * that fails counts all of its events, as the Logging Framework may have written some of them.
+   * The first failure is reported to {@link System#err}.
+   *
+   * @return The failed event count, of all buffers.
+   */
+  public static long getFailedCount() {
+    return FAILURES.getCount();
+  }
+
+  /**
+   * @return The number of events held.
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Hold an event, writing the events held first if the buffer is full.
+   *
+   * @param logger The Logger of the event.
+   * @param lvl The Level of the event.
+   * @param event The event, owned by the buffer once held.
+   * @return true if the event is held, false if the buffer has ended and the event must be written by the caller.
+   */
+  boolean add(AbstractLogger<?> logger, Level lvl, LogEvent event) {
+    AbstractLogger<?>[] fullLoggers = null;
+    Level[] fullLevels = null;
+    LogEvent[] fullEvents = null;
+    int count = 0;
+    synchronized (this) {
+      if (ended) {
+        return false;
+      }
+      if (size == capacity) {
+        fullLoggers = loggers;
+        fullLevels = levels;
+        fullEvents = events;
+        count = size;
+        loggers = new AbstractLogger<?>[loggers.length];
+        levels = new Level[levels.length];
+        events = new LogEvent[events.length];
+        size = 0;
+      } else if (size == events.length) {
+        final int length = Math.min(capacity, size * 2);
+        loggers = Arrays.copyOf(loggers, length);
+        levels = Arrays.copyOf(levels, length);
+        events = Arrays.copyOf(events, length);
+      }
+      if (event.timestamp == 0) {
+        event.timestamp = System.currentTimeMillis();
+      }
+      loggers[size] = logger;
+      levels[size] = lvl;
+      events[size] = event;
+      size++;
+    }
+    if (fullEvents != null) {
+      write(fullLoggers, fullLevels, fullEvents, count, Level.ALL.intValue());
+    }
+    return true;
+  }
+
+  /**
+   * Write the events at or above a level, and discard the others. The events written are moved to
+   * the front of the arrays, so each run of consecutive events of the same Logger is written with
+   * a single call to it.
+   */
+  @SuppressWarnings("unchecked")
+  private static void write(AbstractLogger<?>[] loggers, Level[] levels, LogEvent[] events, int count, int minimum) {
+    int kept = 0;
+    for (int i = 0; i < count; i++) {
+      if (levels[i].intValue() >= minimum) {
+        loggers[kept] = loggers[i];
+        levels[kept] = levels[i];
+        events[kept] = events[i];
+        kept++;
+      } else {
+        ((AbstractLogger<LogEvent>) loggers[i]).discard(events[i]);
+      }
+    }
+    int start = 0;
+    for (int i = 1; i <= kept; i++) {
+      if (i == kept || loggers[i] != loggers[start]) {
+        try {
+          ((AbstractLogger<LogEvent>) loggers[start]).writeBuffered(levels, events, start, i - start);
+        } catch (Throwable t) {
+          // A failing Logger must not prevent the other events being written.
+          FAILURES.failed(i - start, t);
+        }
+        start = i;
+      }
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package org.eclipse.microprofile.logging;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Buffers the events logged while a JAX-RS request is handled, if {@link Configuration#REQUEST_BUFFER}
+ * is enabled, writing them when the response is sent. A response with a successful (2xx) status
+ * drops the events below {@link Configuration#REQUEST_BUFFER_SUCCESS_LEVEL}.
+ *
+ * <p>
+ * The statements recorded by the {@link FlightRecorder} are also cleared at the start of each request.
+ * </p>
+ */
+@Provider
+public class RequestLogBufferFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  /** The request property holding the buffer of the request */
+  static final String BUFFER_PROPERTY = RequestLogBuffer.class.getName();
+
+  @Override
+  public void filter(ContainerRequestContext request) {
+    if (Configuration.current().isRecorderEnabled()) {
+      FlightRecorder.clear();
+    }
+    final RequestLogBuffer buffer = RequestLogBuffer.begin();
+    if (buffer != null) {
+      request.setProperty(BUFFER_PROPERTY, buffer);
+    }
+  }
+
+  @Override
+  public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+    final Object buffer = request.getProperty(BUFFER_PROPERTY);
+    if (buffer instanceof RequestLogBuffer) {
+      request.removeProperty(BUFFER_PROPERTY);
+      ((RequestLogBuffer) buffer).end(response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL);
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether a log statement is written, so that a log statement in a hot loop
+ * (E.g. during an error storm) does not flood the Logging Framework and the Tracer.
+ *
+ * <p>
+ * A Sampler can be used for a single call site, by passing it to
+ * {@link Logger#log(org.eclipse.microprofile.logging.Level, org.eclipse.microprofile.logging.Sampler, org.eclipse.microprofile.logging.LogFunction)},
+ * or for all log statements of a Logger with {@link AbstractLogger#setSampler(org.eclipse.microprofile.logging.Sampler)}.
+ * The statements a Sampler rejects are counted, and the count is reported in
+ * {@link LogEvent#suppressed} of the next statement it accepts.
+ * </p>
+ *
+ * <p>
+ * Samplers are thread-safe and do not lock.
+ * </p>
+ */
+public abstract class Sampler {
+
+  private final AtomicLong suppressed = new AtomicLong();
+
+  /**
+   * Decide whether a log statement is written, counting it if it is not.
+   *
+   * @return true if the log statement should be written.
+   */
+  public final boolean sample() {
+    if (accept()) {
+      return true;
+    }
+    suppressed.incrementAndGet();
+    return false;
+  }
+
+  /**
+   * Get, and reset, the number of log statements rejected since the last call.
+   *
+   * @return The number of suppressed log statements.
+   */
+  public long drainSuppressed() {
+    // Avoid a write to the shared counter when nothing was suppressed.
+    return suppressed.get() == 0 ? 0 : suppressed.getAndSet(0);
+  }
+
+  /**
+   * Decide whether a log statement is written.
+   *
+   * @return true if the log statement should be written.
+   */
+  protected abstract boolean accept();
+
+  /**
+   * Create a Sampler accepting the first of every {@code n} log statements.
+   *
+   * @param n The sampling interval.
+   * @return The Sampler.
+   */
+  public static Sampler everyNth(int n) {
+    if (n < 1) {
+      throw new IllegalArgumentException("Not a valid interval \"" + n + "\"");
+    }
+    return new EveryNth(n);
+  }
+
+  /**
+   * Create a Sampler accepting log statements at random, with the given probability.
+   *
+   * @param probability The probability, between {@code 0} and {@code 1}, of accepting a log statement.
+   * @return The Sampler.
+   */
+  public static Sampler probability(double probability) {
+    if (!(probability >= 0 && probability <= 1)) {
+      throw new IllegalArgumentException("Not a valid probability \"" + probability + "\"");
+    }
+    return new Probability(probability);
+  }
+
+  /**
+   * Create a Sampler accepting log statements at a steady rate, allowing bursts.
+   *
+   * @param permitsPerSecond The sustained number of log statements accepted per second.
+   * @param burst The number of log statements that can be accepted at once after a quiet period.
+   * @return The Sampler.
+   */
+  public static Sampler tokenBucket(double permitsPerSecond, int burst) {
+    if (!(permitsPerSecond > 0) || burst < 1) {
+      throw new IllegalArgumentException("Not a valid rate \"" + permitsPerSecond + "/s, burst " + burst + "\"");
+    }
+    return new TokenBucket(permitsPerSecond, burst);
+  }
+
+  /**
+   * Accepts the first of every N log statements.
+   */
+  private static final class EveryNth extends Sampler {
+    private final int n;
+    private final AtomicLong count = new AtomicLong();
+
+    EveryNth(int n) {
+      this.n = n;
+    }
+
+    @Override
+    protected boolean accept() {
+      return count.getAndIncrement() % n == 0;
+    }
+  }
+
+  /**
+   * Accepts log statements at random.
+   */
+  private static final class Probability extends Sampler {
+    private final double probability;
+
+    Probability(double probability) {
+      this.probability = probability;
+    }
+
+    @Override
+    protected boolean accept() {
+      return ThreadLocalRandom.current().nextDouble() < probability;
+    }
+  }
+
+  /**
+   * A token bucket, implemented as the generic cell rate algorithm: a single "theoretical arrival
+   * time" is advanced by one interval for every accepted log statement, and a log statement is
+   * rejected when that time is more than the burst ahead of now.
+   */
+  private static final class TokenBucket extends Sampler {
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double permitsPerSecond, int burst) {
+      this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+      this.toleranceNanos = intervalNanos * burst;
+      this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    @Override
+    protected boolean accept() {
+      final long now = System.nanoTime();
+      for (;;) {
+        final long current = theoreticalArrival.get();
+        final long next = Math.max(current - now, 0) + intervalNanos;
+        if (next > toleranceNanos) {
+          return false;
+        }
+        if (theoreticalArrival.compareAndSet(current, now + next)) {
+          return true;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Single daemon Thread used for the periodic house keeping of the Logging API,
+ * E.g. re-reading the {@link Configuration}.
+ * 
+ * <p>
+ * The Thread is only started when a task is first scheduled.
+ * </p>
+ */
+class Scheduler {
+  
+  private Scheduler() {
+  }
+  
+  private static class ExecutorHolder {
+    static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+      final Thread thread = new Thread(r, "mp-logging-scheduler");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+  
+  /**
+   * Get the shared executor.
+   * 
+   * @return The executor.
+   */
+  static ScheduledExecutorService get() {
+    return ExecutorHolder.EXECUTOR;
+  }
+}
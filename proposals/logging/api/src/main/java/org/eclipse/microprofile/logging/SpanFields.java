@@ -0,0 +1,36 @@
+package org.eclipse.microprofile.logging;
+
+import io.opentracing.log.Fields;
+import java.util.Map;
+
+/**
+ * The compact, immutable field map handed to {@link io.opentracing.Span#log(long, java.util.Map)}.
+ * 
+ * <p>
+ * Span log data has at most four fixed keys, so the fields are held in an {@link ArrayMap}.
+ * </p>
+ */
+final class SpanFields extends ArrayMap<Object> {
+  
+  private static final String[] MESSAGE_KEYS = {Fields.MESSAGE};
+  
+  private static final String[] ERROR_KEYS = {Fields.EVENT, Fields.ERROR_KIND, Fields.ERROR_OBJECT, Fields.MESSAGE};
+  
+  private SpanFields(String[] keys, Object[] values) {
+    super(keys, values);
+  }
+  
+  /**
+   * Convert the {@link LogEvent} data into Span log data.
+   * 
+   * @param event The event to convert.
+   * @return The Span log data.
+   */
+  static Map<String, Object> of(LogEvent event) {
+    final Throwable thrown = event.throwable;
+    if (thrown != null) {
+      return new SpanFields(ERROR_KEYS, new Object[] {"error", "Exception", thrown, thrown.getMessage()});
+    }
+    return new SpanFields(MESSAGE_KEYS, new Object[] {event.getMessage()});
+  }
+}
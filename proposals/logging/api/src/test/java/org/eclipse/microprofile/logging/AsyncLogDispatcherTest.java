@@ -0,0 +1,145 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test writing LogEvents on the dispatcher's consumer Thread.
+ */
+public class AsyncLogDispatcherTest {
+
+  /**
+   * Test that all dispatched events are written, in order.
+   */
+  @Test
+  public void testEventsAreWrittenInOrder() throws InterruptedException {
+    try (AsyncLogDispatcher dispatcher = createDispatcher(16, OverflowPolicy.BLOCK)) {
+      final RecordingLogger log = new RecordingLogger(dispatcher, new CountDownLatch(0));
+      
+      for (int i = 0; i < 100; i++) {
+        final int count = i;
+        log.info(e -> "Message " + count);
+      }
+      dispatcher.flush();
+      
+      assertEquals(100, log.messages.size());
+      for (int i = 0; i < 100; i++) {
+        assertEquals("Message " + i, log.messages.get(i));
+      }
+      assertEquals(0, dispatcher.getQueueDepth());
+      assertEquals(0, dispatcher.getDroppedCount());
+    }
+  }
+  
+  /**
+   * Test that low level events are dropped, and counted, when the buffer is full.
+   */
+  @Test
+  public void testDropPolicy() throws InterruptedException {
+    final int events = 20;
+    final CountDownLatch release = new CountDownLatch(1);
+    try (AsyncLogDispatcher dispatcher = createDispatcher(4, OverflowPolicy.DROP)) {
+      final RecordingLogger log = new RecordingLogger(dispatcher, release);
+      
+      for (int i = 0; i < events; i++) {
+        log.debug(e -> "Debug message");
+      }
+      
+      // The consumer holds at most one event, the buffer the rest.
+      assertTrue(dispatcher.getDroppedCount() >= events - dispatcher.getCapacity() - 1, 
+                 "Dropped [" + dispatcher.getDroppedCount() + "]");
+      assertTrue(dispatcher.getQueueDepth() <= dispatcher.getCapacity());
+      
+      release.countDown();
+      dispatcher.flush();
+      assertEquals(events, log.messages.size() + dispatcher.getDroppedCount());
+    }
+  }
+  
+  /**
+   * Test that closing writes the queued events, stops the consumer Thread, and that
+   * later events are written on the logging Thread.
+   */
+  @Test
+  public void testCloseDrainsAndStops() throws InterruptedException {
+    final CountDownLatch release = new CountDownLatch(1);
+    final AsyncLogDispatcher dispatcher = createDispatcher(16, OverflowPolicy.BLOCK);
+    final RecordingLogger log = new RecordingLogger(dispatcher, release);
+    
+    for (int i = 0; i < 10; i++) {
+      log.info(e -> "Queued");
+    }
+    release.countDown();
+    dispatcher.close();
+    
+    assertEquals(10, log.messages.size());
+    assertEquals(0, dispatcher.getQueueDepth());
+    
+    log.info(e -> "After close");
+    assertEquals("After close", log.messages.get(10));
+  }
+  
+  /**
+   * Test that events the Logging Framework fails to write are counted.
+   */
+  @Test
+  public void testFailuresAreCounted() {
+    try (AsyncLogDispatcher dispatcher = createDispatcher(16, OverflowPolicy.BLOCK)) {
+      final RecordingLogger log = new RecordingLogger(dispatcher, new CountDownLatch(0));
+      
+      log.info(e -> "fail");
+      log.info(e -> "fail");
+      log.info(e -> "Written");
+      dispatcher.flush();
+      
+      assertEquals(2, dispatcher.getFailedCount());
+      assertEquals(1, log.messages.size());
+    }
+  }
+  
+  private static AsyncLogDispatcher createDispatcher(int capacity, OverflowPolicy policy) {
+    return new AsyncLogDispatcher(capacity, 4, policy, Level.WARN, 10, r -> {
+      final Thread thread = new Thread(r, "test-dispatcher");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+  
+  /**
+   * Logger that records the messages it writes, once released.
+   */
+  private static class RecordingLogger extends AbstractLogger<LogEvent> {
+    
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    
+    private final CountDownLatch release;
+    
+    RecordingLogger(AsyncLogDispatcher dispatcher, CountDownLatch release) {
+      super("async", new LogEventSupplier(), dispatcher);
+      this.release = release;
+    }
+
+    @Override
+    public void writeLog(Level lvl, LogEvent event) {
+      try {
+        release.await();
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+      if ("fail".equals(event.message)) {
+        throw new IllegalStateException("the appender is broken");
+      }
+      messages.add(event.message);
+    }
+
+    @Override
+    public boolean isLoggable(Level lvl) {
+      return true;
+    }
+  }
+}
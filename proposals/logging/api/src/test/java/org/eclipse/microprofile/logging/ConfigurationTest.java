@@ -0,0 +1,52 @@
+package org.eclipse.microprofile.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the caching of the configuration read on every log statement.
+ */
+public class ConfigurationTest {
+  
+  private static final String KEY = Configuration.SPAN_IMPLICIT_LEVEL.getKey();
+  
+  @AfterEach
+  public void afterEach() {
+    System.clearProperty(KEY);
+    Configuration.refresh();
+  }
+
+  /**
+   * Test that the Snapshot only changes when it is refreshed.
+   */
+  @Test
+  public void testSnapshotChangesOnRefresh() {
+    System.setProperty(KEY, Level.WARN.getName());
+    Configuration.refresh();
+    final Configuration.Snapshot before = Configuration.current();
+    
+    System.setProperty(KEY, Level.DEBUG.getName());
+    assertSame(before, Configuration.current());
+    assertFalse(Configuration.current().isSpanImplicit(Level.INFO));
+    
+    Configuration.refresh();
+    assertEquals(Level.DEBUG, Configuration.current().getSpanImplicitLevel());
+    assertTrue(Configuration.current().isSpanImplicit(Level.INFO));
+  }
+  
+  /**
+   * Test that an invalid value falls back to the default.
+   */
+  @Test
+  public void testInvalidValueUsesDefault() {
+    System.setProperty(KEY, "NOT_A_LEVEL");
+    Configuration.refresh();
+    
+    assertEquals(Configuration.SPAN_IMPLICIT_LEVEL.getDefault(), Configuration.current().getSpanImplicitLevel());
+  }
+}
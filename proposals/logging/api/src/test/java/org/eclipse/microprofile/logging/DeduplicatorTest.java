@@ -0,0 +1,144 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the suppression of repeated log statements.
+ */
+public class DeduplicatorTest {
+  
+  /** The log statement of the events passed to the Deduplicator directly */
+  private static final LogFunction<LogEvent> STATEMENT = e -> null;
+  
+  @BeforeEach
+  public void beforeEach() {
+    Utils.setLoggerLevel(Level.DEBUG);
+    System.setProperty(Configuration.DEDUP.getKey(), "true");
+    // Summaries are triggered by the tests.
+    System.setProperty(Configuration.DEDUP_WINDOW.getKey(), Long.toString(TimeUnit.HOURS.toMillis(1)));
+    Configuration.refresh();
+  }
+  
+  @AfterEach
+  public void afterEach() {
+    System.clearProperty(Configuration.DEDUP.getKey());
+    System.clearProperty(Configuration.DEDUP_WINDOW.getKey());
+    Configuration.refresh();
+  }
+
+  /**
+   * Test that repeats are summarized, and that a statement that stopped repeating is written again.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testRepeatsSummarized(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final Exception failure = new Exception("Connection refused");
+    
+    for (int i = 0; i < 5; i++) {
+      log.error(e -> {
+        e.throwable = failure;
+        return "Downstream failed";
+      });
+    }
+    log.error(e -> "Something else");
+    
+    Deduplicator.getInstance().summarize();
+    
+    final List<LogEvent> events = log.getEvents();
+    assertEquals(3, events.size());
+    assertNull(events.get(0).suppressed);
+    assertEquals("Something else", events.get(1).message);
+    assertEquals("Downstream failed", events.get(2).message);
+    assertEquals(Long.valueOf(4), events.get(2).suppressed);
+    
+    // No repeats in this window, so the statement is forgotten.
+    Deduplicator.getInstance().summarize();
+    log.error(e -> {
+      e.throwable = failure;
+      return "Downstream failed";
+    });
+    assertEquals(4, events.size());
+    assertNull(events.get(3).suppressed);
+  }
+  
+  /**
+   * Test that statements are no longer deduplicated once the capacity is reached.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testCapacity(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final Deduplicator deduplicator = new Deduplicator(1);
+    
+    final LogEvent first = new LogEvent();
+    first.message = "First";
+    final LogEvent second = new LogEvent();
+    second.message = "Second";
+    
+    assertFalse(deduplicator.isDuplicate(log, Level.WARN, STATEMENT, first));
+    assertFalse(deduplicator.isDuplicate(log, Level.WARN, STATEMENT, second));
+    assertFalse(deduplicator.isDuplicate(log, Level.WARN, STATEMENT, second));
+    assertEquals(1, deduplicator.getTrackedCount());
+  }
+  
+  /**
+   * Test that a fingerprint retired by a summary is not counted, but tracked again by the next event.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testRetiredFingerprintIsNew(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final Deduplicator deduplicator = new Deduplicator(8);
+    final LogEvent event = new LogEvent();
+    event.message = "Downstream failed";
+    
+    assertFalse(deduplicator.isDuplicate(log, Level.WARN, STATEMENT, event));
+    deduplicator.summarize();
+    assertEquals(0, deduplicator.getTrackedCount());
+    assertFalse(deduplicator.isDuplicate(log, Level.WARN, STATEMENT, event));
+    assertTrue(deduplicator.isDuplicate(log, Level.WARN, STATEMENT, event));
+    deduplicator.summarize();
+    
+    Utils.assertLogCount(log, 1);
+    assertEquals(Long.valueOf(1), log.getEvents().get(0).suppressed);
+  }
+  
+  /**
+   * Test that the same message logged by another log statement is not a repeat.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testCallSiteDistinguishesRepeats(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final Deduplicator deduplicator = new Deduplicator(8);
+    final LogFunction<LogEvent> elsewhere = e -> "Downstream failed";
+    
+    final LogEvent first = new LogEvent();
+    first.message = "Downstream failed";
+    first.throwable = new IllegalStateException("here");
+    final LogEvent repeat = new LogEvent();
+    repeat.message = "Downstream failed";
+    repeat.throwable = new IllegalStateException("here again");
+    
+    assertFalse(deduplicator.isDuplicate(log, Level.ERROR, STATEMENT, first));
+    assertTrue(deduplicator.isDuplicate(log, Level.ERROR, STATEMENT, repeat));
+    assertFalse(deduplicator.isDuplicate(log, Level.ERROR, elsewhere, repeat));
+    assertTrue(deduplicator.isDuplicate(log, Level.ERROR, elsewhere, repeat));
+    assertEquals(2, deduplicator.getTrackedCount());
+  }
+}
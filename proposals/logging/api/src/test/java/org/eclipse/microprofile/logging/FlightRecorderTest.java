@@ -0,0 +1,122 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test the recording of log statements that are not loggable.
+ */
+public class FlightRecorderTest {
+  
+  @BeforeEach
+  public void beforeEach() {
+    Utils.setLoggerLevel(Level.INFO);
+    System.setProperty(Configuration.RECORDER_LEVEL.getKey(), Level.DEBUG.getName());
+    Configuration.refresh();
+    FlightRecorder.clear();
+  }
+  
+  @AfterEach
+  public void afterEach() {
+    System.clearProperty(Configuration.RECORDER_LEVEL.getKey());
+    Configuration.refresh();
+    FlightRecorder.clear();
+  }
+
+  /**
+   * Test that recorded statements are only evaluated, and written in order, when an error is logged.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testWrittenBeforeError(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final LazyEval lazy = mock(LazyEval.class);
+    when(lazy.evaluate()).thenReturn("lazy");
+    
+    log.trace(e -> "Not recorded");
+    log.debug(e -> "First " + lazy.evaluate());
+    log.debug(e -> "Second");
+    log.info(e -> "Info");
+    verify(lazy, never()).evaluate();
+    Utils.assertLogCount(log, 1);
+    
+    log.error(e -> "Error");
+    
+    final List<LogEvent> events = log.getEvents();
+    assertEquals(4, events.size());
+    assertEquals("Info", events.get(0).message);
+    assertEquals("First lazy", events.get(1).message);
+    assertEquals("Second", events.get(2).message);
+    assertEquals("Error", events.get(3).message);
+    
+    // The recorder has been emptied.
+    log.error(e -> "Another Error");
+    Utils.assertLogCount(log, 5);
+  }
+  
+  /**
+   * Test that recorded statements keep the time they were recorded, and are held with the other events of a request.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testHeldByRequestBuffer(TestInfo info) {
+    System.setProperty(Configuration.REQUEST_BUFFER.getKey(), "true");
+    Configuration.refresh();
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final RequestLogBuffer buffer = RequestLogBuffer.begin();
+    try {
+      final long before = System.currentTimeMillis();
+      log.info(e -> "Info");
+      log.debug(e -> "Debug");
+      log.error(e -> "Error");
+      Utils.assertEmpty(log);
+      assertEquals(3, buffer.size());
+      
+      buffer.end(false);
+      final List<LogEvent> events = log.getEvents();
+      assertEquals(3, events.size());
+      assertEquals("Info", events.get(0).message);
+      assertEquals("Debug", events.get(1).message);
+      assertEquals("Error", events.get(2).message);
+      assertTrue(events.get(1).timestamp >= before, "Recorded at " + events.get(1).timestamp);
+      assertTrue(events.get(1).timestamp <= events.get(2).timestamp);
+    } finally {
+      buffer.end(false);
+      System.clearProperty(Configuration.REQUEST_BUFFER.getKey());
+      Configuration.refresh();
+    }
+  }
+  
+  /**
+   * Test that only the most recent statements are kept.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testOldestDiscarded(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final int size = Configuration.RECORDER_SIZE.getDefault();
+    for (int i = 0; i < size + 3; i++) {
+      final int statement = i;
+      log.debug(e -> "Debug " + statement);
+    }
+    log.error(e -> "Error");
+    
+    final List<LogEvent> events = log.getEvents();
+    assertEquals(size + 1, events.size());
+    assertEquals("Debug 3", events.get(0).message);
+    assertEquals("Debug " + (size + 2), events.get(size - 1).message);
+  }
+}
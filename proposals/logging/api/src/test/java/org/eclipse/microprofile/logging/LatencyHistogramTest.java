@@ -0,0 +1,58 @@
+package org.eclipse.microprofile.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the buckets and percentiles of the LatencyHistogram.
+ */
+public class LatencyHistogramTest {
+
+  /**
+   * Test that every value falls in a bucket whose largest value is within 1/8 of it.
+   */
+  @Test
+  public void testBuckets() {
+    assertEquals(0, LatencyHistogram.indexOf(0));
+    assertEquals(15, LatencyHistogram.indexOf(15));
+    assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.indexOf(Long.MAX_VALUE));
+    assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValueAt(LatencyHistogram.BUCKETS - 1));
+    
+    for (long value : new long[] {1, 16, 17, 31, 32, 1000, 123_456_789, 1L << 40, (1L << 40) + 1}) {
+      final int index = LatencyHistogram.indexOf(value);
+      final long highest = LatencyHistogram.highestValueAt(index);
+      assertTrue(highest >= value, "Bucket of " + value);
+      assertTrue(highest - value <= value / 8, "Resolution of " + value);
+      assertEquals(index, LatencyHistogram.indexOf(highest));
+      assertEquals(index + 1, LatencyHistogram.indexOf(highest + 1));
+    }
+  }
+
+  /**
+   * Test the count, mean, maximum and percentiles of recorded values.
+   */
+  @Test
+  public void testPercentiles() {
+    final LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.getValueAtPercentile(99));
+    
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+    assertEquals(1000, histogram.getCount());
+    assertEquals(500_500, histogram.getMean(), 0.001);
+    assertEquals(1_000_000, histogram.getMax());
+    
+    final long median = histogram.getValueAtPercentile(50);
+    assertTrue(median >= 500_000 && median <= 500_000 * 9 / 8, "Median " + median);
+    final long p99 = histogram.getValueAtPercentile(99);
+    assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 " + p99);
+    assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+    
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+  }
+}
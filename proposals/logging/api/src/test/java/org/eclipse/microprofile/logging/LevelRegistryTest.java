@@ -0,0 +1,63 @@
+package org.eclipse.microprofile.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the hierarchical configuration of Logger Levels.
+ */
+public class LevelRegistryTest {
+  
+  private static final String ACME = Configuration.LEVEL_PREFIX + ".com.acme";
+  private static final String ACME_WEB = Configuration.LEVEL_PREFIX + ".com.acme.web";
+  
+  @BeforeEach
+  public void beforeEach() {
+    Utils.setLoggerLevel(Level.ALL);
+  }
+  
+  @AfterEach
+  public void afterEach() {
+    System.clearProperty(ACME);
+    System.clearProperty(ACME_WEB);
+    Configuration.refresh();
+  }
+
+  /**
+   * Test that the longest configured prefix of a Logger's name is used.
+   */
+  @Test
+  public void testLongestPrefixWins() {
+    System.setProperty(ACME, "WARN");
+    System.setProperty(ACME_WEB, "DEBUG");
+    Configuration.refresh();
+    
+    assertEquals(Level.WARN, LevelRegistry.getLevel("com.acme.Service"));
+    assertEquals(Level.DEBUG, LevelRegistry.getLevel("com.acme.web.Resource"));
+    assertEquals(Level.WARN, LevelRegistry.getLevel("com.acme.webapp.Resource"));
+    assertEquals(Level.ALL, LevelRegistry.getLevel("org.other.Thing"));
+  }
+  
+  /**
+   * Test that a refresh is pushed to existing Loggers.
+   */
+  @Test
+  public void testRefreshUpdatesExistingLoggers() {
+    final MockLogger<LogEvent> logger = new MockLogger<>("com.acme.Service", new LogEventSupplier());
+    assertTrue(logger.isLoggable(Level.DEBUG));
+    
+    System.setProperty(ACME, "WARN");
+    Configuration.refresh();
+    assertFalse(logger.isLoggable(Level.INFO));
+    assertTrue(logger.isLoggable(Level.WARN));
+    
+    System.clearProperty(ACME);
+    Configuration.refresh();
+    assertTrue(logger.isLoggable(Level.DEBUG));
+  }
+}
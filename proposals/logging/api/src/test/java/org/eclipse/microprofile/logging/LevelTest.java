@@ -0,0 +1,47 @@
+package org.eclipse.microprofile.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test the lookup of Levels by name and integer value.
+ */
+public class LevelTest {
+
+  /**
+   * Test that predefined Levels are found by name and by integer value.
+   */
+  @Test
+  public void testParsePredefined() {
+    assertSame(Level.DEBUG, Level.parse("DEBUG"));
+    assertSame(Level.DEBUG, Level.parse("500"));
+    assertSame(Level.OFF, Level.parse(String.valueOf(Integer.MAX_VALUE)));
+    assertSame(Level.ALL, Level.parse(String.valueOf(Integer.MIN_VALUE)));
+    
+    assertThrows(IllegalArgumentException.class, () -> Level.parse("NOT_A_LEVEL"));
+    assertThrows(IllegalArgumentException.class, () -> Level.parse("-"));
+    assertThrows(IllegalArgumentException.class, () -> Level.parse("99999999999"));
+    assertThrows(IllegalArgumentException.class, () -> Level.parse(null));
+  }
+  
+  /**
+   * Test that custom Levels are interned, and that the number interned is bounded.
+   */
+  @Test
+  public void testCustomLevelsAreInterned() {
+    final Level custom = Level.parse("650");
+    assertEquals("650", custom.getName());
+    assertSame(custom, Level.parse("650"));
+    assertSame(custom, Level.valueOf(650));
+    
+    for (int i = 0; i < Level.MAX_CUSTOM_LEVELS * 2; i++) {
+      final Level level = Level.valueOf(10_000 + i);
+      assertEquals(10_000 + i, level.intValue());
+      assertEquals(level, Level.valueOf(10_000 + i));
+    }
+    assertSame(custom, Level.parse("650"));
+  }
+}
@@ -0,0 +1,83 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the scoping of LogContexts and their copying into events.
+ */
+public class LogContextTest {
+
+  /**
+   * Test that contexts are immutable, and that closing a scope restores the previous context.
+   */
+  @Test
+  public void testScopes() {
+    assertSame(LogContext.EMPTY, LogContext.current());
+    
+    try (LogContext.Scope outer = LogContext.bind("requestId", "r1")) {
+      final LogContext request = LogContext.current();
+      try (LogContext.Scope inner = LogContext.bind("user", "alice")) {
+        assertEquals("{requestId=r1, user=alice}", LogContext.current().toString());
+        assertEquals("{requestId=r1}", request.toString());
+        
+        LogContext.current().with("requestId", "r2").with("user", null).run(
+            () -> assertEquals("{requestId=r2}", LogContext.current().toString()));
+        assertEquals("alice", LogContext.current().get("user"));
+      }
+      assertSame(request, LogContext.current());
+    }
+    assertSame(LogContext.EMPTY, LogContext.current());
+  }
+  
+  /**
+   * Test that the current context is copied into events, and encoded with them.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testEventContext(TestInfo info) {
+    Utils.setLoggerLevel(Level.DEBUG);
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    
+    log.info(e -> "No context");
+    try (LogContext.Scope scope = LogContext.bind("requestId", "r1")) {
+      log.info(e -> {
+        assertEquals("r1", e.context.get("requestId"));
+        return "With context";
+      });
+    }
+    
+    assertNull(log.getEvents().get(0).context);
+    final LogEvent event = log.getEvents().get(1);
+    // The event keeps the snapshot of its log statement.
+    assertEquals("r1", event.context.get("requestId"));
+    assertEquals("{\"context\":{\"requestId\":\"r1\"},\"message\":\"With context\"}", log.getJsonString(event));
+  }
+  
+  /**
+   * Test that a wrapped task runs with the context on another Thread, which otherwise has none.
+   *
+   * @throws Exception If the task fails.
+   */
+  @Test
+  public void testWrap() throws Exception {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final LogContext context = LogContext.EMPTY.with("tenant", "acme");
+      final Future<?> wrapped = executor.submit(context.wrap(() -> assertEquals("acme", LogContext.current().get("tenant"))));
+      wrapped.get();
+      assertTrue(executor.submit(() -> LogContext.current().isEmpty()).get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
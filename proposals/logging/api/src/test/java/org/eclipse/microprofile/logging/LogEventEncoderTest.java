@@ -0,0 +1,124 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.annotation.JsonbProperty;
+import javax.json.bind.annotation.JsonbPropertyOrder;
+import javax.json.bind.annotation.JsonbTransient;
+import org.eclipse.microprofile.logging.specialized.SpecializedLogEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test that the JSON written by the encoder matches that of JSON-B.
+ */
+public class LogEventEncoderTest {
+  
+  private final Jsonb jsonb = JsonbBuilder.create();
+  
+  private final LogEventEncoder encoder = new LogEventEncoder(jsonb);
+
+  /**
+   * Test the base event, including escaped characters and the transient Throwable.
+   */
+  @Test
+  public void testLogEvent() {
+    final LogEvent event = new LogEvent();
+    event.message = "Quote \" backslash \\ tab \t newline \n control \u0001 unicode é";
+    event.throwable = new Exception("Not written");
+    assertSameAsJsonb(event);
+    
+    event.spanId = "span";
+    assertSameAsJsonb(event);
+  }
+  
+  /**
+   * Test a sub-class with renamed and nested properties.
+   */
+  @Test
+  public void testSpecializedLogEvent() {
+    final SpecializedLogEvent event = new SpecializedLogEvent();
+    event.message = "Specialized";
+    event.version = 2;
+    assertSameAsJsonb(event);
+    
+    event.name = "Special";
+    event.extData = new ExtendedData();
+    event.extData.subName = "sub";
+    assertSameAsJsonb(event);
+  }
+  
+  /**
+   * Test a sub-class using getters and the types the encoder writes itself.
+   */
+  @Test
+  public void testGetterLogEvent() {
+    final GetterLogEvent event = new GetterLogEvent();
+    event.message = "Getters";
+    assertSameAsJsonb(event);
+  }
+  
+  /**
+   * Test a sub-class using JSON-B annotations the encoder does not handle.
+   */
+  @Test
+  public void testOrderedLogEvent() {
+    final OrderedLogEvent event = new OrderedLogEvent();
+    event.message = "Ordered";
+    event.zulu = "z";
+    assertSameAsJsonb(event);
+  }
+  
+  private void assertSameAsJsonb(LogEvent event) {
+    assertEquals(jsonb.toJson(event), encoder.toJson(event));
+  }
+  
+  public static class GetterLogEvent extends LogEvent {
+    
+    private final List<String> tags = Arrays.asList("a", "b");
+    
+    public String getSpanId() {
+      return "fromGetter";
+    }
+    
+    @JsonbProperty("count")
+    public long getCounter() {
+      return 42L;
+    }
+    
+    public boolean isEnabled() {
+      return true;
+    }
+    
+    public char getGrade() {
+      return 'A';
+    }
+    
+    public TimeUnit getUnit() {
+      return TimeUnit.SECONDS;
+    }
+    
+    public double getRatio() {
+      return 0.5;
+    }
+    
+    public List<String> getTags() {
+      return tags;
+    }
+    
+    @JsonbTransient
+    public String getSecret() {
+      return "secret";
+    }
+  }
+  
+  @JsonbPropertyOrder({"zulu", "message"})
+  public static class OrderedLogEvent extends LogEvent {
+    
+    public String zulu;
+  }
+}
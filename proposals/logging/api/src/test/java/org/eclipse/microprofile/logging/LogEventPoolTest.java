@@ -0,0 +1,73 @@
+package org.eclipse.microprofile.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test the recycling of LogEvents.
+ */
+public class LogEventPoolTest {
+
+  /**
+   * Test that a released event is handed out again, and that it has been reset.
+   */
+  @Test
+  public void testReleasedEventIsReused() {
+    final LogEventPool<LogEvent> pool = new LogEventPool<>(new LogEventSupplier(), 8);
+    
+    final LogEvent event = pool.get();
+    event.message = "message";
+    event.spanId = "span";
+    event.throwable = new Exception();
+    pool.release(event);
+    
+    final LogEvent reused = pool.get();
+    assertSame(event, reused);
+    assertNull(reused.message);
+    assertNull(reused.spanId);
+    assertNull(reused.throwable);
+  }
+  
+  /**
+   * Test that events in use are never handed out twice.
+   */
+  @Test
+  public void testEventsInUseAreNotShared() {
+    final LogEventPool<LogEvent> pool = new LogEventPool<>(new LogEventSupplier(), 8);
+    
+    final LogEvent first = pool.get();
+    final LogEvent second = pool.get();
+    assertNotSame(first, second);
+    
+    pool.release(first);
+    pool.release(second);
+    
+    final LogEvent third = pool.get();
+    final LogEvent fourth = pool.get();
+    assertNotSame(third, fourth);
+  }
+  
+  /**
+   * Test that an event is recycled even if the Logging Framework fails to write it.
+   */
+  @Test
+  public void testEventIsRecycledWhenWriteFails() {
+    final LogEventPool<LogEvent> pool = new LogEventPool<>(new LogEventSupplier(), 8);
+    final LogEvent[] written = new LogEvent[1];
+    final AbstractLogger<LogEvent> logger = new AbstractLogger<LogEvent>("failing", pool, null) {
+      @Override
+      public void writeLog(Level lvl, LogEvent event) {
+        written[0] = event;
+        throw new IllegalStateException("the appender is broken");
+      }
+    };
+    
+    assertThrows(IllegalStateException.class, () -> logger.error(e -> "message"));
+    
+    assertSame(written[0], pool.get());
+  }
+}
@@ -0,0 +1,50 @@
+package org.eclipse.microprofile.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test the deferred formatting of message templates.
+ */
+public class LogEventTest {
+
+  /**
+   * Test the replacement of placeholders.
+   */
+  @Test
+  public void testFormat() {
+    assertEquals("No placeholders", LogEvent.format("No placeholders", new Object[] {"unused"}));
+    assertEquals("a 1 b x", LogEvent.format("a {} b {}", new Object[] {1, "x"}));
+    assertEquals("a null b {}", LogEvent.format("a {} b {}", new Object[] {null}));
+    assertEquals("[1, [2, 3]]!", LogEvent.format("{}!", new Object[] {new Object[] {1, new Object[] {2, 3}}}));
+    assertEquals("{}", LogEvent.format("{}", null));
+  }
+  
+  /**
+   * Test that the message is only formatted when it is needed, and that a returned message wins.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testTemplate(TestInfo info) {
+    final LogEvent event = new LogEvent();
+    assertNull(event.template("User {} from {}", "alice", "10.0.0.1"));
+    assertNull(event.message);
+    assertEquals("User alice from 10.0.0.1", event.getMessage());
+    assertEquals("User alice from 10.0.0.1", event.message);
+    
+    Utils.setLoggerLevel(Level.DEBUG);
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    log.info(e -> e.template("Request {} took {}ms", "GET /", 12));
+    log.info(e -> {
+      e.template("Ignored {}", 1);
+      return "Returned";
+    });
+    
+    assertEquals("Request GET / took 12ms", log.getEvents().get(0).getMessage());
+    assertEquals("Returned", log.getEvents().get(1).getMessage());
+  }
+}
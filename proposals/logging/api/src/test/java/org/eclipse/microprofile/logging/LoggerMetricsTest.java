@@ -0,0 +1,138 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test the metrics recorded by Loggers, and their publication.
+ */
+public class LoggerMetricsTest {
+  
+  @BeforeEach
+  public void beforeEach() {
+    Utils.setLoggerLevel(Level.DEBUG);
+    System.setProperty(Configuration.METRICS.getKey(), "true");
+    Configuration.refresh();
+  }
+  
+  @AfterEach
+  public void afterEach() {
+    System.clearProperty(Configuration.METRICS.getKey());
+    Configuration.refresh();
+  }
+
+  /**
+   * Test that events are counted per Level, and their writes timed, for all Loggers of a name.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testCounts(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final MockLogger<LogEvent> other = new MockLogger<>(info.getDisplayName(), () -> new LogEvent());
+    assertSame(log.getMetrics(), other.getMetrics());
+    
+    log.info(e -> "One");
+    log.info(e -> "Two");
+    other.error(e -> "Three");
+    log.trace(e -> "Not loggable");
+    log.log(Level.parse("850"), e -> "Custom");
+    
+    final LoggerMetrics metrics = LoggingMetrics.get(info.getDisplayName());
+    assertSame(log.getMetrics(), metrics);
+    assertEquals(2, metrics.getCount(Level.INFO));
+    assertEquals(1, metrics.getCount(Level.ERROR));
+    assertEquals(0, metrics.getCount(Level.TRACE));
+    assertEquals(1, metrics.getCount(Level.parse("850")));
+    assertEquals("[INFO, 850, ERROR]", metrics.getCounts().keySet().toString());
+    assertEquals(0, metrics.getSpanCount());
+    assertEquals(4, metrics.getWriteLatency().getCount());
+  }
+  
+  /**
+   * Test that no metrics are recorded unless enabled.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testDisabled(TestInfo info) {
+    System.clearProperty(Configuration.METRICS.getKey());
+    Configuration.refresh();
+    
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    log.info(e -> "Not counted");
+    assertNull(log.getMetrics());
+    assertNull(LoggingMetrics.get(info.getDisplayName()));
+  }
+  
+  /**
+   * Test that reporters receive existing metrics when added, and new metrics when created.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testReporter(TestInfo info) {
+    final MockLogger<LogEvent> before = new MockLogger<>(info.getDisplayName() + ".before", new LogEventSupplier());
+    final List<String> reported = new ArrayList<>();
+    final MetricsReporter reporter = metrics -> reported.add(metrics.getName());
+    LoggingMetrics.addReporter(reporter);
+    try {
+      final MockLogger<LogEvent> after = new MockLogger<>(info.getDisplayName() + ".after", new LogEventSupplier());
+      assertTrue(reported.contains(before.getName()));
+      assertTrue(reported.contains(after.getName()));
+      assertEquals(1, reported.stream().filter(after.getName()::equals).count());
+    } finally {
+      LoggingMetrics.removeReporter(reporter);
+    }
+  }
+  
+  /**
+   * Test that the MicroProfile Metrics adapter registers live Gauges tagged with the Logger name.
+   *
+   * @param info Test information.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testMetricRegistryReporter(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final MetricRegistry registry = mock(MetricRegistry.class);
+    new MetricRegistryReporter(registry).register(log.getMetrics());
+    
+    final ArgumentCaptor<Metadata> metadata = ArgumentCaptor.forClass(Metadata.class);
+    final ArgumentCaptor<Gauge> gauges = ArgumentCaptor.forClass(Gauge.class);
+    final ArgumentCaptor<Tag> tags = ArgumentCaptor.forClass(Tag.class);
+    verify(registry, atLeastOnce()).register(metadata.capture(), gauges.capture(), tags.capture());
+    
+    log.warn(e -> "Counted");
+    
+    final List<Metadata> names = metadata.getAllValues();
+    for (int i = 0; i < names.size(); i++) {
+      if (names.get(i).getName().equals("mp.logging.events")) {
+        final Gauge<Long> gauge = gauges.getAllValues().get(i);
+        // The level tag of the gauge; tags are captured in order, two for each event gauge.
+        final Tag level = tags.getAllValues().get(i * 2 + 1);
+        assertEquals(level.getTagValue().equals("WARN") ? 1L : 0L, (long) gauge.getValue());
+      }
+    }
+    assertTrue(tags.getAllValues().stream()
+        .anyMatch(t -> t.getTagName().equals("logger") && t.getTagValue().equals(info.getDisplayName())));
+  }
+}
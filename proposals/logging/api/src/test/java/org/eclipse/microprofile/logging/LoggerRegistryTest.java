@@ -1,11 +1,14 @@
 package org.eclipse.microprofile.logging;
 
+import java.util.function.Supplier;
 import org.eclipse.microprofile.logging.specialized.SpecializedLogEvent;
 import org.eclipse.microprofile.logging.specialized.SpecializedLogEventSupplier;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -64,4 +67,37 @@ public class LoggerRegistryTest {
     final Logger originalLogger = LoggerFactory.getLogger();
     assertTrue(logEventLogger == originalLogger);
   }
+  
+  /**
+   * Test that lambda suppliers, which may be a new instance on every call, find the same Logger,
+   * which keeps using the first supplier and ignores the state captured by the others.
+   * 
+   * @param info Test information.
+   */
+  @Test
+  public void testLambdaSupplierFindsSameLogger(TestInfo info) {
+    final LoggerRegistry registry = new LoggerRegistry();
+    final String loggerName = info.getDisplayName();
+    
+    Logger<LogEvent> first = null;
+    for (int i = 0; i < 3; i++) {
+      final int version = i;
+      final Supplier<LogEvent> supplier = () -> {
+        final LogEvent event = new LogEvent();
+        event.message = "v" + version;
+        return event;
+      };
+      final Logger<LogEvent> logger = registry.getLogger(loggerName, supplier, 
+                                                         key -> new MockLogger<>(key.getName(), supplier));
+      if (first == null) {
+        first = logger;
+      }
+      assertSame(first, logger);
+    }
+    assertEquals("v0", ((AbstractLogger<LogEvent>) first).getSupplier().get().message);
+    
+    final Logger<LogEvent> other = registry.getLogger(loggerName, new LogEventSupplier(), 
+                                                      key -> new MockLogger<>(key.getName(), new LogEventSupplier()));
+    assertFalse(first == other);
+  }
 }
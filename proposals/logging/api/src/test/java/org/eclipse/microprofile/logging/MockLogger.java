@@ -25,8 +25,8 @@ public class MockLogger<T extends LogEvent> extends AbstractLogger<T> {
     logEvents.add(event);
     final StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
     int lineNumber = 0;
-    if (stackTrace.length >= 4) {
-      StackTraceElement elem = stackTrace[4];
+    if (stackTrace.length > 5) {
+      StackTraceElement elem = stackTrace[5];
       lineNumber = elem.getLineNumber();
     }
     
@@ -39,7 +39,7 @@ public class MockLogger<T extends LogEvent> extends AbstractLogger<T> {
 
   @Override
   public boolean isLoggable(Level lvl) {
-    return lvl.intValue() >= LEVEL.intValue();
+    return super.isLoggable(lvl) && lvl.intValue() >= LEVEL.intValue();
   }
 
   public List<T> getEvents() {
@@ -0,0 +1,211 @@
+package org.eclipse.microprofile.logging;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test the buffering of the events of a request.
+ */
+public class RequestLogBufferTest {
+  
+  @BeforeEach
+  public void beforeEach() {
+    Utils.setLoggerLevel(Level.DEBUG);
+    System.setProperty(Configuration.REQUEST_BUFFER.getKey(), "true");
+    System.setProperty(Configuration.REQUEST_BUFFER_SUCCESS_LEVEL.getKey(), Level.WARN.getName());
+    Configuration.refresh();
+  }
+  
+  @AfterEach
+  public void afterEach() {
+    final RequestLogBuffer buffer = RequestLogBuffer.current();
+    if (buffer != null) {
+      buffer.end(false);
+    }
+    System.clearProperty(Configuration.REQUEST_BUFFER.getKey());
+    System.clearProperty(Configuration.REQUEST_BUFFER_SIZE.getKey());
+    System.clearProperty(Configuration.REQUEST_BUFFER_SUCCESS_LEVEL.getKey());
+    Configuration.refresh();
+  }
+
+  /**
+   * Test that the events of a failed request are all written, in order, when it ends.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testFailedRequest(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final RequestLogBuffer buffer = RequestLogBuffer.begin();
+    assertSame(buffer, RequestLogBuffer.current());
+    
+    log.debug(e -> "Debug");
+    log.info(e -> "Info");
+    log.warn(e -> "Warn");
+    Utils.assertEmpty(log);
+    assertEquals(3, buffer.size());
+    
+    buffer.end(false);
+    assertNull(RequestLogBuffer.current());
+    Utils.assertLogCount(log, 3);
+    assertEquals("Debug", log.getEvents().get(0).message);
+    assertEquals("Info", log.getEvents().get(1).message);
+    assertEquals("Warn", log.getEvents().get(2).message);
+    
+    // Events after the end are written directly.
+    log.info(e -> "After");
+    Utils.assertLogCount(log, 4);
+  }
+  
+  /**
+   * Test that a buffer ended on another Thread is no longer the buffer of the Thread that began it.
+   *
+   * @param info Test information.
+   * @throws InterruptedException If interrupted while waiting for the other Thread.
+   */
+  @Test
+  public void testEndedOnAnotherThread(TestInfo info) throws InterruptedException {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final RequestLogBuffer buffer = RequestLogBuffer.begin();
+    log.info(e -> "Info");
+    
+    final Thread other = new Thread(() -> buffer.end(false));
+    other.start();
+    other.join();
+    
+    assertNull(RequestLogBuffer.current());
+    assertEquals(0, buffer.size());
+    Utils.assertLogCount(log, 1);
+  }
+  
+  /**
+   * Test that a successful request only writes the events at or above the success level.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testSuccessfulRequest(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final RequestLogBuffer buffer = RequestLogBuffer.begin();
+    
+    log.info(e -> "Info");
+    log.warn(e -> "Warn");
+    buffer.end(true);
+    
+    Utils.assertLogCount(log, 1);
+    assertEquals("Warn", log.getEvents().get(0).message);
+    
+    // Ending again writes nothing.
+    buffer.end(false);
+    Utils.assertLogCount(log, 1);
+  }
+  
+  /**
+   * Test that a full buffer writes the events held, and continues buffering.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testFull(TestInfo info) {
+    System.setProperty(Configuration.REQUEST_BUFFER_SIZE.getKey(), "2");
+    Configuration.refresh();
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final RequestLogBuffer buffer = RequestLogBuffer.begin();
+    
+    log.info(e -> "First");
+    log.info(e -> "Second");
+    Utils.assertEmpty(log);
+    log.info(e -> "Third");
+    Utils.assertLogCount(log, 2);
+    assertEquals(1, buffer.size());
+    
+    buffer.end(false);
+    Utils.assertLogCount(log, 3);
+    assertEquals("Third", log.getEvents().get(2).message);
+  }
+  
+  /**
+   * Test that the events of a Logger that fails are counted, and do not prevent the events of other Loggers being written.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testFailedWrite(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final MockLogger<LogEvent> failing = new MockLogger<LogEvent>(info.getDisplayName() + ".failing", new LogEventSupplier()) {
+      @Override
+      public void writeLog(Level lvl, LogEvent event) {
+        throw new IllegalStateException("Failing");
+      }
+    };
+    final long failed = RequestLogBuffer.getFailedCount();
+    final RequestLogBuffer buffer = RequestLogBuffer.begin();
+    
+    log.info(e -> "First");
+    failing.info(e -> "Failing");
+    failing.warn(e -> "Failing");
+    log.info(e -> "Second");
+    buffer.end(false);
+    
+    assertEquals(failed + 2, RequestLogBuffer.getFailedCount());
+    Utils.assertLogCount(log, 2);
+    assertEquals("Second", log.getEvents().get(1).message);
+  }
+  
+  /**
+   * Test that nothing is buffered unless enabled.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testDisabled(TestInfo info) {
+    System.clearProperty(Configuration.REQUEST_BUFFER.getKey());
+    Configuration.refresh();
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    
+    assertNull(RequestLogBuffer.begin());
+    log.info(e -> "Info");
+    Utils.assertLogCount(log, 1);
+  }
+  
+  /**
+   * Test that the JAX-RS filter buffers the events of a request, and ends the buffer with the status of the response.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testFilter(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final RequestLogBufferFilter filter = new RequestLogBufferFilter();
+    final ContainerRequestContext request = mock(ContainerRequestContext.class);
+    final ContainerResponseContext response = mock(ContainerResponseContext.class);
+    when(response.getStatusInfo()).thenReturn(Response.Status.OK);
+    
+    filter.filter(request);
+    final RequestLogBuffer buffer = RequestLogBuffer.current();
+    verify(request).setProperty(eq(RequestLogBufferFilter.BUFFER_PROPERTY), eq(buffer));
+    when(request.getProperty(RequestLogBufferFilter.BUFFER_PROPERTY)).thenReturn(buffer);
+    
+    log.info(e -> "Info");
+    log.error(e -> "Error");
+    Utils.assertEmpty(log);
+    
+    filter.filter(request, response);
+    assertNull(RequestLogBuffer.current());
+    Utils.assertLogCount(log, 1);
+    assertEquals("Error", log.getEvents().get(0).message);
+  }
+}
@@ -0,0 +1,92 @@
+package org.eclipse.microprofile.logging;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the sampling of log statements.
+ */
+public class SamplerTest {
+  
+  @BeforeEach
+  public void beforeEach() {
+    Utils.setLoggerLevel(Level.DEBUG);
+  }
+
+  /**
+   * Test that a call site Sampler limits the statements written, and that the suppressed
+   * statements are reported in the next one written.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testSuppressedCountReported(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    final Sampler sampler = Sampler.everyNth(5);
+    
+    for (int i = 0; i < 10; i++) {
+      log.log(Level.WARN, sampler, e -> "Sampled Message");
+    }
+    // Not loggable, so neither sampled nor suppressed.
+    log.log(Level.TRACE, sampler, e -> "Trace Message");
+    
+    final List<LogEvent> events = log.getEvents();
+    assertEquals(2, events.size());
+    assertNull(events.get(0).suppressed);
+    assertEquals(Long.valueOf(4), events.get(1).suppressed);
+    assertEquals(4, sampler.drainSuppressed());
+  }
+  
+  /**
+   * Test that a Logger wide Sampler applies to the convenience methods.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testLoggerSampler(TestInfo info) {
+    final MockLogger<LogEvent> log = new MockLogger<>(info.getDisplayName(), new LogEventSupplier());
+    log.setSampler(Sampler.probability(0));
+    log.error(e -> "Never Written");
+    Utils.assertEmpty(log);
+    
+    log.setSampler(null);
+    log.error(e -> "Written");
+    Utils.assertLogCount(log, 1);
+  }
+  
+  /**
+   * Test that a token bucket allows a burst, then rejects.
+   */
+  @Test
+  public void testTokenBucketBurst() {
+    final Sampler sampler = Sampler.tokenBucket(0.001, 3);
+    assertTrue(sampler.sample());
+    assertTrue(sampler.sample());
+    assertTrue(sampler.sample());
+    assertFalse(sampler.sample());
+    assertEquals(1, sampler.drainSuppressed());
+  }
+  
+  /**
+   * Test that each key has its own Sampler, up to the bound.
+   */
+  @Test
+  public void testKeyedSampler() {
+    final KeyedSampler<String> samplers = new KeyedSampler<>(() -> Sampler.tokenBucket(0.001, 1), 2);
+    assertTrue(samplers.forKey("a").sample());
+    assertFalse(samplers.forKey("a").sample());
+    assertTrue(samplers.forKey("b").sample());
+    
+    assertSame(samplers.forKey("c"), samplers.forKey("d"));
+    assertNotSame(samplers.forKey("a"), samplers.forKey("c"));
+  }
+}
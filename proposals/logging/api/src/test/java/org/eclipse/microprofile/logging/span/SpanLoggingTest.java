@@ -3,12 +3,17 @@ package org.eclipse.microprofile.logging.span;
 import io.opentracing.Tracer;
 import io.opentracing.mock.MockSpan;
 import io.opentracing.mock.MockTracer;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.enterprise.inject.spi.Bean;
+import org.eclipse.microprofile.logging.AsyncLogDispatcher;
 import org.eclipse.microprofile.logging.Configuration;
 import org.eclipse.microprofile.logging.LazyEval;
 import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.eclipse.microprofile.logging.LogEventSupplier;
 import org.eclipse.microprofile.logging.Logger;
 import org.eclipse.microprofile.logging.LoggerFactory;
+import org.eclipse.microprofile.logging.MockLogger;
 import org.eclipse.microprofile.logging.MockLoggerFactory;
 import org.eclipse.microprofile.logging.Utils;
 import org.jboss.weld.junit.MockBean;
@@ -22,6 +27,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -205,6 +211,63 @@ public class SpanLoggingTest {
     Utils.assertLogCount(log, 1);
   }
 
+  /**
+   * Test that Span log data is written to the Span by the {@link AsyncLogDispatcher} when asynchronous
+   * Span logging is enabled.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testSpanImplicitAsync(TestInfo info) {
+    setSpanImplicitLevel(Level.DEBUG);
+    System.setProperty(Configuration.SPAN_ASYNC.getKey(), "true");
+    Configuration.refresh();
+    try {
+      final Logger asyncLog = LoggerFactory.getLogger(info.getDisplayName() + ".async");
+      final MockSpan span = initSpan(info.getDisplayName());
+      asyncLog.debug(e -> "Async Span Message");
+      asyncLog.error(e -> "Async Span Error");
+
+      AsyncLogDispatcher.getInstance().flush();
+
+      assertTrue(span.logEntries().size() == 2, "Unexpected number of Log Entries[" + span.logEntries().size() + "]");
+      assertTrue(span.logEntries().get(0).timestampMicros() <= span.logEntries().get(1).timestampMicros(), 
+                 "Log Entries out of order");
+      
+      Utils.assertLogCount(asyncLog, 2);
+    } finally {
+      System.clearProperty(Configuration.SPAN_ASYNC.getKey());
+      Configuration.refresh();
+    }
+  }
+
+  /**
+   * Test that the Tracer is only resolved when it is first needed, and only once.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testTracerResolvedLazily(TestInfo info) {
+    setSpanImplicitLevel(Level.DEBUG);
+    
+    final AtomicInteger resolved = new AtomicInteger();
+    final Logger<LogEvent> lazyLog = new MockLogger<LogEvent>(info.getDisplayName(), new LogEventSupplier()) {
+      @Override
+      protected Tracer resolveTracer() {
+        resolved.incrementAndGet();
+        return super.resolveTracer();
+      }
+    };
+    assertEquals(0, resolved.get(), "Tracer resolved on creation");
+    
+    final MockSpan span = initSpan(info.getDisplayName());
+    lazyLog.debug(e -> "First Message");
+    lazyLog.debug(e -> "Second Message");
+    
+    assertEquals(1, resolved.get(), "Tracer not resolved once");
+    assertEquals(2, span.logEntries().size(), "Unexpected number of Log Entries");
+  }
+
   /**
    * Initialise a Span that will receive logging data.
    *
@@ -224,9 +287,11 @@ public class SpanLoggingTest {
   
   private void setSpanLevel(Level lvl) {
     System.setProperty(Configuration.SPAN_LEVEL.getKey(), lvl.getName());
+    Configuration.refresh();
   }
 
   private void setSpanImplicitLevel(Level lvl) {
     System.setProperty(Configuration.SPAN_IMPLICIT_LEVEL.getKey(), lvl.getName());
+    Configuration.refresh();
   }
 }
@@ -0,0 +1,100 @@
+package org.eclipse.microprofile.logging.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.eclipse.microprofile.logging.Configuration;
+import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.eclipse.microprofile.logging.Logger;
+import org.eclipse.microprofile.logging.binary.BinaryLogWriter;
+import org.eclipse.microprofile.logging.binary.BinaryLoggerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of writing a specialized event to a {@link BinaryLogWriter}, directly and through a Logger
+ * of the {@link BinaryLoggerFactory} with pooled events; run with {@code -prof gc} to check that it
+ * does not allocate. The segments of each iteration are deleted after it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryLogBenchmark {
+  
+  private Path directory;
+  
+  private BinaryLogWriter writer;
+  
+  private int name;
+  
+  private Logger<AuditEvent> log;
+  
+  private final AuditEvent event = new AuditEvent();
+  
+  @Setup(org.openjdk.jmh.annotations.Level.Iteration)
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("binary-log-benchmark");
+    writer = new BinaryLogWriter(directory, "audit", BinaryLogWriter.DEFAULT_SEGMENT_SIZE);
+    name = writer.defineName("audit");
+    event.message = "Login";
+    event.user = "alice";
+    event.status = 200;
+    event.elapsed = 1234;
+    System.setProperty(Configuration.EVENT_POOLING.getKey(), "true");
+    Configuration.refresh();
+    try {
+      log = new BinaryLoggerFactory(writer).getLogger("audit", AuditEvent::new);
+    } finally {
+      System.clearProperty(Configuration.EVENT_POOLING.getKey());
+      Configuration.refresh();
+    }
+  }
+  
+  @TearDown(org.openjdk.jmh.annotations.Level.Iteration)
+  public void tearDown() throws IOException {
+    writer.close();
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+  
+  @Benchmark
+  public void write() {
+    writer.write(name, Level.INFO, event);
+  }
+  
+  @Benchmark
+  public void log() {
+    log.info(e -> {
+      e.user = "alice";
+      e.status = 200;
+      e.elapsed = 1234;
+      return "Login";
+    });
+  }
+  
+  /**
+   * A specialized audit event.
+   */
+  public static class AuditEvent extends LogEvent {
+    public String user;
+    public int status;
+    public long elapsed;
+  }
+}
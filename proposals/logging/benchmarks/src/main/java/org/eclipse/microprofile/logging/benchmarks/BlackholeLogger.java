@@ -0,0 +1,50 @@
+package org.eclipse.microprofile.logging.benchmarks;
+
+import io.opentracing.Tracer;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.logging.AbstractLogger;
+import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Logger that hands every written {@link LogEvent} to a JMH {@link Blackhole}, so the
+ * benchmarks measure the cost of the API rather than the cost of a Logging Framework.
+ * 
+ * @param <T> The Type of LogEvents the Logger generates.
+ */
+public class BlackholeLogger<T extends LogEvent> extends AbstractLogger<T> {
+
+  private final Blackhole blackhole;
+  
+  private final Level level;
+  
+  private final Tracer tracer;
+  
+  public BlackholeLogger(String name, Supplier<T> supplier, Level level, Blackhole blackhole) {
+    this(name, supplier, level, null, blackhole);
+  }
+  
+  public BlackholeLogger(String name, Supplier<T> supplier, Level level, Tracer tracer, Blackhole blackhole) {
+    super(name, supplier);
+    this.level = level;
+    this.tracer = tracer;
+    this.blackhole = blackhole;
+  }
+
+  @Override
+  public void writeLog(Level lvl, T event) {
+    blackhole.consume(lvl);
+    blackhole.consume(event);
+  }
+
+  @Override
+  public boolean isLoggable(Level lvl) {
+    return super.isLoggable(lvl) && lvl.intValue() >= level.intValue();
+  }
+
+  @Override
+  protected Tracer resolveTracer() {
+    return tracer;
+  }
+}
@@ -0,0 +1,97 @@
+package org.eclipse.microprofile.logging.benchmarks;
+
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.tag.Tag;
+import java.util.Map;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Span that hands its log data to a JMH {@link Blackhole} rather than keeping it, so Span
+ * logging can be measured without the log entries of a mock Span filling the heap.
+ */
+public class BlackholeSpan implements Span {
+  
+  private final SpanContext context;
+  
+  private final Blackhole blackhole;
+
+  public BlackholeSpan(SpanContext context, Blackhole blackhole) {
+    this.context = context;
+    this.blackhole = blackhole;
+  }
+
+  @Override
+  public SpanContext context() {
+    return context;
+  }
+
+  @Override
+  public Span log(Map<String, ?> fields) {
+    blackhole.consume(fields);
+    return this;
+  }
+
+  @Override
+  public Span log(long timestampMicroseconds, Map<String, ?> fields) {
+    blackhole.consume(timestampMicroseconds);
+    blackhole.consume(fields);
+    return this;
+  }
+
+  @Override
+  public Span log(String event) {
+    blackhole.consume(event);
+    return this;
+  }
+
+  @Override
+  public Span log(long timestampMicroseconds, String event) {
+    blackhole.consume(timestampMicroseconds);
+    blackhole.consume(event);
+    return this;
+  }
+
+  @Override
+  public Span setTag(String key, String value) {
+    return this;
+  }
+
+  @Override
+  public Span setTag(String key, boolean value) {
+    return this;
+  }
+
+  @Override
+  public Span setTag(String key, Number value) {
+    return this;
+  }
+
+  @Override
+  public <T> Span setTag(Tag<T> tag, T value) {
+    return this;
+  }
+
+  @Override
+  public Span setBaggageItem(String key, String value) {
+    return this;
+  }
+
+  @Override
+  public String getBaggageItem(String key) {
+    return null;
+  }
+
+  @Override
+  public Span setOperationName(String operationName) {
+    return this;
+  }
+
+  @Override
+  public void finish() {
+  }
+
+  @Override
+  public void finish(long finishMicros) {
+  }
+}
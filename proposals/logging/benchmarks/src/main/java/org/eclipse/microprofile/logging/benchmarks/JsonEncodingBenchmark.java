@@ -0,0 +1,64 @@
+package org.eclipse.microprofile.logging.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.eclipse.microprofile.logging.LogEventEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare writing a {@link LogEvent} as JSON with JSON-B and with the {@link LogEventEncoder}.
+ * 
+ * <p>
+ * Run with {@code -prof gc} to see the allocation rate per operation.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonEncodingBenchmark {
+  
+  private final Jsonb jsonb = JsonbBuilder.create();
+  
+  private final LogEventEncoder encoder = new LogEventEncoder(jsonb);
+  
+  private final StringBuilder buffer = new StringBuilder();
+  
+  private final LogEvent event = new LogEvent();
+  
+  @Setup
+  public void setup() {
+    event.message = "A log message with a \"quoted\" value";
+    event.spanId = "1234567890abcdef";
+  }
+  
+  @Benchmark
+  public String jsonb() {
+    return jsonb.toJson(event);
+  }
+  
+  @Benchmark
+  public String encoderToJson() {
+    return encoder.toJson(event);
+  }
+  
+  @Benchmark
+  public int encoderAppend() throws Exception {
+    buffer.setLength(0);
+    encoder.encode(event, buffer);
+    return buffer.length();
+  }
+}
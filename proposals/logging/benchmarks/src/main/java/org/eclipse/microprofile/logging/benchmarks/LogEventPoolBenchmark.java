@@ -0,0 +1,60 @@
+package org.eclipse.microprofile.logging.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.logging.Configuration;
+import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.eclipse.microprofile.logging.LogEventSupplier;
+import org.eclipse.microprofile.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare an enabled log statement using a new {@link LogEvent} per call (the
+ * {@link LogEventSupplier}) with one recycling its events through a
+ * {@link org.eclipse.microprofile.logging.LogEventPool}.
+ * 
+ * <p>
+ * Run with {@code -prof gc} to see the allocation rate per operation.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogEventPoolBenchmark {
+  
+  @Param({"false", "true"})
+  public boolean pooling;
+  
+  private Logger<LogEvent> log;
+  
+  @Setup
+  public void setup(Blackhole blackhole) {
+    System.setProperty(Configuration.EVENT_POOLING.getKey(), Boolean.toString(pooling));
+    Configuration.refresh();
+    try {
+      log = new BlackholeLogger<>("pooling", new LogEventSupplier(), Level.INFO, blackhole);
+    } finally {
+      System.clearProperty(Configuration.EVENT_POOLING.getKey());
+      Configuration.refresh();
+    }
+  }
+  
+  @Benchmark
+  public void info() {
+    log.info(e -> "A log message");
+  }
+}
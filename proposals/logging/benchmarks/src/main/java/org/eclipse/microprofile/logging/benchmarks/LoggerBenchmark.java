@@ -0,0 +1,95 @@
+package org.eclipse.microprofile.logging.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.eclipse.microprofile.logging.LogEventSupplier;
+import org.eclipse.microprofile.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The cost of the common log statements: one at a disabled level, one at an enabled level with
+ * a message, a message template and a specialized {@link LogEvent}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerBenchmark {
+  
+  private Logger<LogEvent> log;
+  
+  private Logger<RequestLogEvent> requestLog;
+  
+  private String user = "alice";
+  
+  private int status = 200;
+  
+  @Setup
+  public void setup(Blackhole blackhole) {
+    log = new BlackholeLogger<>("logger", new LogEventSupplier(), Level.INFO, blackhole);
+    requestLog = new BlackholeLogger<>("request", new RequestLogEventSupplier(), Level.INFO, blackhole);
+  }
+  
+  @Benchmark
+  public void disabled() {
+    log.debug(e -> "User " + user + " status " + status);
+  }
+  
+  @Benchmark
+  public void enabled() {
+    log.info(e -> "User " + user + " status " + status);
+  }
+  
+  @Benchmark
+  public void enabledTemplate() {
+    log.info(e -> e.template("User {} status {}", user, status));
+  }
+  
+  @Benchmark
+  public void specialized() {
+    requestLog.info(e -> {
+      e.user = user;
+      e.status = status;
+      return "Request complete";
+    });
+  }
+  
+  /**
+   * A specialized event, as an application would define.
+   */
+  public static class RequestLogEvent extends LogEvent {
+    
+    public String service;
+    
+    public String user;
+    
+    public int status;
+  }
+  
+  /**
+   * A supplier pre-populating data that is the same for every log statement.
+   */
+  public static class RequestLogEventSupplier implements Supplier<RequestLogEvent> {
+    
+    @Override
+    public RequestLogEvent get() {
+      final RequestLogEvent event = new RequestLogEvent();
+      event.service = "benchmark";
+      return event;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package org.eclipse.microprofile.logging.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.eclipse.microprofile.logging.LogEventSupplier;
+import org.eclipse.microprofile.logging.Logger;
+import org.eclipse.microprofile.logging.LoggerRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measure the cost of getting a Logger without a name, I.e. resolving the name from
+ * the calling class, from a warm {@link LoggerRegistry}.
+ * 
+ * <p>
+ * {@code stackTrace} reproduces the previous resolution, indexing into
+ * {@link Thread#getStackTrace()}, as a baseline.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerNameBenchmark {
+  
+  private final LoggerRegistry registry = new LoggerRegistry();
+  
+  private final Supplier<LogEvent> supplier = new LogEventSupplier();
+  
+  private Logger<LogEvent> logger;
+  
+  @Setup
+  public void setup(Blackhole blackhole) {
+    logger = new BlackholeLogger<>(LoggerNameBenchmark.class.getName(), supplier, Level.INFO, blackhole);
+  }
+  
+  @Benchmark
+  public Logger<LogEvent> classContext() {
+    return registry.getLogger(supplier, key -> logger);
+  }
+  
+  @Benchmark
+  public Logger<LogEvent> stackTrace() {
+    final String name = Thread.currentThread().getStackTrace()[2].getClassName();
+    return registry.getLogger(name, supplier, key -> logger);
+  }
+}
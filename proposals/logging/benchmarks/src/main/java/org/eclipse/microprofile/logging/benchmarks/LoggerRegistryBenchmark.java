@@ -0,0 +1,69 @@
+package org.eclipse.microprofile.logging.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.eclipse.microprofile.logging.LogEventSupplier;
+import org.eclipse.microprofile.logging.Logger;
+import org.eclipse.microprofile.logging.LoggerRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The cost of finding an existing Logger by name in a {@link LoggerRegistry} holding many Loggers,
+ * with a shared supplier and with a new (lambda) supplier on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerRegistryBenchmark {
+  
+  private static final int LOGGERS = 1000;
+  
+  private final LoggerRegistry registry = new LoggerRegistry();
+  
+  private final LogEventSupplier supplier = new LogEventSupplier();
+  
+  private final Logger<?>[] loggers = new Logger<?>[LOGGERS];
+  
+  private String name;
+  
+  private Blackhole blackhole;
+  
+  @Setup
+  public void setup(Blackhole blackhole) {
+    this.blackhole = blackhole;
+    for (int i = 0; i < LOGGERS; i++) {
+      loggers[i] = registry.getLogger("com.acme.Service" + i, supplier, 
+                                      key -> new BlackholeLogger<>(key.getName(), supplier, Level.INFO, blackhole));
+    }
+    name = "com.acme.Service" + (LOGGERS / 2);
+  }
+  
+  @Benchmark
+  public Logger<LogEvent> sharedSupplier() {
+    return registry.getLogger(name, supplier, key -> {
+      throw new IllegalStateException("Logger not found");
+    });
+  }
+  
+  @Benchmark
+  public Logger<LogEvent> lambdaSupplier() {
+    // The Logger for the lambda's class is created by the first call, and found by the rest.
+    final Supplier<LogEvent> lambda = () -> new LogEvent();
+    return registry.getLogger(name, lambda, key -> new BlackholeLogger<>(key.getName(), lambda, Level.INFO, blackhole));
+  }
+}
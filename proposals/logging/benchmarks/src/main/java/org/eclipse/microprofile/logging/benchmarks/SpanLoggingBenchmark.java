@@ -0,0 +1,66 @@
+package org.eclipse.microprofile.logging.benchmarks;
+
+import io.opentracing.Scope;
+import io.opentracing.mock.MockTracer;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.logging.Configuration;
+import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.eclipse.microprofile.logging.LogEventSupplier;
+import org.eclipse.microprofile.logging.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The cost of Span logging, both explicit ({@code span()}) and implicit (an INFO statement with the
+ * Span Implicit Level at INFO), with an active Span of a {@link MockTracer}.
+ */
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpanLoggingBenchmark {
+  
+  private Logger<LogEvent> log;
+  
+  private Scope scope;
+  
+  @Setup
+  public void setup(Blackhole blackhole) {
+    System.setProperty(Configuration.SPAN_IMPLICIT_LEVEL.getKey(), Level.INFO.getName());
+    Configuration.refresh();
+    
+    final MockTracer tracer = new MockTracer();
+    final BlackholeSpan span = new BlackholeSpan(tracer.buildSpan("benchmark").start().context(), blackhole);
+    scope = tracer.activateSpan(span);
+    log = new BlackholeLogger<>("span", new LogEventSupplier(), Level.INFO, tracer, blackhole);
+  }
+  
+  @TearDown
+  public void tearDown() {
+    scope.close();
+    System.clearProperty(Configuration.SPAN_IMPLICIT_LEVEL.getKey());
+    Configuration.refresh();
+  }
+  
+  @Benchmark
+  public void span() {
+    log.span(e -> "Span message");
+  }
+  
+  @Benchmark
+  public void spanImplicit() {
+    log.info(e -> "Span implicit message");
+  }
+}
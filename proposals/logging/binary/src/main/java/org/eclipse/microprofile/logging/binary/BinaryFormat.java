@@ -0,0 +1,62 @@
+package org.eclipse.microprofile.logging.binary;
+
+/**
+ * The layout of a binary log segment file.
+ *
+ * <p>
+ * A segment starts with {@link #MAGIC} and {@link #VERSION}, followed by records. Every record starts
+ * with its length in bytes (including the length itself) and its kind; a length of {@code 0} marks the
+ * end of the records. A negative length is the length of a record that is pending: claimed, but not
+ * (yet) completed by its writer; it is skipped. All numbers are big-endian.
+ * </p>
+ * <ul>
+ *  <li>{@link #NAME}: {@code int id, string name}; defines a Logger name.</li>
+ *  <li>{@link #SCHEMA}: {@code int id, string class, short count, count * (string field, byte type)};
+ *      defines the fields of a LogEvent class.</li>
+ *  <li>{@link #EVENT}: {@code int schema, int name, long epoch millis, int level, values}; the values
+ *      of the fields of the schema, in order.</li>
+ * </ul>
+ *
+ * <p>
+ * A string is an {@code int} header, {@code -1} for null or the length shifted left by one; the low
+ * bit clear for one byte per (Latin-1) char, set for two bytes per char. A nullable value is preceded
+ * by a byte, {@code 0} for null. Each segment repeats the definitions the events in it refer to, so
+ * a segment can be decoded on its own.
+ * </p>
+ */
+final class BinaryFormat {
+
+  static final int MAGIC = 0x4D504C42;
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 8;
+
+  static final byte NAME = 1;
+  static final byte SCHEMA = 2;
+  static final byte EVENT = 3;
+
+  /** Size of the length and kind of a record */
+  static final int RECORD_HEADER_SIZE = 5;
+
+  /** Size of an event record before its values */
+  static final int EVENT_HEADER_SIZE = RECORD_HEADER_SIZE + 4 + 4 + 8 + 4;
+
+  static final byte BOOLEAN = 1;
+  static final byte BYTE = 2;
+  static final byte SHORT = 3;
+  static final byte CHAR = 4;
+  static final byte INT = 5;
+  static final byte LONG = 6;
+  static final byte FLOAT = 7;
+  static final byte DOUBLE = 8;
+  static final byte STRING = 9;
+  /** The class name and message of a Throwable, as two strings */
+  static final byte THROWABLE = 10;
+
+  /** Set on the type of a boxed primitive, whose value is preceded by a null flag */
+  static final byte NULLABLE = 0x40;
+
+  static final String SEGMENT_SUFFIX = ".seg";
+
+  private BinaryFormat() {
+  }
+}
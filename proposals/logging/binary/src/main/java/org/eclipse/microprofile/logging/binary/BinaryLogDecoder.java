@@ -0,0 +1,282 @@
+package org.eclipse.microprofile.logging.binary;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.microprofile.logging.Level;
+
+/**
+ * Decodes binary log segments, written by {@link BinaryLogWriter}, to JSON; one object per event
+ * and line, E.g.
+ * {@code {"time":"2020-01-01T12:00:00.123Z","level":"INFO","logger":"audit","type":"com.acme.AuditEvent","message":"Login","user":"alice"}}
+ *
+ * <p>
+ * From the command line, with the segment files or directories holding them as arguments:
+ * {@code java -cp microprofile-logging-binary.jar:microprofile-logging-api.jar
+ * org.eclipse.microprofile.logging.binary.BinaryLogDecoder /var/log/audit}.
+ * </p>
+ */
+public class BinaryLogDecoder {
+
+  private final Map<Integer, String> names = new HashMap<>();
+  private final Map<Integer, Schema> schemas = new HashMap<>();
+
+  /**
+   * Decode segment files, or the segment files in directories, to standard out in the order of their names.
+   *
+   * @param args The segment files or directories.
+   * @throws IOException If a segment cannot be read.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length == 0) {
+      System.err.println("Usage: java " + BinaryLogDecoder.class.getName() + " <segment file or directory>...");
+      System.exit(1);
+    }
+    final Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+    for (String arg : args) {
+      for (Path segment : segments(Paths.get(arg))) {
+        new BinaryLogDecoder().decode(segment, out);
+      }
+    }
+    out.flush();
+  }
+
+  /**
+   * Get the segment files in a directory, in order; or the file itself.
+   *
+   * @param path A segment file or a directory.
+   * @return The segment files.
+   * @throws IOException If the directory cannot be read.
+   */
+  public static List<Path> segments(Path path) throws IOException {
+    final List<Path> segments = new ArrayList<>();
+    if (Files.isDirectory(path)) {
+      try (DirectoryStream<Path> files = Files.newDirectoryStream(path, "*" + BinaryFormat.SEGMENT_SUFFIX)) {
+        files.forEach(segments::add);
+      }
+      Collections.sort(segments);
+    } else {
+      segments.add(path);
+    }
+    return segments;
+  }
+
+  /**
+   * Decode the events of a segment file.
+   *
+   * @param segment The segment file.
+   * @param out Where to write the JSON, one line per event.
+   * @throws IOException If the segment cannot be read, or is not a segment.
+   */
+  public void decode(Path segment, Appendable out) throws IOException {
+    final ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (buffer.remaining() < BinaryFormat.HEADER_SIZE || buffer.getInt() != BinaryFormat.MAGIC) {
+      throw new IOException("Not a binary log segment: " + segment);
+    }
+    final int version = buffer.getInt();
+    if (version != BinaryFormat.VERSION) {
+      throw new IOException("Unsupported binary log version " + version + ": " + segment);
+    }
+
+    while (buffer.remaining() >= 4) {
+      final int start = buffer.position();
+      final int length = buffer.getInt();
+      if (length < 0 && start - (long) length <= buffer.limit()) {
+        // A record that was claimed but not completed; the records following it may be.
+        buffer.position(start - length);
+        continue;
+      }
+      if (length <= 0 || start + length > buffer.limit()) {
+        // The end of the records.
+        return;
+      }
+      final byte kind = buffer.get();
+      switch (kind) {
+        case BinaryFormat.NAME:
+          names.put(buffer.getInt(), getString(buffer));
+          break;
+        case BinaryFormat.SCHEMA:
+          final int id = buffer.getInt();
+          schemas.put(id, new Schema(buffer));
+          break;
+        case BinaryFormat.EVENT:
+          decodeEvent(buffer, out);
+          break;
+        default:
+          // Unknown kind, skipped.
+      }
+      buffer.position(start + length);
+    }
+  }
+
+  private void decodeEvent(ByteBuffer buffer, Appendable out) throws IOException {
+    final Schema schema = schemas.get(buffer.getInt());
+    final String name = names.get(buffer.getInt());
+    final long time = buffer.getLong();
+    final int level = buffer.getInt();
+    if (schema == null) {
+      return;
+    }
+
+    out.append("{\"time\":\"").append(Instant.ofEpochMilli(time).toString()).append('"');
+    out.append(",\"level\":");
+    writeString(Level.valueOf(level).getName(), out);
+    out.append(",\"logger\":");
+    writeString(name, out);
+    out.append(",\"type\":");
+    writeString(schema.type, out);
+    for (int i = 0; i < schema.names.length; i++) {
+      final byte type = schema.types[i];
+      if (type == BinaryFormat.THROWABLE) {
+        final String throwableType = getString(buffer);
+        final String throwableMessage = getString(buffer);
+        if (throwableType != null) {
+          out.append(',');
+          writeString(schema.names[i], out);
+          out.append(":{\"type\":");
+          writeString(throwableType, out);
+          out.append(",\"message\":");
+          writeString(throwableMessage, out);
+          out.append('}');
+        }
+        continue;
+      }
+      if ((type & BinaryFormat.NULLABLE) != 0 && buffer.get() == 0) {
+        continue;
+      }
+      final Object value = getValue(buffer, (byte) (type & ~BinaryFormat.NULLABLE));
+      if (value == null) {
+        continue;
+      }
+      out.append(',');
+      writeString(schema.names[i], out);
+      out.append(':');
+      if (value instanceof String || value instanceof Character) {
+        writeString(value.toString(), out);
+      } else {
+        out.append(value.toString());
+      }
+    }
+    out.append('}').append('\n');
+  }
+
+  private static Object getValue(ByteBuffer buffer, byte type) {
+    switch (type) {
+      case BinaryFormat.BOOLEAN:
+        return buffer.get() != 0;
+      case BinaryFormat.BYTE:
+        return buffer.get();
+      case BinaryFormat.SHORT:
+        return buffer.getShort();
+      case BinaryFormat.CHAR:
+        return buffer.getChar();
+      case BinaryFormat.INT:
+        return buffer.getInt();
+      case BinaryFormat.LONG:
+        return buffer.getLong();
+      case BinaryFormat.FLOAT:
+        final float f = buffer.getFloat();
+        return Float.isFinite(f) ? f : null;
+      case BinaryFormat.DOUBLE:
+        final double d = buffer.getDouble();
+        return Double.isFinite(d) ? d : null;
+      default:
+        return getString(buffer);
+    }
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    final int header = buffer.getInt();
+    if (header < 0) {
+      return null;
+    }
+    final int length = header >>> 1;
+    final char[] chars = new char[length];
+    if ((header & 1) == 0) {
+      for (int i = 0; i < length; i++) {
+        chars[i] = (char) (buffer.get() & 0xFF);
+      }
+    } else {
+      for (int i = 0; i < length; i++) {
+        chars[i] = buffer.getChar();
+      }
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Write a quoted, escaped, JSON String; null is written as null.
+   */
+  private static void writeString(String s, Appendable out) throws IOException {
+    if (s == null) {
+      out.append("null");
+      return;
+    }
+    out.append('"');
+    for (int i = 0; i < s.length(); i++) {
+      final char c = s.charAt(i);
+      switch (c) {
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            out.append(String.format("\\u%04x", (int) c));
+          } else {
+            out.append(c);
+          }
+      }
+    }
+    out.append('"');
+  }
+
+  /**
+   * A decoded schema definition.
+   */
+  private static final class Schema {
+    final String type;
+    final String[] names;
+    final byte[] types;
+
+    Schema(ByteBuffer buffer) {
+      this.type = getString(buffer);
+      final int count = buffer.getShort();
+      this.names = new String[count];
+      this.types = new byte[count];
+      for (int i = 0; i < count; i++) {
+        names[i] = getString(buffer);
+        types[i] = buffer.get();
+      }
+    }
+  }
+}
@@ -0,0 +1,533 @@
+package org.eclipse.microprofile.logging.binary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+
+/**
+ * Appends LogEvents, in the compact binary form described by {@link BinaryFormat}, to memory-mapped
+ * segment files named {@code <prefix>-<index>.seg}.
+ *
+ * <p>
+ * A write measures the event, claims the space for it in the current segment with a single
+ * compare-and-set, and copies the values straight into the mapped file; Threads writing at the same
+ * time do not lock, and writing an event whose fields are primitives, their boxed types or Strings
+ * does not allocate. When a segment is full a new one is started, so the files are never re-mapped.
+ * The operating system writes the mapped pages to disk; {@link #force()} waits for it.
+ * </p>
+ *
+ * <p>
+ * The segments are decoded, E.g. to JSON, with {@link BinaryLogDecoder}.
+ * </p>
+ */
+public class BinaryLogWriter implements Closeable {
+
+  /** The default size of a segment file */
+  public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+  private static final ThreadLocal<Object[]> VALUES = ThreadLocal.withInitial(() -> new Object[16]);
+
+  private final Path directory;
+  private final String prefix;
+  private final int segmentSize;
+
+  /** Guards the definitions and the creation of segments */
+  private final Object lock = new Object();
+  private final List<byte[]> definitions = new ArrayList<>();
+  private final ConcurrentMap<String, Integer> nameIds = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Class<?>, Integer> schemaIds = new ConcurrentHashMap<>();
+  private final LongAdder dropped = new LongAdder();
+  private int nextIndex;
+
+  private volatile Segment segment;
+
+  /**
+   * Create a writer, starting a new segment after any existing segments with the same prefix.
+   *
+   * @param directory The directory of the segment files.
+   * @param prefix The prefix of the segment file names.
+   * @param segmentSize The size of each segment file in bytes.
+   * @throws IOException If the first segment cannot be created.
+   */
+  public BinaryLogWriter(Path directory, String prefix, int segmentSize) throws IOException {
+    if (segmentSize < 1024) {
+      throw new IllegalArgumentException("Not a valid segment size \"" + segmentSize + "\"");
+    }
+    this.directory = directory;
+    this.prefix = prefix;
+    this.segmentSize = segmentSize;
+    Files.createDirectories(directory);
+    this.nextIndex = lastIndex() + 1;
+    this.segment = openSegment();
+  }
+
+  /**
+   * Define a Logger name, writing its definition the first time.
+   *
+   * @param name The Logger name.
+   * @return The id of the name, for {@link #write(int, org.eclipse.microprofile.logging.Level, org.eclipse.microprofile.logging.LogEvent)}.
+   */
+  public int defineName(String name) {
+    final Integer id = nameIds.get(name);
+    if (id != null) {
+      return id;
+    }
+    synchronized (lock) {
+      final Integer existing = nameIds.get(name);
+      if (existing != null) {
+        return existing;
+      }
+      final int newId = nameIds.size() + 1;
+      final ByteBuffer record = ByteBuffer.allocate(BinaryFormat.RECORD_HEADER_SIZE + 4 + sizeOf(name));
+      record.putInt(record.capacity()).put(BinaryFormat.NAME).putInt(newId);
+      putString(record, record.position(), name);
+      define(record.array());
+      nameIds.put(name, newId);
+      return newId;
+    }
+  }
+
+  /**
+   * Write an event. An event too large for a segment is dropped.
+   *
+   * @param nameId The id of the Logger name, from {@link #defineName(java.lang.String)}.
+   * @param lvl The Level of the event.
+   * @param event The event.
+   */
+  public void write(int nameId, Level lvl, LogEvent event) {
+    final EventSchema schema = EventSchema.of(event.getClass());
+    final int schemaId = schemaId(schema);
+
+    // Read each reference value once, so the size and the values written agree.
+    Object[] values = VALUES.get();
+    if (values.length < schema.fields.length) {
+      values = new Object[schema.fields.length];
+      VALUES.set(values);
+    }
+    try {
+      final int size = BinaryFormat.EVENT_HEADER_SIZE + resolve(schema, event, values);
+      for (int attempt = 0; ; attempt++) {
+        final Segment current = segment;
+        final int start = current.claim(size);
+        if (start >= 0) {
+          final ByteBuffer buffer = current.buffer;
+          int index = start + 4;
+          buffer.put(index, BinaryFormat.EVENT);
+          buffer.putInt(index + 1, schemaId);
+          buffer.putInt(index + 5, nameId);
+          buffer.putLong(index + 9, event.timestamp != 0 ? event.timestamp : System.currentTimeMillis());
+          buffer.putInt(index + 17, lvl.intValue());
+          putValues(buffer, index + 21, schema, event, values);
+          // The length is completed last; a decoder skips a record whose length is still pending.
+          buffer.putInt(start, size);
+          return;
+        }
+        if (attempt > 0 && current.isFresh()) {
+          // Too large for a segment of its own.
+          dropped.increment();
+          return;
+        }
+        roll(current);
+      }
+    } catch (IllegalAccessException iae) {
+      dropped.increment();
+    } finally {
+      for (int i = 0; i < schema.fields.length; i++) {
+        values[i] = null;
+      }
+    }
+  }
+
+  /**
+   * @return The number of events dropped, as they were too large for a segment, or could not be read.
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  /**
+   * Wait for the events written to the current segment to reach the disk.
+   */
+  public void force() {
+    segment.buffer.force();
+  }
+
+  /**
+   * Force the current segment to disk, and close its file. Writing afterwards is not supported.
+   */
+  @Override
+  public void close() throws IOException {
+    synchronized (lock) {
+      force();
+      segment.channel.close();
+    }
+  }
+
+  /**
+   * Get the id of a schema, writing its definition the first time.
+   *
+   * @param schema The schema.
+   * @return The id.
+   */
+  private int schemaId(EventSchema schema) {
+    final Integer id = schemaIds.get(schema.type);
+    if (id != null) {
+      return id;
+    }
+    synchronized (lock) {
+      final Integer existing = schemaIds.get(schema.type);
+      if (existing != null) {
+        return existing;
+      }
+      final int newId = schemaIds.size() + 1;
+      int size = BinaryFormat.RECORD_HEADER_SIZE + 4 + sizeOf(schema.type.getName()) + 2;
+      for (String name : schema.names) {
+        size += sizeOf(name) + 1;
+      }
+      final ByteBuffer record = ByteBuffer.allocate(size);
+      record.putInt(size).put(BinaryFormat.SCHEMA).putInt(newId);
+      record.position(putString(record, record.position(), schema.type.getName()));
+      record.putShort((short) schema.names.length);
+      for (int i = 0; i < schema.names.length; i++) {
+        record.position(putString(record, record.position(), schema.names[i]));
+        record.put(schema.types[i]);
+      }
+      define(record.array());
+      schemaIds.put(schema.type, newId);
+      return newId;
+    }
+  }
+
+  /**
+   * Append a definition to the current segment, and keep it for the segments that follow.
+   * Called holding the lock.
+   *
+   * @param record The encoded definition record.
+   */
+  private void define(byte[] record) {
+    definitions.add(record);
+    final Segment current = segment;
+    final int start = current.claim(record.length);
+    if (start >= 0) {
+      copy(current, start, record);
+    } else {
+      // The new segment starts with every definition, including this one.
+      roll(current);
+    }
+  }
+
+  /**
+   * Replace a full segment with a new one, starting with the definitions.
+   *
+   * @param full The segment that is full.
+   */
+  private void roll(Segment full) {
+    synchronized (lock) {
+      if (segment != full) {
+        return;
+      }
+      try {
+        final Segment next = openSegment();
+        for (byte[] record : definitions) {
+          final int start = next.claim(record.length);
+          if (start < 0) {
+            throw new IllegalStateException("The definitions do not fit in a segment of " + segmentSize + " bytes");
+          }
+          copy(next, start, record);
+        }
+        next.start = next.position.get();
+        segment = next;
+        full.channel.close();
+      } catch (IOException ioe) {
+        throw new IllegalStateException("Unable to create a segment in " + directory, ioe);
+      }
+    }
+  }
+
+  private static void copy(Segment segment, int start, byte[] record) {
+    final ByteBuffer target = segment.buffer.duplicate();
+    target.position(start);
+    target.put(record);
+  }
+
+  private Segment openSegment() throws IOException {
+    final Path path = directory.resolve(String.format("%s-%08d%s", prefix, nextIndex++, BinaryFormat.SEGMENT_SUFFIX));
+    final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, 
+                                                 StandardOpenOption.WRITE);
+    final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    buffer.putInt(0, BinaryFormat.MAGIC);
+    buffer.putInt(4, BinaryFormat.VERSION);
+    return new Segment(channel, buffer, segmentSize);
+  }
+
+  private int lastIndex() throws IOException {
+    int last = -1;
+    try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, prefix + "-*" + BinaryFormat.SEGMENT_SUFFIX)) {
+      for (Path path : segments) {
+        final String name = path.getFileName().toString();
+        try {
+          last = Math.max(last, Integer.parseInt(name.substring(prefix.length() + 1, 
+                                                                name.length() - BinaryFormat.SEGMENT_SUFFIX.length())));
+        } catch (NumberFormatException nfe) {
+          // Not a segment of this writer.
+        }
+      }
+    }
+    return last;
+  }
+
+  /**
+   * Read the reference values of an event, and measure the values.
+   *
+   * @param schema The schema of the event.
+   * @param event The event.
+   * @param values Where the reference values are kept, by field.
+   * @return The size of the values in bytes.
+   * @throws IllegalAccessException If a field cannot be read.
+   */
+  private static int resolve(EventSchema schema, LogEvent event, Object[] values) throws IllegalAccessException {
+    int size = 0;
+    for (int i = 0; i < schema.fields.length; i++) {
+      final Field field = schema.fields[i];
+      final byte type = schema.types[i];
+      switch (type) {
+        case BinaryFormat.STRING:
+          final String s = field == null ? event.getMessage() : toString(field.get(event));
+          values[i] = s;
+          size += sizeOf(s);
+          break;
+        case BinaryFormat.THROWABLE:
+          final Throwable t = (Throwable) field.get(event);
+          values[i] = t;
+          size += t == null ? sizeOf(null) * 2 : sizeOf(t.getClass().getName()) + sizeOf(t.getMessage());
+          break;
+        default:
+          if ((type & BinaryFormat.NULLABLE) != 0) {
+            final Object boxed = field.get(event);
+            values[i] = boxed;
+            size += 1 + (boxed == null ? 0 : sizeOf((byte) (type & ~BinaryFormat.NULLABLE)));
+          } else {
+            size += sizeOf(type);
+          }
+      }
+    }
+    return size;
+  }
+
+  private static void putValues(ByteBuffer buffer, int index, EventSchema schema, LogEvent event, Object[] values) 
+      throws IllegalAccessException {
+    for (int i = 0; i < schema.fields.length; i++) {
+      final Field field = schema.fields[i];
+      final byte type = schema.types[i];
+      switch (type) {
+        case BinaryFormat.STRING:
+          index = putString(buffer, index, (String) values[i]);
+          break;
+        case BinaryFormat.THROWABLE:
+          final Throwable t = (Throwable) values[i];
+          index = putString(buffer, index, t == null ? null : t.getClass().getName());
+          index = putString(buffer, index, t == null ? null : t.getMessage());
+          break;
+        case BinaryFormat.BOOLEAN:
+          buffer.put(index++, field.getBoolean(event) ? (byte) 1 : 0);
+          break;
+        case BinaryFormat.BYTE:
+          buffer.put(index++, field.getByte(event));
+          break;
+        case BinaryFormat.SHORT:
+          buffer.putShort(index, field.getShort(event));
+          index += 2;
+          break;
+        case BinaryFormat.CHAR:
+          buffer.putChar(index, field.getChar(event));
+          index += 2;
+          break;
+        case BinaryFormat.INT:
+          buffer.putInt(index, field.getInt(event));
+          index += 4;
+          break;
+        case BinaryFormat.LONG:
+          buffer.putLong(index, field.getLong(event));
+          index += 8;
+          break;
+        case BinaryFormat.FLOAT:
+          buffer.putFloat(index, field.getFloat(event));
+          index += 4;
+          break;
+        case BinaryFormat.DOUBLE:
+          buffer.putDouble(index, field.getDouble(event));
+          index += 8;
+          break;
+        default:
+          index = putBoxed(buffer, index, (byte) (type & ~BinaryFormat.NULLABLE), values[i]);
+      }
+    }
+  }
+
+  private static int putBoxed(ByteBuffer buffer, int index, byte type, Object boxed) {
+    if (boxed == null) {
+      buffer.put(index, (byte) 0);
+      return index + 1;
+    }
+    buffer.put(index++, (byte) 1);
+    switch (type) {
+      case BinaryFormat.BOOLEAN:
+        buffer.put(index, (Boolean) boxed ? (byte) 1 : 0);
+        return index + 1;
+      case BinaryFormat.BYTE:
+        buffer.put(index, (Byte) boxed);
+        return index + 1;
+      case BinaryFormat.SHORT:
+        buffer.putShort(index, (Short) boxed);
+        return index + 2;
+      case BinaryFormat.CHAR:
+        buffer.putChar(index, (Character) boxed);
+        return index + 2;
+      case BinaryFormat.INT:
+        buffer.putInt(index, (Integer) boxed);
+        return index + 4;
+      case BinaryFormat.LONG:
+        buffer.putLong(index, (Long) boxed);
+        return index + 8;
+      case BinaryFormat.FLOAT:
+        buffer.putFloat(index, (Float) boxed);
+        return index + 4;
+      default:
+        buffer.putDouble(index, (Double) boxed);
+        return index + 8;
+    }
+  }
+
+  /**
+   * Write a string at an index.
+   *
+   * @param buffer The buffer.
+   * @param index Where to write the string.
+   * @param s The string, may be null.
+   * @return The index following the string.
+   */
+  static int putString(ByteBuffer buffer, int index, String s) {
+    if (s == null) {
+      buffer.putInt(index, -1);
+      return index + 4;
+    }
+    final int length = s.length();
+    final boolean latin1 = isLatin1(s);
+    buffer.putInt(index, length << 1 | (latin1 ? 0 : 1));
+    index += 4;
+    if (latin1) {
+      for (int i = 0; i < length; i++) {
+        buffer.put(index++, (byte) s.charAt(i));
+      }
+    } else {
+      for (int i = 0; i < length; i++) {
+        buffer.putChar(index, s.charAt(i));
+        index += 2;
+      }
+    }
+    return index;
+  }
+
+  static int sizeOf(String s) {
+    if (s == null) {
+      return 4;
+    }
+    return 4 + (isLatin1(s) ? s.length() : s.length() * 2);
+  }
+
+  private static int sizeOf(byte type) {
+    switch (type) {
+      case BinaryFormat.BOOLEAN:
+      case BinaryFormat.BYTE:
+        return 1;
+      case BinaryFormat.SHORT:
+      case BinaryFormat.CHAR:
+        return 2;
+      case BinaryFormat.INT:
+      case BinaryFormat.FLOAT:
+        return 4;
+      default:
+        return 8;
+    }
+  }
+
+  private static boolean isLatin1(String s) {
+    for (int i = 0; i < s.length(); i++) {
+      if (s.charAt(i) > 0xFF) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String toString(Object value) {
+    if (value == null || value instanceof String) {
+      return (String) value;
+    }
+    if (value instanceof Enum) {
+      return ((Enum<?>) value).name();
+    }
+    return String.valueOf(value);
+  }
+
+  /**
+   * A mapped segment file, and the position up to which it has been claimed.
+   */
+  private static final class Segment {
+    final FileChannel channel;
+    final MappedByteBuffer buffer;
+    final int capacity;
+    final AtomicInteger position = new AtomicInteger(BinaryFormat.HEADER_SIZE);
+    
+    /** The position following the definitions the segment started with */
+    int start = BinaryFormat.HEADER_SIZE;
+
+    Segment(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+      this.channel = channel;
+      this.buffer = buffer;
+      this.capacity = capacity;
+    }
+
+    /**
+     * @return true if no event has been written to the segment.
+     */
+    boolean isFresh() {
+      return position.get() == start;
+    }
+
+    /**
+     * Claim space for a record; leaving room for the terminating zero length. The space is marked
+     * with the negative size, so a decoder can skip the record if its writer never completes it.
+     *
+     * @param size The size of the record.
+     * @return The index of the space, or -1 if the segment is full.
+     */
+    int claim(int size) {
+      for (;;) {
+        final int start = position.get();
+        if (start + size > capacity - 4) {
+          return -1;
+        }
+        if (position.compareAndSet(start, start + size)) {
+          buffer.putInt(start, -size);
+          return start;
+        }
+      }
+    }
+  }
+}
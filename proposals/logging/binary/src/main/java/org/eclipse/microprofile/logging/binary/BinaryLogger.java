@@ -0,0 +1,35 @@
+package org.eclipse.microprofile.logging.binary;
+
+import java.util.function.Supplier;
+import org.eclipse.microprofile.logging.AbstractLogger;
+import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+
+/**
+ * Logger writing its events to a {@link BinaryLogWriter}, rather than formatting them as text.
+ *
+ * @param <T> The Type of LogEvents the Logger generates.
+ */
+public class BinaryLogger<T extends LogEvent> extends AbstractLogger<T> {
+
+  private final BinaryLogWriter writer;
+  private final int nameId;
+
+  /**
+   * Create a Logger.
+   *
+   * @param name The name of the Logger.
+   * @param supplier The supplier of LogEvents.
+   * @param writer The writer the events are written to.
+   */
+  public BinaryLogger(String name, Supplier<T> supplier, BinaryLogWriter writer) {
+    super(name, supplier);
+    this.writer = writer;
+    this.nameId = writer.defineName(name);
+  }
+
+  @Override
+  public void writeLog(Level lvl, T event) {
+    writer.write(nameId, lvl, event);
+  }
+}
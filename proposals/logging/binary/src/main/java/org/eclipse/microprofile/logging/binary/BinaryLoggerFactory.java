@@ -0,0 +1,56 @@
+package org.eclipse.microprofile.logging.binary;
+
+import java.util.function.Supplier;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.eclipse.microprofile.logging.LogEventSupplier;
+import org.eclipse.microprofile.logging.Logger;
+import org.eclipse.microprofile.logging.LoggerFactoryProvider;
+import org.eclipse.microprofile.logging.LoggerRegistry;
+
+/**
+ * {@link LoggerFactoryProvider} creating Loggers that write to a {@link BinaryLogWriter}, E.g. for
+ * high volume audit Loggers.
+ *
+ * <p>
+ * The factory is not a CDI bean, so it does not compete with the runtime's provider; an application
+ * creates one per binary log and gets its Loggers from it, or makes it the provider with a CDI producer.
+ * </p>
+ */
+public class BinaryLoggerFactory implements LoggerFactoryProvider {
+
+  /** General purpose LogEvent supplier, need only one instance of this */
+  private static final LogEventSupplier LOG_EVENT_SUPPLIER = new LogEventSupplier();
+
+  private final LoggerRegistry registry = new LoggerRegistry();
+
+  private final BinaryLogWriter writer;
+
+  /**
+   * Create a factory.
+   *
+   * @param writer The writer the Loggers write to.
+   */
+  public BinaryLoggerFactory(BinaryLogWriter writer) {
+    this.writer = writer;
+  }
+
+  @Override
+  public Logger<LogEvent> getLogger() {
+    return registry.getLogger(LOG_EVENT_SUPPLIER, key -> new BinaryLogger<>(key.getName(), LOG_EVENT_SUPPLIER, writer));
+  }
+
+  @Override
+  public <T extends LogEvent> Logger<T> getLogger(Supplier<T> supplier) {
+    return registry.getLogger(supplier, key -> new BinaryLogger<>(key.getName(), supplier, writer));
+  }
+
+  @Override
+  public Logger<LogEvent> getLogger(String name) {
+    return registry.getLogger(name, LOG_EVENT_SUPPLIER, key -> new BinaryLogger<>(key.getName(), LOG_EVENT_SUPPLIER, writer));
+  }
+
+  @Override
+  public <T extends LogEvent> Logger<T> getLogger(String name, Supplier<T> supplier) {
+    return registry.getLogger(name, supplier, key -> new BinaryLogger<>(key.getName(), supplier, writer));
+  }
+}
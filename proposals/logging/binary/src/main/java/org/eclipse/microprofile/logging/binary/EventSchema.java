@@ -0,0 +1,163 @@
+package org.eclipse.microprofile.logging.binary;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import javax.json.bind.annotation.JsonbTransient;
+import org.eclipse.microprofile.logging.LogEvent;
+
+/**
+ * The fields of a LogEvent class written to a binary log, and how each is written.
+ *
+ * <p>
+ * The fields of {@link LogEvent} come first: the message (formatted from its template, if need be),
+ * spanId, throwable and suppressed. Then the instance fields of each sub-class, from the top of the
+ * hierarchy; transient fields and fields annotated with {@link JsonbTransient} are not written.
+ * Primitives, their boxed types and Strings are written without allocating; other values, including
+ * enums, are written as their String value.
+ * </p>
+ */
+final class EventSchema {
+
+  private static final ClassValue<EventSchema> SCHEMAS = new ClassValue<EventSchema>() {
+    @Override
+    protected EventSchema computeValue(Class<?> type) {
+      return new EventSchema(type);
+    }
+  };
+
+  private static final String MESSAGE = "message";
+
+  final Class<?> type;
+  final String[] names;
+  final byte[] types;
+  final Field[] fields;
+
+  private EventSchema(Class<?> type) {
+    final List<String> fieldNames = new ArrayList<>();
+    final List<Byte> fieldTypes = new ArrayList<>();
+    final List<Field> fieldList = new ArrayList<>();
+
+    // The message is read with getMessage(), so has no Field.
+    fieldNames.add(MESSAGE);
+    fieldTypes.add(BinaryFormat.STRING);
+    fieldList.add(null);
+
+    final List<Class<?>> hierarchy = new ArrayList<>();
+    for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+      hierarchy.add(0, c);
+    }
+    for (Class<?> c : hierarchy) {
+      for (Field field : c.getDeclaredFields()) {
+        final byte fieldType = typeOf(field);
+        if (fieldType != 0) {
+          field.setAccessible(true);
+          fieldNames.add(field.getName());
+          fieldTypes.add(fieldType);
+          fieldList.add(field);
+        }
+      }
+    }
+
+    this.type = type;
+    this.names = fieldNames.toArray(new String[0]);
+    this.types = new byte[fieldTypes.size()];
+    for (int i = 0; i < types.length; i++) {
+      types[i] = fieldTypes.get(i);
+    }
+    this.fields = fieldList.toArray(new Field[0]);
+  }
+
+  /**
+   * Get the schema of a LogEvent class.
+   *
+   * @param type The class.
+   * @return The schema.
+   */
+  static EventSchema of(Class<?> type) {
+    return SCHEMAS.get(type);
+  }
+
+  /**
+   * Get how a field is written.
+   *
+   * @param field The field.
+   * @return The type written, or 0 if the field is not written.
+   */
+  private static byte typeOf(Field field) {
+    final int modifiers = field.getModifiers();
+    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+      return 0;
+    }
+    if (field.getDeclaringClass() == LogEvent.class) {
+      switch (field.getName()) {
+        case "throwable":
+          return BinaryFormat.THROWABLE;
+        case "spanId":
+          return BinaryFormat.STRING;
+        case "suppressed":
+          return BinaryFormat.LONG | BinaryFormat.NULLABLE;
+        default:
+          // The message, template and arguments are written as the message; the context is not written.
+          return 0;
+      }
+    }
+    if (field.isAnnotationPresent(JsonbTransient.class)) {
+      return 0;
+    }
+
+    final Class<?> type = field.getType();
+    if (type.isPrimitive()) {
+      return primitive(type);
+    }
+    final Class<?> unboxed = unbox(type);
+    if (unboxed != null) {
+      return (byte) (primitive(unboxed) | BinaryFormat.NULLABLE);
+    }
+    if (Throwable.class.isAssignableFrom(type)) {
+      return BinaryFormat.THROWABLE;
+    }
+    return BinaryFormat.STRING;
+  }
+
+  private static byte primitive(Class<?> type) {
+    if (type == boolean.class) {
+      return BinaryFormat.BOOLEAN;
+    } else if (type == byte.class) {
+      return BinaryFormat.BYTE;
+    } else if (type == short.class) {
+      return BinaryFormat.SHORT;
+    } else if (type == char.class) {
+      return BinaryFormat.CHAR;
+    } else if (type == int.class) {
+      return BinaryFormat.INT;
+    } else if (type == long.class) {
+      return BinaryFormat.LONG;
+    } else if (type == float.class) {
+      return BinaryFormat.FLOAT;
+    }
+    return BinaryFormat.DOUBLE;
+  }
+
+  private static Class<?> unbox(Class<?> type) {
+    if (type == Boolean.class) {
+      return boolean.class;
+    } else if (type == Byte.class) {
+      return byte.class;
+    } else if (type == Short.class) {
+      return short.class;
+    } else if (type == Character.class) {
+      return char.class;
+    } else if (type == Integer.class) {
+      return int.class;
+    } else if (type == Long.class) {
+      return long.class;
+    } else if (type == Float.class) {
+      return float.class;
+    } else if (type == Double.class) {
+      return double.class;
+    }
+    return null;
+  }
+}
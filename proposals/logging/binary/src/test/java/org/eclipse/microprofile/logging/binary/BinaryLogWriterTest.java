@@ -0,0 +1,172 @@
+package org.eclipse.microprofile.logging.binary;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.eclipse.microprofile.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test writing binary logs and decoding them to JSON.
+ */
+public class BinaryLogWriterTest {
+  
+  /**
+   * Test that the fields of a specialized event are written and decoded, and that a Logger name is defined once.
+   *
+   * @param dir A temporary directory.
+   * @throws IOException If a segment cannot be written or read.
+   */
+  @Test
+  public void testRoundTrip(@TempDir Path dir) throws IOException {
+    try (BinaryLogWriter writer = new BinaryLogWriter(dir, "audit", 4096)) {
+      final BinaryLoggerFactory factory = new BinaryLoggerFactory(writer);
+      final Logger<AuditEvent> log = factory.getLogger("audit", AuditEvent::new);
+      final Logger<LogEvent> plain = factory.getLogger("plain");
+      
+      log.warn(e -> {
+        e.user = "alice \"the admin\"";
+        e.attempts = 3;
+        e.elapsed = 1234567890123L;
+        e.success = false;
+        e.outcome = Outcome.DENIED;
+        e.throwable = new IllegalStateException("Locked");
+        return "Login failed";
+      });
+      log.info(e -> e.template("Welcome {} (é世)", "bob"));
+      plain.error(e -> "Plain");
+    }
+    
+    final List<Path> segments = BinaryLogDecoder.segments(dir);
+    assertEquals(1, segments.size());
+    final StringBuilder json = new StringBuilder();
+    new BinaryLogDecoder().decode(segments.get(0), json);
+    final String[] lines = json.toString().split("\n");
+    assertEquals(3, lines.length);
+    
+    assertTrue(lines[0].contains("\"level\":\"WARN\",\"logger\":\"audit\",\"type\":\"" + AuditEvent.class.getName() + "\""), 
+               lines[0]);
+    assertTrue(lines[0].endsWith("\"message\":\"Login failed\",\"throwable\":{\"type\":\"java.lang.IllegalStateException\","
+                                 + "\"message\":\"Locked\"},\"user\":\"alice \\\"the admin\\\"\",\"attempts\":3,"
+                                 + "\"elapsed\":1234567890123,\"success\":false,\"outcome\":\"DENIED\"}"), lines[0]);
+    assertTrue(lines[1].contains("\"message\":\"Welcome bob (é世)\""), lines[1]);
+    // A null String field is omitted.
+    assertFalse(lines[1].contains("\"user\""), lines[1]);
+    assertTrue(lines[2].contains("\"level\":\"ERROR\",\"logger\":\"plain\",\"type\":\"" + LogEvent.class.getName() 
+                                 + "\",\"message\":\"Plain\"}"), lines[2]);
+  }
+  
+  /**
+   * Test that full segments are rolled, that each segment can be decoded on its own, and that events
+   * too large for a segment are dropped.
+   *
+   * @param dir A temporary directory.
+   * @throws IOException If a segment cannot be written or read.
+   */
+  @Test
+  public void testSegments(@TempDir Path dir) throws IOException {
+    try (BinaryLogWriter writer = new BinaryLogWriter(dir, "app", 1024)) {
+      final int name = writer.defineName("app");
+      for (int i = 0; i < 100; i++) {
+        final LogEvent event = new LogEvent();
+        event.message = "Event " + i;
+        writer.write(name, Level.INFO, event);
+      }
+      
+      final LogEvent large = new LogEvent();
+      large.message = new String(new char[2048]).replace('\0', 'x');
+      writer.write(name, Level.INFO, large);
+      assertEquals(1, writer.getDroppedCount());
+    }
+    
+    final List<Path> segments = BinaryLogDecoder.segments(dir);
+    assertTrue(segments.size() > 1, "Segments " + segments);
+    int events = 0;
+    for (Path segment : segments) {
+      final StringBuilder json = new StringBuilder();
+      new BinaryLogDecoder().decode(segment, json);
+      // The segment started for the dropped event is empty.
+      for (String line : json.toString().split("\n")) {
+        if (line.isEmpty()) {
+          continue;
+        }
+        assertTrue(line.contains("\"logger\":\"app\",\"type\":\"" + LogEvent.class.getName() + "\",\"message\":\"Event " + events + "\""), 
+                   line);
+        events++;
+      }
+    }
+    assertEquals(100, events);
+    
+    // A new writer continues after the existing segments.
+    try (BinaryLogWriter writer = new BinaryLogWriter(dir, "app", 1024)) {
+      writer.write(writer.defineName("app"), Level.INFO, new LogEvent());
+    }
+    assertEquals(segments.size() + 1, BinaryLogDecoder.segments(dir).size());
+  }
+  
+  /**
+   * Test that a record whose writer never completed it is skipped, and the records following it are decoded.
+   *
+   * @param dir A temporary directory.
+   * @throws IOException If a segment cannot be written or read.
+   */
+  @Test
+  public void testPendingRecordIsSkipped(@TempDir Path dir) throws IOException {
+    try (BinaryLogWriter writer = new BinaryLogWriter(dir, "app", 4096)) {
+      final int name = writer.defineName("app");
+      for (int i = 0; i < 3; i++) {
+        final LogEvent event = new LogEvent();
+        event.message = "Event " + i;
+        writer.write(name, Level.INFO, event);
+      }
+    }
+    
+    final Path segment = BinaryLogDecoder.segments(dir).get(0);
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+      // Mark the first event as claimed but not completed, as a writer does at claim time.
+      int start = BinaryFormat.HEADER_SIZE;
+      while (buffer.get(start + 4) != BinaryFormat.EVENT) {
+        start += buffer.getInt(start);
+      }
+      buffer.putInt(start, -buffer.getInt(start));
+      buffer.force();
+    }
+    
+    final StringBuilder json = new StringBuilder();
+    new BinaryLogDecoder().decode(segment, json);
+    final String[] lines = json.toString().split("\n");
+    assertEquals(2, lines.length, json.toString());
+    assertTrue(lines[0].contains("\"message\":\"Event 1\""), lines[0]);
+    assertTrue(lines[1].contains("\"message\":\"Event 2\""), lines[1]);
+  }
+  
+  /**
+   * The outcome of an audited action.
+   */
+  public enum Outcome {
+    ALLOWED, DENIED
+  }
+  
+  /**
+   * A specialized event.
+   */
+  public static class AuditEvent extends LogEvent {
+    public String user;
+    public int attempts;
+    public long elapsed;
+    public boolean success;
+    public Outcome outcome;
+    public transient String notWritten;
+  }
+}
@@ -0,0 +1,401 @@
+package org.eclipse.microprofile.logging.jul;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ErrorManager;
+import java.util.logging.Filter;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+
+/**
+ * A java.util.logging Handler writing to a file from a background Thread.
+ *
+ * <p>
+ * Records are formatted on the logging Thread and handed to a bounded queue; a logging Thread
+ * only waits when the queue is full. The writer Thread drains the queue in batches, encodes the
+ * records into a direct buffer and writes the buffer to a {@link FileChannel} when it is full, or
+ * when the queue is empty; so a burst of records costs few system calls.
+ * </p>
+ *
+ * <p>
+ * When the file reaches the size limit, it is rotated: {@code app.log} becomes {@code app.log.1},
+ * {@code app.log.1} becomes {@code app.log.2}, and so on, keeping at most {@code count} files in all.
+ * </p>
+ *
+ * <p>
+ * Configured, like {@link java.util.logging.FileHandler}, through the LogManager with the
+ * following properties, prefixed by the class name:
+ * <ul>
+ *  <li>{@code .pattern}: The file; {@code %h} is replaced by the user's home directory and {@code %t}
+ *      by the temporary directory. Default {@code %h/microprofile-logging.log}.</li>
+ *  <li>{@code .limit}: The size in bytes at which the file is rotated, {@code 0} for no limit. Default {@code 0}.</li>
+ *  <li>{@code .count}: The number of files kept. Default {@code 1}.</li>
+ *  <li>{@code .capacity}: The number of records queued. Default {@code 8192}.</li>
+ *  <li>{@code .bufferSize}: The size in bytes of the write buffer. Default {@code 65536}.</li>
+ *  <li>{@code .level}, {@code .filter}, {@code .formatter} and {@code .encoding}: As for any Handler;
+ *      the default formatter is a {@link LineFormatter} and the default encoding UTF-8.</li>
+ * </ul>
+ * </p>
+ */
+public class AsyncFileHandler extends Handler {
+
+  /** The number of records taken from the queue at once */
+  private static final int BATCH = 256;
+
+  /** The time flush() waits for the queued records to be written */
+  private static final long FLUSH_TIMEOUT_MILLIS = 10_000;
+
+  private static final Object CLOSE = new Object();
+
+  private final Path path;
+  private final long limit;
+  private final int count;
+  private final BlockingQueue<Object> queue;
+  private final ByteBuffer buffer;
+  private final CharsetEncoder encoder;
+  private final Thread writer;
+
+  /** Owned by the writer Thread */
+  private FileChannel channel;
+  private long size;
+
+  private volatile boolean closed;
+
+  /**
+   * Create a Handler configured by the LogManager.
+   *
+   * @throws IOException If the file cannot be opened.
+   */
+  public AsyncFileHandler() throws IOException {
+    this(Config.string("pattern", "%h/microprofile-logging.log"), Config.number("limit", 0), 
+         (int) Config.number("count", 1), (int) Config.number("capacity", 8192), 
+         (int) Config.number("bufferSize", 65536));
+  }
+
+  /**
+   * Create a Handler.
+   *
+   * @param pattern The file; {@code %h} is replaced by the user's home directory and {@code %t} by the temporary directory.
+   * @param limit The size in bytes at which the file is rotated, {@code 0} for no limit.
+   * @param count The number of files kept.
+   * @param capacity The number of records queued.
+   * @param bufferSize The size in bytes of the write buffer.
+   * @throws IOException If the file cannot be opened.
+   */
+  public AsyncFileHandler(String pattern, long limit, int count, int capacity, int bufferSize) throws IOException {
+    if (limit < 0 || count < 1 || capacity < 1 || bufferSize < 16) {
+      throw new IllegalArgumentException("Not a valid configuration: limit " + limit + ", count " + count 
+                                         + ", capacity " + capacity + ", bufferSize " + bufferSize);
+    }
+    this.path = Paths.get(pattern.replace("%h", System.getProperty("user.home"))
+                                 .replace("%t", System.getProperty("java.io.tmpdir")));
+    this.limit = limit;
+    this.count = count;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    Config.configure(this);
+    this.encoder = charset().newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    open(StandardOpenOption.APPEND);
+
+    this.writer = new Thread(this::run, "mp-logging-file-writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  @Override
+  public void publish(LogRecord record) {
+    if (closed || !isLoggable(record)) {
+      return;
+    }
+
+    final String formatted;
+    try {
+      formatted = getFormatter().format(record);
+    } catch (Exception e) {
+      reportError(null, e, ErrorManager.FORMAT_FAILURE);
+      return;
+    }
+    enqueue(formatted);
+  }
+
+  /**
+   * Wait for the records published before the call to be written to the file.
+   */
+  @Override
+  public void flush() {
+    if (closed) {
+      return;
+    }
+    final CountDownLatch written = new CountDownLatch(1);
+    if (enqueue(written)) {
+      try {
+        written.await(FLUSH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Write the queued records and close the file. Records published afterwards are discarded.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      // The writer Thread drains the queue up to CLOSE, unless it died.
+      while (writer.isAlive()) {
+        if (queue.offer(CLOSE, 100, TimeUnit.MILLISECONDS)) {
+          writer.join(FLUSH_TIMEOUT_MILLIS);
+          break;
+        }
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    }
+    if (!writer.isAlive()) {
+      queue.clear();
+      closeChannel();
+    }
+  }
+
+  /**
+   * @return The file written to.
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Hand an item to the writer Thread, waiting while the queue is full.
+   *
+   * @param item A formatted record, a flush latch or {@link #CLOSE}.
+   * @return true if the item was queued, false if the Handler was closed or its writer Thread died.
+   */
+  private boolean enqueue(Object item) {
+    try {
+      while (!closed && writer.isAlive()) {
+        if (queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+    }
+    return false;
+  }
+
+  /**
+   * The writer Thread: drain the queue in batches, writing the buffer whenever the queue is empty.
+   */
+  private void run() {
+    final List<Object> batch = new ArrayList<>(BATCH);
+    try {
+      for (;;) {
+        batch.add(queue.take());
+        queue.drainTo(batch, BATCH - 1);
+        for (Object item : batch) {
+          if (item == CLOSE) {
+            writeBuffer();
+            closeChannel();
+            return;
+          } else if (item instanceof CountDownLatch) {
+            writeBuffer();
+            ((CountDownLatch) item).countDown();
+          } else {
+            append((String) item);
+          }
+        }
+        batch.clear();
+        if (queue.isEmpty()) {
+          writeBuffer();
+        }
+      }
+    } catch (InterruptedException ie) {
+      writeBuffer();
+      closeChannel();
+    } catch (Throwable t) {
+      // Records published from now on are discarded, rather than waiting for a queue nobody drains.
+      reportError("The writer Thread failed, records are discarded", t instanceof Exception ? (Exception) t : new Exception(t), 
+                  ErrorManager.GENERIC_FAILURE);
+    }
+  }
+
+  /**
+   * Encode a record into the buffer, writing the buffer each time it fills, and rotating the
+   * file first if the record would start beyond the size limit.
+   *
+   * @param record The formatted record.
+   */
+  private void append(String record) {
+    if (limit > 0 && size + buffer.position() >= limit) {
+      writeBuffer();
+      rotate();
+    }
+
+    final CharBuffer chars = CharBuffer.wrap(record);
+    encoder.reset();
+    CoderResult result;
+    do {
+      result = encoder.encode(chars, buffer, true);
+      if (result.isOverflow()) {
+        writeBuffer();
+      }
+    } while (result.isOverflow());
+    while (encoder.flush(buffer).isOverflow()) {
+      writeBuffer();
+    }
+  }
+
+  /**
+   * Write the content of the buffer to the file.
+   */
+  private void writeBuffer() {
+    if (buffer.position() == 0) {
+      return;
+    }
+    buffer.flip();
+    try {
+      while (buffer.hasRemaining()) {
+        size += channel.write(buffer);
+      }
+    } catch (IOException | RuntimeException e) {
+      reportError(null, e, ErrorManager.WRITE_FAILURE);
+    } finally {
+      buffer.clear();
+    }
+  }
+
+  /**
+   * Shift the kept files up by one, and start a new file.
+   */
+  private void rotate() {
+    closeChannel();
+    try {
+      if (count > 1) {
+        for (int i = count - 2; i >= 1; i--) {
+          final Path from = generation(i);
+          if (Files.exists(from)) {
+            Files.move(from, generation(i + 1), StandardCopyOption.REPLACE_EXISTING);
+          }
+        }
+        Files.move(path, generation(1), StandardCopyOption.REPLACE_EXISTING);
+      }
+      open(StandardOpenOption.TRUNCATE_EXISTING);
+    } catch (IOException | RuntimeException e) {
+      reportError(null, e, ErrorManager.OPEN_FAILURE);
+    }
+  }
+
+  private Path generation(int i) {
+    return path.resolveSibling(path.getFileName() + "." + i);
+  }
+
+  private void open(StandardOpenOption mode) throws IOException {
+    final Path parent = path.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+    size = channel.size();
+  }
+
+  private void closeChannel() {
+    try {
+      if (channel != null) {
+        channel.close();
+      }
+    } catch (IOException e) {
+      reportError(null, e, ErrorManager.CLOSE_FAILURE);
+    }
+  }
+
+  private Charset charset() {
+    final String encoding = getEncoding();
+    return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+  }
+
+  /**
+   * Reads the properties of the Handler from the LogManager.
+   */
+  private static final class Config {
+
+    private static final String PREFIX = AsyncFileHandler.class.getName() + ".";
+
+    private Config() {
+    }
+
+    static String string(String name, String defaultValue) {
+      final String value = LogManager.getLogManager().getProperty(PREFIX + name);
+      return value != null ? value.trim() : defaultValue;
+    }
+
+    static long number(String name, long defaultValue) {
+      try {
+        return Long.parseLong(string(name, Long.toString(defaultValue)));
+      } catch (NumberFormatException nfe) {
+        return defaultValue;
+      }
+    }
+
+    static void configure(AsyncFileHandler handler) {
+      try {
+        handler.setLevel(Level.parse(string("level", Level.ALL.getName())));
+      } catch (IllegalArgumentException iae) {
+        // Not a valid Level, all records are published.
+      }
+      handler.setFormatter(instance(string("formatter", null), Formatter.class, new LineFormatter()));
+      final Filter filter = instance(string("filter", null), Filter.class, null);
+      if (filter != null) {
+        handler.setFilter(filter);
+      }
+      try {
+        handler.setEncoding(string("encoding", null));
+      } catch (Exception e) {
+        // Not a supported encoding, the default is used.
+      }
+    }
+
+    /**
+     * Create an instance of a configured class, loaded like the application's classes, E.g. in a container.
+     */
+    private static <T> T instance(String className, Class<T> type, T defaultValue) {
+      if (className == null) {
+        return defaultValue;
+      }
+      try {
+        final ClassLoader context = Thread.currentThread().getContextClassLoader();
+        final ClassLoader loader = context != null ? context : ClassLoader.getSystemClassLoader();
+        return type.cast(Class.forName(className, true, loader).getDeclaredConstructor().newInstance());
+      } catch (Exception e) {
+        return defaultValue;
+      }
+    }
+  }
+}
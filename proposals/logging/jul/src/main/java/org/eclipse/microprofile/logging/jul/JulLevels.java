@@ -0,0 +1,102 @@
+package org.eclipse.microprofile.logging.jul;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.microprofile.logging.Level;
+
+/**
+ * Maps MicroProfile Logging {@link Level}s to java.util.logging Levels.
+ *
+ * <p>
+ * The integer values of the predefined Levels match those of java.util.logging, so a Level maps
+ * to the java.util.logging Level of the same value: ERROR to SEVERE, WARN to WARNING, INFO to INFO,
+ * DEBUG to FINE and TRACE to FINER. The predefined Levels are held in a table; custom Levels
+ * are mapped once and cached. As java.util.logging keeps every Level it parses, only up to
+ * {@link Level#MAX_CUSTOM_LEVELS} custom Levels are mapped to their own java.util.logging Level;
+ * further ones are mapped to the nearest standard java.util.logging Level.
+ * </p>
+ */
+final class JulLevels {
+
+  private static final Level[] LEVELS = {Level.ALL, Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR, Level.OFF};
+
+  private static final java.util.logging.Level[] JUL_LEVELS = {
+    java.util.logging.Level.ALL,
+    java.util.logging.Level.FINER,
+    java.util.logging.Level.FINE,
+    java.util.logging.Level.INFO,
+    java.util.logging.Level.WARNING,
+    java.util.logging.Level.SEVERE,
+    java.util.logging.Level.OFF
+  };
+
+  private static final java.util.logging.Level[] STANDARD_JUL_LEVELS = {
+    java.util.logging.Level.FINEST,
+    java.util.logging.Level.FINER,
+    java.util.logging.Level.FINE,
+    java.util.logging.Level.CONFIG,
+    java.util.logging.Level.INFO,
+    java.util.logging.Level.WARNING,
+    java.util.logging.Level.SEVERE
+  };
+
+  private static final ConcurrentMap<Integer, java.util.logging.Level> CUSTOM = new ConcurrentHashMap<>();
+
+  private JulLevels() {
+  }
+
+  /**
+   * Get the java.util.logging Level of a Level.
+   *
+   * @param lvl The Level.
+   * @return The java.util.logging Level with the same integer value, or the nearest standard one.
+   */
+  static java.util.logging.Level toJul(Level lvl) {
+    final int value = lvl.intValue();
+    for (int i = 0; i < LEVELS.length; i++) {
+      if (LEVELS[i].intValue() == value) {
+        return JUL_LEVELS[i];
+      }
+    }
+    final java.util.logging.Level custom = CUSTOM.get(value);
+    if (custom != null) {
+      return custom;
+    }
+    if (CUSTOM.size() >= Level.MAX_CUSTOM_LEVELS) {
+      return nearest(value);
+    }
+    return CUSTOM.computeIfAbsent(value, v -> java.util.logging.Level.parse(Integer.toString(v)));
+  }
+
+  /**
+   * Get the standard java.util.logging Level nearest to a value; the lower one if two are as near.
+   *
+   * @param value The integer value of a Level.
+   * @return The standard java.util.logging Level.
+   */
+  private static java.util.logging.Level nearest(int value) {
+    java.util.logging.Level nearest = STANDARD_JUL_LEVELS[0];
+    for (java.util.logging.Level julLevel : STANDARD_JUL_LEVELS) {
+      if (Math.abs((long) julLevel.intValue() - value) < Math.abs((long) nearest.intValue() - value)) {
+        nearest = julLevel;
+      }
+    }
+    return nearest;
+  }
+
+  /**
+   * Get the Level of a java.util.logging Level, E.g. to show DEBUG rather than FINE.
+   *
+   * @param julLevel The java.util.logging Level.
+   * @return The Level with the same integer value.
+   */
+  static Level fromJul(java.util.logging.Level julLevel) {
+    final int value = julLevel.intValue();
+    for (int i = 0; i < JUL_LEVELS.length; i++) {
+      if (JUL_LEVELS[i].intValue() == value) {
+        return LEVELS[i];
+      }
+    }
+    return Level.valueOf(value);
+  }
+}
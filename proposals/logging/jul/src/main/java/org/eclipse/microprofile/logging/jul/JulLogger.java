@@ -0,0 +1,109 @@
+package org.eclipse.microprofile.logging.jul;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.logging.Filter;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import org.eclipse.microprofile.logging.AbstractLogger;
+import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+
+/**
+ * Logger writing to a java.util.logging Logger.
+ *
+ * <p>
+ * Each event is published as a {@link LogRecord} whose message is the event as JSON, whose only
+ * parameter is that same JSON and whose thrown is the event's Throwable. The event itself is not
+ * passed on, as it may be recycled once written while a Handler still holds the record. The source
+ * class and method are not inferred, as doing so walks the Stack for every record. A batch of events,
+ * E.g. of a request, is published to Handlers resolved once for the batch.
+ * </p>
+ *
+ * @param <T> The Type of LogEvents the Logger generates.
+ */
+public class JulLogger<T extends LogEvent> extends AbstractLogger<T> {
+
+  private final java.util.logging.Logger delegate;
+
+  /**
+   * Create a Logger.
+   *
+   * @param name The name of the Logger.
+   * @param supplier The supplier of LogEvents.
+   * @param delegate The java.util.logging Logger written to.
+   */
+  public JulLogger(String name, Supplier<T> supplier, java.util.logging.Logger delegate) {
+    super(name, supplier);
+    this.delegate = delegate;
+  }
+
+  @Override
+  public boolean isLoggable(Level lvl) {
+    return super.isLoggable(lvl) && delegate.isLoggable(JulLevels.toJul(lvl));
+  }
+
+  @Override
+  public void writeLog(Level lvl, T event) {
+    delegate.log(toRecord(lvl, event));
+  }
+
+  /**
+   * Write the events, resolving the Handlers of the java.util.logging Logger and its parents once
+   * for all of them rather than once per record, as {@link java.util.logging.Logger#log(LogRecord)}
+   * does. The Level and Filter of the delegate still apply to each record.
+   */
+  @Override
+  public void writeLogs(Level[] lvls, T[] events, int offset, int count) {
+    final Handler[] handlers = getHandlers();
+    final Filter filter = delegate.getFilter();
+    for (int i = offset; i < offset + count; i++) {
+      final LogRecord record = toRecord(lvls[i], events[i]);
+      if (!delegate.isLoggable(record.getLevel()) || (filter != null && !filter.isLoggable(record))) {
+        continue;
+      }
+      for (Handler handler : handlers) {
+        handler.publish(record);
+      }
+    }
+  }
+
+  /**
+   * @return The Handlers of the delegate, and of its parents up to the first that does not use its parent's.
+   */
+  private Handler[] getHandlers() {
+    Handler[] handlers = delegate.getHandlers();
+    java.util.logging.Logger logger = delegate;
+    while (logger.getUseParentHandlers() && logger.getParent() != null) {
+      logger = logger.getParent();
+      final Handler[] parentHandlers = logger.getHandlers();
+      if (parentHandlers.length > 0) {
+        final Handler[] all = Arrays.copyOf(handlers, handlers.length + parentHandlers.length);
+        System.arraycopy(parentHandlers, 0, all, handlers.length, parentHandlers.length);
+        handlers = all;
+      }
+    }
+    return handlers;
+  }
+
+  private LogRecord toRecord(Level lvl, T event) {
+    final String json = getJsonString(event);
+    final LogRecord record = new LogRecord(JulLevels.toJul(lvl), json);
+    record.setLoggerName(delegate.getName());
+    record.setParameters(new Object[] {json});
+    record.setThrown(event.throwable);
+    if (event.timestamp != 0) {
+      record.setMillis(event.timestamp);
+    }
+    record.setSourceClassName(null);
+    record.setSourceMethodName(null);
+    return record;
+  }
+
+  /**
+   * @return The java.util.logging Logger written to.
+   */
+  public java.util.logging.Logger getDelegate() {
+    return delegate;
+  }
+}
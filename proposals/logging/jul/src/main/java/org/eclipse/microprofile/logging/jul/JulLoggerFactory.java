@@ -0,0 +1,53 @@
+package org.eclipse.microprofile.logging.jul;
+
+import java.util.function.Supplier;
+import javax.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.eclipse.microprofile.logging.LogEventSupplier;
+import org.eclipse.microprofile.logging.Logger;
+import org.eclipse.microprofile.logging.LoggerFactoryProvider;
+import org.eclipse.microprofile.logging.LoggerRegistry;
+
+/**
+ * {@link LoggerFactoryProvider} writing to java.util.logging, found by the
+ * {@link org.eclipse.microprofile.logging.LoggerFactory} as a CDI bean.
+ *
+ * <p>
+ * Each Logger holds its java.util.logging Logger, so the configuration of the latter is kept while
+ * the Logger is referenced. They are not cached here, as {@link java.util.logging.Logger#getLogger(java.lang.String)}
+ * is only called when the {@link LoggerRegistry} creates a Logger, and a cache would keep the Loggers
+ * of dynamically generated names forever.
+ * </p>
+ */
+@ApplicationScoped
+public class JulLoggerFactory implements LoggerFactoryProvider {
+
+  private static final LoggerRegistry REGISTRY = new LoggerRegistry();
+
+  /** General purpose LogEvent supplier, need only one instance of this */
+  private static final LogEventSupplier LOG_EVENT_SUPPLIER = new LogEventSupplier();
+
+  @Override
+  public Logger<LogEvent> getLogger() {
+    return REGISTRY.getLogger(LOG_EVENT_SUPPLIER, key -> create(key.getName(), LOG_EVENT_SUPPLIER));
+  }
+
+  @Override
+  public <T extends LogEvent> Logger<T> getLogger(Supplier<T> supplier) {
+    return REGISTRY.getLogger(supplier, key -> create(key.getName(), supplier));
+  }
+
+  @Override
+  public Logger<LogEvent> getLogger(String name) {
+    return REGISTRY.getLogger(name, LOG_EVENT_SUPPLIER, key -> create(key.getName(), LOG_EVENT_SUPPLIER));
+  }
+
+  @Override
+  public <T extends LogEvent> Logger<T> getLogger(String name, Supplier<T> supplier) {
+    return REGISTRY.getLogger(name, supplier, key -> create(key.getName(), supplier));
+  }
+
+  private static <T extends LogEvent> JulLogger<T> create(String name, Supplier<T> supplier) {
+    return new JulLogger<>(name, supplier, java.util.logging.Logger.getLogger(name));
+  }
+}
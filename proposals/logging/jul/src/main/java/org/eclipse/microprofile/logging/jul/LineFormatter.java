@@ -0,0 +1,47 @@
+package org.eclipse.microprofile.logging.jul;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+
+/**
+ * Formats a record on a single line: time, Level, Logger name and message, followed by the Stack
+ * Trace of the thrown, if any. E.g.
+ * {@code 2020-01-01T12:00:00.123Z INFO  com.acme.Service - {"message":"Started"}}
+ *
+ * <p>
+ * Levels are shown by their MicroProfile Logging name, E.g. DEBUG rather than FINE. Unlike
+ * {@link java.util.logging.SimpleFormatter}, the message is not localized or formatted with
+ * the parameters of the record.
+ * </p>
+ */
+public class LineFormatter extends Formatter {
+
+  private static final String NEW_LINE = System.lineSeparator();
+
+  @Override
+  public String format(LogRecord record) {
+    final StringBuilder line = new StringBuilder(128);
+    DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(record.getMillis()), line);
+    line.append(' ');
+
+    final String level = JulLevels.fromJul(record.getLevel()).getName();
+    line.append(level);
+    for (int i = level.length(); i < 5; i++) {
+      line.append(' ');
+    }
+    line.append(' ').append(record.getLoggerName()).append(" - ").append(record.getMessage()).append(NEW_LINE);
+
+    if (record.getThrown() != null) {
+      final StringWriter trace = new StringWriter();
+      try (PrintWriter out = new PrintWriter(trace)) {
+        record.getThrown().printStackTrace(out);
+      }
+      line.append(trace);
+    }
+    return line.toString();
+  }
+}
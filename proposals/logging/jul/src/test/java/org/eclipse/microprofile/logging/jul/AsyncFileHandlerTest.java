@@ -0,0 +1,134 @@
+package org.eclipse.microprofile.logging.jul;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the writing and rotation of the asynchronous file Handler.
+ */
+public class AsyncFileHandlerTest {
+  
+  /**
+   * Test that records are written, in order, once flushed; and that records larger than the buffer are written whole.
+   *
+   * @param dir A temporary directory.
+   * @throws IOException If a file cannot be read.
+   */
+  @Test
+  public void testWrite(@TempDir Path dir) throws IOException {
+    final AsyncFileHandler handler = new AsyncFileHandler(dir.resolve("logs/app.log").toString(), 0, 1, 16, 64);
+    handler.setFormatter(new MessageFormatter());
+    try {
+      for (int i = 0; i < 100; i++) {
+        handler.publish(new LogRecord(Level.INFO, "Record " + i + " é"));
+      }
+      final StringBuilder large = new StringBuilder();
+      for (int i = 0; i < 100; i++) {
+        large.append("Large");
+      }
+      handler.publish(new LogRecord(Level.INFO, large.toString()));
+      handler.flush();
+      
+      final List<String> lines = Files.readAllLines(handler.getPath(), StandardCharsets.UTF_8);
+      assertEquals(101, lines.size());
+      assertEquals("Record 0 é", lines.get(0));
+      assertEquals("Record 99 é", lines.get(99));
+      assertEquals(large.toString(), lines.get(100));
+    } finally {
+      handler.close();
+    }
+    
+    // Published after close, so discarded.
+    handler.publish(new LogRecord(Level.INFO, "Closed"));
+    assertEquals(101, Files.readAllLines(handler.getPath(), StandardCharsets.UTF_8).size());
+  }
+  
+  /**
+   * Test that publishing and closing do not wait for a writer Thread that died, and that its failure is reported.
+   *
+   * @param dir A temporary directory.
+   * @throws IOException If a file cannot be created.
+   */
+  @Test
+  public void testWriterDied(@TempDir Path dir) throws IOException {
+    final Path file = dir.resolve("app.log");
+    // Rotation fails, as the file cannot replace a directory that is not empty.
+    Files.createDirectories(dir.resolve("app.log.1/occupied"));
+    final AsyncFileHandler handler = new AsyncFileHandler(file.toString(), 10, 2, 1, 64);
+    handler.setFormatter(new MessageFormatter());
+    final List<Integer> errors = new CopyOnWriteArrayList<>();
+    handler.setErrorManager(new ErrorManager() {
+      @Override
+      public void error(String msg, Exception ex, int code) {
+        errors.add(code);
+        if (code == ErrorManager.OPEN_FAILURE) {
+          // Handler.reportError() only catches Exceptions.
+          throw new Error("Writer dies");
+        }
+      }
+    });
+    
+    assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+      for (int i = 0; i < 100; i++) {
+        handler.publish(new LogRecord(Level.INFO, "Record " + i));
+      }
+      handler.close();
+    });
+    assertTrue(errors.contains(ErrorManager.GENERIC_FAILURE), "Errors " + errors);
+  }
+  
+  /**
+   * Test that the file is rotated at the size limit, keeping the configured number of files.
+   *
+   * @param dir A temporary directory.
+   * @throws IOException If a file cannot be read.
+   */
+  @Test
+  public void testRotation(@TempDir Path dir) throws IOException {
+    final Path file = dir.resolve("app.log");
+    // Each record is 10 bytes, so each file holds 10 records.
+    final AsyncFileHandler handler = new AsyncFileHandler(file.toString(), 100, 3, 16, 32);
+    handler.setFormatter(new MessageFormatter());
+    try {
+      for (int i = 0; i < 45; i++) {
+        handler.publish(new LogRecord(Level.INFO, String.format("Record %02d", i)));
+      }
+      handler.flush();
+    } finally {
+      handler.close();
+    }
+    
+    assertEquals("Record 40", Files.readAllLines(file).get(0));
+    assertEquals(5, Files.readAllLines(file).size());
+    assertEquals("Record 30", Files.readAllLines(dir.resolve("app.log.1")).get(0));
+    assertEquals("Record 20", Files.readAllLines(dir.resolve("app.log.2")).get(0));
+    assertFalse(Files.exists(dir.resolve("app.log.3")));
+    assertTrue(Files.size(dir.resolve("app.log.1")) <= 100);
+  }
+  
+  /**
+   * Writes only the message, on its own line.
+   */
+  private static class MessageFormatter extends Formatter {
+    @Override
+    public String format(LogRecord record) {
+      return record.getMessage() + "\n";
+    }
+  }
+}
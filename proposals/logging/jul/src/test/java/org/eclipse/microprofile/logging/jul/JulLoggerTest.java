@@ -0,0 +1,154 @@
+package org.eclipse.microprofile.logging.jul;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import org.eclipse.microprofile.logging.Level;
+import org.eclipse.microprofile.logging.LogEvent;
+import org.eclipse.microprofile.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the java.util.logging Logger and Level mapping.
+ */
+public class JulLoggerTest {
+  
+  private final JulLoggerFactory factory = new JulLoggerFactory();
+  
+  private final List<LogRecord> records = new ArrayList<>();
+  
+  private final Handler handler = new Handler() {
+    @Override
+    public void publish(LogRecord record) {
+      records.add(record);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+  };
+  
+  private java.util.logging.Logger root;
+  
+  @BeforeEach
+  public void beforeEach() {
+    root = java.util.logging.Logger.getLogger("");
+    root.addHandler(handler);
+  }
+  
+  @AfterEach
+  public void afterEach() {
+    root.removeHandler(handler);
+  }
+  
+  /**
+   * Test that the predefined Levels map to the java.util.logging Levels of the same value, and back.
+   */
+  @Test
+  public void testLevels() {
+    assertSame(java.util.logging.Level.SEVERE, JulLevels.toJul(Level.ERROR));
+    assertSame(java.util.logging.Level.WARNING, JulLevels.toJul(Level.WARN));
+    assertSame(java.util.logging.Level.INFO, JulLevels.toJul(Level.INFO));
+    assertSame(java.util.logging.Level.FINE, JulLevels.toJul(Level.DEBUG));
+    assertSame(java.util.logging.Level.FINER, JulLevels.toJul(Level.TRACE));
+    assertSame(java.util.logging.Level.OFF, JulLevels.toJul(Level.OFF));
+    assertEquals(850, JulLevels.toJul(Level.parse("850")).intValue());
+    assertSame(JulLevels.toJul(Level.parse("850")), JulLevels.toJul(Level.parse("850")));
+    
+    assertSame(Level.DEBUG, JulLevels.fromJul(java.util.logging.Level.FINE));
+    assertEquals("700", JulLevels.fromJul(java.util.logging.Level.CONFIG).getName());
+  }
+  
+  /**
+   * Test that custom Levels beyond the cap map to the nearest standard java.util.logging Level.
+   */
+  @Test
+  public void testCustomLevelsCapped() {
+    final java.util.logging.Level mapped = JulLevels.toJul(Level.parse("850"));
+    for (int i = 0; i < Level.MAX_CUSTOM_LEVELS; i++) {
+      JulLevels.toJul(Level.parse(Integer.toString(10_000 + i)));
+    }
+    assertSame(java.util.logging.Level.WARNING, JulLevels.toJul(Level.parse("880")));
+    assertSame(java.util.logging.Level.INFO, JulLevels.toJul(Level.parse("840")));
+    assertSame(mapped, JulLevels.toJul(Level.parse("850")));
+    assertSame(java.util.logging.Level.FINEST, JulLevels.toJul(Level.parse("1")));
+    assertSame(java.util.logging.Level.SEVERE, JulLevels.toJul(Level.parse("20000")));
+  }
+  
+  /**
+   * Test that an event is published as a record, and that the java.util.logging Level is honoured.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testWrite(TestInfo info) {
+    final Logger<LogEvent> log = factory.getLogger(info.getDisplayName());
+    assertSame(log, factory.getLogger(info.getDisplayName()));
+    java.util.logging.Logger.getLogger(info.getDisplayName()).setLevel(java.util.logging.Level.INFO);
+    
+    final Exception failure = new Exception("Failure");
+    log.warn(e -> {
+      e.throwable = failure;
+      return "Something failed";
+    });
+    log.debug(e -> "Not loggable");
+    assertFalse(log.isLoggable(Level.DEBUG));
+    assertTrue(log.isLoggable(Level.INFO));
+    
+    assertEquals(1, records.size());
+    final LogRecord record = records.get(0);
+    assertSame(java.util.logging.Level.WARNING, record.getLevel());
+    assertEquals(info.getDisplayName(), record.getLoggerName());
+    assertEquals("{\"message\":\"Something failed\"}", record.getMessage());
+    assertSame(failure, record.getThrown());
+    assertArrayEquals(new Object[] {record.getMessage()}, record.getParameters());
+    
+    final String line = new LineFormatter().format(record);
+    assertTrue(line.contains(" WARN  " + info.getDisplayName() + " - {\"message\":\"Something failed\"}"), line);
+    assertTrue(line.contains("java.lang.Exception: Failure"), line);
+  }
+  
+  /**
+   * Test that a batch of events is published to the Handlers of the parents, that the java.util.logging
+   * Level and Filter apply to each record, and that the timestamp of an event is the time of its record.
+   *
+   * @param info Test information.
+   */
+  @Test
+  public void testWriteLogs(TestInfo info) {
+    final JulLogger<LogEvent> log = (JulLogger<LogEvent>) factory.getLogger(info.getDisplayName());
+    log.getDelegate().setLevel(java.util.logging.Level.INFO);
+    log.getDelegate().setFilter(record -> !record.getMessage().contains("Filtered"));
+    
+    final Level[] lvls = {Level.ERROR, Level.INFO, Level.DEBUG, Level.WARN, Level.INFO};
+    final String[] messages = {"Skipped", "First", "Not loggable", "Filtered", "Second"};
+    final LogEvent[] events = new LogEvent[messages.length];
+    for (int i = 0; i < events.length; i++) {
+      events[i] = new LogEvent();
+      events[i].message = messages[i];
+    }
+    events[1].timestamp = 1234;
+    log.writeLogs(lvls, events, 1, 4);
+    
+    assertEquals(2, records.size());
+    assertEquals("{\"message\":\"First\"}", records.get(0).getMessage());
+    assertEquals("{\"message\":\"Second\"}", records.get(1).getMessage());
+    assertSame(java.util.logging.Level.INFO, records.get(1).getLevel());
+    // The time the statement was made, if written later.
+    assertEquals(1234, records.get(0).getMillis());
+  }
+}
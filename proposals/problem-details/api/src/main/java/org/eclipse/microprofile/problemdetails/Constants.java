@@ -17,6 +17,11 @@ public class Constants {
      */
     public static final String PROBLEM_DETAIL_XML = "application/problem+xml";
 
+    /**
+     * The YAML formatted details body of a failing http request.
+     */
+    public static final String PROBLEM_DETAIL_YAML = "application/problem+yaml";
+
     private static final String CONFIG_PREFIX = Constants.class.getPackage().getName() + ".";
 
     /**
@@ -0,0 +1,235 @@
+package org.eclipse.microprofile.problemdetails;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * The problem detail metadata of an exception class: the <code>type</code>, <code>title</code>,
+ * <code>status</code> and logging, with the annotations in this package applied to their defaults,
+ * and accessors for the <code>detail</code>, <code>instance</code> and extension fields and methods.
+ * <p>
+ * The descriptors are generated at compile time by the
+ * {@link org.eclipse.microprofile.problemdetails.processor.ProblemDetailProcessor} as a class next to
+ * the exception, named like the exception with the suffix {@value #SUFFIX}, so an implementation can map
+ * an exception without reflecting on its annotations. There is no descriptor for local or anonymous
+ * exception classes, nor for exceptions compiled without the processor.
+ *
+ * @param <T> the exception class described
+ */
+public abstract class ProblemDetailDescriptor<T extends Throwable> {
+    /** The suffix appended to the binary simple name of the exception to name its descriptor */
+    public static final String SUFFIX = "_ProblemDetail";
+
+    private final Class<T> exceptionType;
+    private final String type;
+    private final String title;
+    private final ResponseStatus status;
+    private final String logCategory;
+    private final LogLevel logLevel;
+    private final List<Member<T>> details;
+    private final List<Member<T>> instances;
+    private final List<Member<T>> extensions;
+
+    protected ProblemDetailDescriptor(Class<T> exceptionType, String type, String title, ResponseStatus status,
+                                      String logCategory, LogLevel logLevel,
+                                      List<Member<T>> details, List<Member<T>> instances, List<Member<T>> extensions) {
+        this.exceptionType = exceptionType;
+        this.type = type;
+        this.title = title;
+        this.status = status;
+        this.logCategory = logCategory;
+        this.logLevel = logLevel;
+        this.details = unmodifiableList(details);
+        this.instances = unmodifiableList(instances);
+        this.extensions = unmodifiableList(extensions);
+    }
+
+    /**
+     * Load the generated descriptor of an exception class.
+     *
+     * @return the descriptor, or <code>null</code> if none was generated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Throwable> ProblemDetailDescriptor<T> load(Class<T> exceptionType) {
+        String name = exceptionType.getName() + SUFFIX;
+        try {
+            Class<?> descriptorType = Class.forName(name, true, exceptionType.getClassLoader());
+            if (!ProblemDetailDescriptor.class.isAssignableFrom(descriptorType))
+                return null;
+            ProblemDetailDescriptor<?> descriptor = (ProblemDetailDescriptor<?>) descriptorType.getConstructor().newInstance();
+            return (descriptor.exceptionType == exceptionType) ? (ProblemDetailDescriptor<T>) descriptor : null;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("can't instantiate problem detail descriptor " + name, e);
+        }
+    }
+
+    public Class<T> getExceptionType() { return exceptionType; }
+
+    /** The <code>type</code> URI: from {@link Type} or {@link #defaultType(String)} */
+    public String getType() { return type; }
+
+    /** The <code>title</code>: from {@link Title} or {@link #defaultTitle(String)} */
+    public String getTitle() { return title; }
+
+    /** The http status: from {@link Status} or {@link #defaultStatus(String)} */
+    public ResponseStatus getStatus() { return status; }
+
+    /** The log category: from {@link Logging#to()} of the exception or its package, or the exception class name */
+    public String getLogCategory() { return logCategory; }
+
+    /** The log level: from {@link Logging#at()} of the exception or its package; possibly {@link LogLevel#AUTO} */
+    public LogLevel getLogLevel() { return logLevel; }
+
+    /** The {@link Detail} fields and methods, ordered by their name */
+    public List<Member<T>> getDetails() { return details; }
+
+    /** The {@link Instance} fields and methods, ordered by their name */
+    public List<Member<T>> getInstances() { return instances; }
+
+    /** The {@link Extension} fields and methods, ordered by their extension name */
+    public List<Member<T>> getExtensions() { return extensions; }
+
+    @Override public String toString() {
+        return "ProblemDetailDescriptor[" + exceptionType.getName() + "]";
+    }
+
+
+    /**
+     * The default <code>type</code> of an exception: a URN <code>urn:problem-type:</code> with the
+     * simple class name converted from camel case to kebab case and a trailing <code>Exception</code> stripped.
+     */
+    public static String defaultType(String simpleName) {
+        String name = simpleName.endsWith("Exception")
+            ? simpleName.substring(0, simpleName.length() - "Exception".length())
+            : simpleName;
+        return "urn:problem-type:" + splitCamelCase(name, '-').toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The default <code>title</code> of an exception: the simple class name without a trailing
+     * <code>Exception</code>, split into words at the camel case humps.
+     */
+    public static String defaultTitle(String simpleName) {
+        String name = simpleName.endsWith("Exception")
+            ? simpleName.substring(0, simpleName.length() - "Exception".length())
+            : simpleName;
+        return splitCamelCase(name, ' ');
+    }
+
+    /**
+     * The default status of an exception: <code>500 Internal Server Error</code> for standard exceptions,
+     * i.e. in packages starting with <code>java.</code>, <code>javax.</code>, or <code>jakarta.</code>;
+     * <code>400 Bad Request</code> for custom exceptions.
+     */
+    public static ResponseStatus defaultStatus(String className) {
+        return (className.startsWith("java.") || className.startsWith("javax.") || className.startsWith("jakarta."))
+            ? ResponseStatus.INTERNAL_SERVER_ERROR
+            : ResponseStatus.BAD_REQUEST;
+    }
+
+    private static String splitCamelCase(String name, char delimiter) {
+        StringBuilder out = new StringBuilder(name.length() + 8);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (i > 0 && Character.isUpperCase(c))
+                out.append(delimiter);
+            out.append(c);
+        }
+        return out.toString();
+    }
+
+
+    @SafeVarargs
+    protected static <T> List<Member<T>> members(Member<T>... members) {
+        return (members.length == 0) ? Collections.emptyList() : Arrays.asList(members);
+    }
+
+    /**
+     * A handle to read a field that generated code can't access directly, e.g. a private one.
+     * It's looked up once, when the descriptor is initialized, and typed <code>(Throwable)Object</code>.
+     */
+    protected static MethodHandle field(Class<?> type, String name) {
+        try {
+            Field field = type.getDeclaredField(name);
+            field.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflectGetter(field);
+            return adapt(handle, Modifier.isStatic(field.getModifiers()));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("can't access field " + type.getName() + "." + name, e);
+        }
+    }
+
+    /**
+     * A handle to invoke a no-arg method that generated code can't access directly, e.g. a private one.
+     * It's looked up once, when the descriptor is initialized, and typed <code>(Throwable)Object</code>.
+     */
+    protected static MethodHandle method(Class<?> type, String name) {
+        try {
+            Method method = type.getDeclaredMethod(name);
+            method.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            return adapt(handle, Modifier.isStatic(method.getModifiers()));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("can't access method " + type.getName() + "." + name, e);
+        }
+    }
+
+    private static MethodHandle adapt(MethodHandle handle, boolean isStatic) {
+        if (isStatic)
+            handle = MethodHandles.dropArguments(handle, 0, Throwable.class);
+        return handle.asType(methodType(Object.class, Throwable.class));
+    }
+
+
+    /**
+     * Reads the value of a field or no-arg method from an exception.
+     */
+    @FunctionalInterface
+    public interface Accessor<T> {
+        Object get(T exception) throws Throwable;
+    }
+
+    /**
+     * A field or no-arg method annotated as {@link Detail}, {@link Instance}, or {@link Extension}.
+     */
+    public static final class Member<T> {
+        private final String name;
+        private final String memberName;
+        private final Accessor<T> accessor;
+
+        public Member(String name, String memberName, Accessor<T> accessor) {
+            this.name = name;
+            this.memberName = memberName;
+            this.accessor = accessor;
+        }
+
+        /** The name of the extension; for details and instances the name of the field or method */
+        public String getName() { return name; }
+
+        /** The name of the field or method */
+        public String getMemberName() { return memberName; }
+
+        /**
+         * Read the value from an exception.
+         *
+         * @throws Throwable anything the method throws
+         */
+        public Object get(T exception) throws Throwable { return accessor.get(exception); }
+
+        @Override public String toString() {
+            return name.equals(memberName) ? name : name + "=" + memberName;
+        }
+    }
+}
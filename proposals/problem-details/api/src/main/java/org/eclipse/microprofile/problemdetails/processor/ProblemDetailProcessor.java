@@ -0,0 +1,238 @@
+package org.eclipse.microprofile.problemdetails.processor;
+
+import org.eclipse.microprofile.problemdetails.Detail;
+import org.eclipse.microprofile.problemdetails.Extension;
+import org.eclipse.microprofile.problemdetails.Instance;
+import org.eclipse.microprofile.problemdetails.LogLevel;
+import org.eclipse.microprofile.problemdetails.Logging;
+import org.eclipse.microprofile.problemdetails.ProblemDetailDescriptor;
+import org.eclipse.microprofile.problemdetails.ResponseStatus;
+import org.eclipse.microprofile.problemdetails.Status;
+import org.eclipse.microprofile.problemdetails.Title;
+import org.eclipse.microprofile.problemdetails.Type;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static javax.lang.model.element.Modifier.ABSTRACT;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.STATIC;
+
+/**
+ * Generates a {@link ProblemDetailDescriptor} for every exception class compiled, so implementations
+ * don't have to reflect on the annotations when an exception is mapped. Private fields and methods are
+ * read with a method handle looked up once; all others are accessed directly.
+ * <p>
+ * Local, anonymous, and private classes are skipped, as the generated class can't reference them.
+ * <p>
+ * Detail, instance, or extension methods taking arguments or returning <code>void</code> are reported as errors.
+ */
+@SupportedAnnotationTypes("*")
+public class ProblemDetailProcessor extends AbstractProcessor {
+    private static final String DESCRIPTOR = ProblemDetailDescriptor.class.getName();
+
+    @Override public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeMirror throwable = processingEnv.getElementUtils().getTypeElement(Throwable.class.getName()).asType();
+        for (Element element : roundEnv.getRootElements())
+            if (element instanceof TypeElement)
+                scan((TypeElement) element, throwable);
+        return false; // other processors may be interested in the same annotations
+    }
+
+    private void scan(TypeElement type, TypeMirror throwable) {
+        if (type.getModifiers().contains(PRIVATE))
+            return;
+        if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(ABSTRACT)
+            && processingEnv.getTypeUtils().isSubtype(type.asType(), throwable))
+            generate(type);
+        for (Element enclosed : type.getEnclosedElements())
+            if (enclosed instanceof TypeElement)
+                scan((TypeElement) enclosed, throwable);
+    }
+
+    private void generate(TypeElement type) {
+        List<Member> details = new ArrayList<>();
+        List<Member> instances = new ArrayList<>();
+        List<Member> extensions = new ArrayList<>();
+        for (Element element : type.getEnclosedElements()) {
+            if (element.getKind() != ElementKind.FIELD && element.getKind() != ElementKind.METHOD)
+                continue;
+            if (element.getAnnotation(Detail.class) != null && valid(element, Detail.class))
+                details.add(new Member(element, element.getSimpleName().toString()));
+            if (element.getAnnotation(Instance.class) != null && valid(element, Instance.class))
+                instances.add(new Member(element, element.getSimpleName().toString()));
+            Extension extension = element.getAnnotation(Extension.class);
+            if (extension != null && valid(element, Extension.class))
+                extensions.add(new Member(element, extension.value().isEmpty() ? element.getSimpleName().toString() : extension.value()));
+        }
+        details.sort(Comparator.comparing(member -> member.name));
+        instances.sort(Comparator.comparing(member -> member.name));
+        extensions.sort(Comparator.comparing(member -> member.name));
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String descriptorName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+            + ProblemDetailDescriptor.SUFFIX;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(binaryName + ProblemDetailDescriptor.SUFFIX, type);
+            try (PrintWriter out = new PrintWriter(file.openWriter())) {
+                write(out, type, packageName, binaryName, descriptorName, details, instances, extensions);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "can't write problem detail descriptor " + descriptorName + ": " + e, type);
+        }
+    }
+
+    private boolean valid(Element element, Class<? extends Annotation> annotation) {
+        if (element.getKind() != ElementKind.METHOD)
+            return true;
+        ExecutableElement method = (ExecutableElement) element;
+        String problem = !method.getParameters().isEmpty() ? "expected no args but got " + method.getParameters().size()
+            : (method.getReturnType().getKind() == TypeKind.VOID) ? "expected a return value"
+            : null;
+        if (problem == null)
+            return true;
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+            "@" + annotation.getSimpleName() + " method " + element.getSimpleName() + ": " + problem, element);
+        return false;
+    }
+
+    private void write(PrintWriter out, TypeElement type, String packageName, String binaryName, String descriptorName,
+                       List<Member> details, List<Member> instances, List<Member> extensions) {
+        String typeName = type.getQualifiedName().toString();
+        String simpleName = type.getSimpleName().toString();
+
+        Type typeAnnotation = type.getAnnotation(Type.class);
+        Title titleAnnotation = type.getAnnotation(Title.class);
+        Status statusAnnotation = type.getAnnotation(Status.class);
+        Logging logging = type.getAnnotation(Logging.class);
+        if (logging == null) {
+            PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+            logging = packageElement.getAnnotation(Logging.class);
+        }
+        String problemType = (typeAnnotation != null) ? typeAnnotation.value() : ProblemDetailDescriptor.defaultType(simpleName);
+        String title = (titleAnnotation != null) ? titleAnnotation.value() : ProblemDetailDescriptor.defaultTitle(simpleName);
+        ResponseStatus status = (statusAnnotation != null) ? statusAnnotation.value() : ProblemDetailDescriptor.defaultStatus(binaryName);
+        String logCategory = (logging != null && !logging.to().isEmpty()) ? logging.to() : binaryName;
+        LogLevel logLevel = (logging != null) ? logging.at() : LogLevel.AUTO;
+
+        if (!packageName.isEmpty())
+            out.println("package " + packageName + ";");
+        out.println();
+        out.println("/**");
+        out.println(" * The problem detail descriptor of {@link " + typeName + "}.");
+        out.println(" * Generated by " + getClass().getName() + "; don't edit.");
+        out.println(" */");
+        out.println("public final class " + descriptorName + " extends " + DESCRIPTOR + "<" + typeName + "> {");
+        List<Member> all = new ArrayList<>();
+        all.addAll(details);
+        all.addAll(instances);
+        all.addAll(extensions);
+        for (int i = 0; i < all.size(); i++) {
+            Member member = all.get(i);
+            if (member.element.getModifiers().contains(PRIVATE)) {
+                member.handle = "HANDLE_" + i;
+                out.println("    private static final java.lang.invoke.MethodHandle " + member.handle + " = "
+                    + (member.element.getKind() == ElementKind.FIELD ? "field" : "method")
+                    + "(" + typeName + ".class, " + literal(member.element.getSimpleName().toString()) + ");");
+            }
+        }
+        out.println();
+        out.println("    public " + descriptorName + "() {");
+        out.println("        super(" + typeName + ".class,");
+        out.println("            " + literal(problemType) + ",");
+        out.println("            " + literal(title) + ",");
+        out.println("            " + ResponseStatus.class.getName() + "." + status.name() + ",");
+        out.println("            " + literal(logCategory) + ",");
+        out.println("            " + LogLevel.class.getName() + "." + logLevel.name() + ",");
+        out.println("            " + members(details, typeName) + ",");
+        out.println("            " + members(instances, typeName) + ",");
+        out.println("            " + members(extensions, typeName) + ");");
+        out.println("    }");
+        out.println("}");
+    }
+
+    private String members(List<Member> members, String typeName) {
+        StringBuilder out = new StringBuilder("members(");
+        for (int i = 0; i < members.size(); i++) {
+            Member member = members.get(i);
+            String memberName = member.element.getSimpleName().toString();
+            if (i > 0)
+                out.append(",");
+            out.append("\n                new Member<>(").append(literal(member.name)).append(", ")
+                .append(literal(memberName)).append(", e -> ");
+            String call = (member.element.getKind() == ElementKind.METHOD) ? "()" : "";
+            if (member.handle != null)
+                out.append("(Object) ").append(member.handle).append(".invokeExact((Throwable) e)");
+            else if (member.element.getModifiers().contains(STATIC))
+                out.append(typeName).append(".").append(memberName).append(call);
+            else
+                out.append("e.").append(memberName).append(call);
+            out.append(")");
+        }
+        return out.append(")").toString();
+    }
+
+    private static String literal(String value) {
+        StringBuilder out = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < ' ' || c > '~')
+                        out.append(String.format("\\u%04x", (int) c));
+                    else
+                        out.append(c);
+            }
+        }
+        return out.append("\"").toString();
+    }
+
+    private static class Member {
+        private final Element element;
+        private final String name;
+        private String handle;
+
+        private Member(Element element, String name) {
+            this.element = element;
+            this.name = name;
+        }
+    }
+}
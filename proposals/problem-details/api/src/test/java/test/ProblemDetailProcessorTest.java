@@ -0,0 +1,123 @@
+package test;
+
+import org.eclipse.microprofile.problemdetails.Detail;
+import org.eclipse.microprofile.problemdetails.Extension;
+import org.eclipse.microprofile.problemdetails.Instance;
+import org.eclipse.microprofile.problemdetails.Logging;
+import org.eclipse.microprofile.problemdetails.ProblemDetailDescriptor;
+import org.eclipse.microprofile.problemdetails.ProblemDetailDescriptor.Member;
+import org.eclipse.microprofile.problemdetails.Status;
+import org.eclipse.microprofile.problemdetails.Title;
+import org.eclipse.microprofile.problemdetails.Type;
+import org.junit.jupiter.api.Test;
+import test.logged.PackageLoggedException;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.eclipse.microprofile.problemdetails.LogLevel.AUTO;
+import static org.eclipse.microprofile.problemdetails.LogLevel.DEBUG;
+import static org.eclipse.microprofile.problemdetails.LogLevel.WARN;
+import static org.eclipse.microprofile.problemdetails.ResponseStatus.BAD_REQUEST;
+import static org.eclipse.microprofile.problemdetails.ResponseStatus.FORBIDDEN;
+import static org.eclipse.microprofile.problemdetails.ResponseStatus.INTERNAL_SERVER_ERROR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ProblemDetailProcessorTest {
+    public static class SomethingWentWrongException extends RuntimeException {}
+
+    @Type("https://example.com/probs/out-of-credit")
+    @Title("You do not have enough credit.")
+    @Status(FORBIDDEN)
+    @Logging(to = "credits", at = DEBUG)
+    static class OutOfCreditException extends RuntimeException {
+        @Instance private final URI instance = URI.create("urn:some:instance");
+        @Extension private final int balance = 30;
+        private final int cost = 50;
+        @Extension("accounts") List<URI> accountList;
+        @Detail String second = "b";
+
+        @Detail private String first() { return "a"; }
+
+        @Extension public String failing() { throw new IllegalStateException("inner"); }
+    }
+
+    @Test void shouldDefaultCustomException() {
+        ProblemDetailDescriptor<SomethingWentWrongException> descriptor = ProblemDetailDescriptor.load(SomethingWentWrongException.class);
+
+        assertEquals(SomethingWentWrongException.class, descriptor.getExceptionType());
+        assertEquals("urn:problem-type:something-went-wrong", descriptor.getType());
+        assertEquals("Something Went Wrong", descriptor.getTitle());
+        assertEquals(BAD_REQUEST, descriptor.getStatus());
+        assertEquals(SomethingWentWrongException.class.getName(), descriptor.getLogCategory());
+        assertEquals(AUTO, descriptor.getLogLevel());
+        assertEquals(0, descriptor.getDetails().size());
+        assertEquals(0, descriptor.getInstances().size());
+        assertEquals(0, descriptor.getExtensions().size());
+    }
+
+    @Test void shouldApplyAnnotations() throws Throwable {
+        ProblemDetailDescriptor<OutOfCreditException> descriptor = ProblemDetailDescriptor.load(OutOfCreditException.class);
+        OutOfCreditException exception = new OutOfCreditException();
+
+        assertEquals("https://example.com/probs/out-of-credit", descriptor.getType());
+        assertEquals("You do not have enough credit.", descriptor.getTitle());
+        assertEquals(FORBIDDEN, descriptor.getStatus());
+        assertEquals("credits", descriptor.getLogCategory());
+        assertEquals(DEBUG, descriptor.getLogLevel());
+
+        assertEquals("[first, second]", descriptor.getDetails().toString());
+        assertEquals("[a, b]", values(descriptor.getDetails(), exception).toString());
+        assertEquals(URI.create("urn:some:instance"), descriptor.getInstances().get(0).get(exception));
+        assertEquals("[accounts=accountList, balance, failing]", descriptor.getExtensions().toString());
+        assertEquals(30, descriptor.getExtensions().get(1).get(exception));
+        assertThrows(IllegalStateException.class, () -> descriptor.getExtensions().get(2).get(exception));
+    }
+
+    @Test void shouldApplyPackageLogging() {
+        ProblemDetailDescriptor<PackageLoggedException> descriptor = ProblemDetailDescriptor.load(PackageLoggedException.class);
+
+        assertEquals("problems", descriptor.getLogCategory());
+        assertEquals(WARN, descriptor.getLogLevel());
+    }
+
+    @Test void shouldNotLoadDescriptorOfLocalClass() {
+        class LocalException extends RuntimeException {}
+
+        assertNull(ProblemDetailDescriptor.load(LocalException.class));
+        assertNull(ProblemDetailDescriptor.load(IllegalArgumentException.class));
+    }
+
+    @Test void shouldDeriveDefaults() {
+        assertEquals("urn:problem-type:null-pointer", ProblemDetailDescriptor.defaultType("NullPointerException"));
+        assertEquals("urn:problem-type:out-of-memory-error", ProblemDetailDescriptor.defaultType("OutOfMemoryError"));
+        assertEquals("Null Pointer", ProblemDetailDescriptor.defaultTitle("NullPointerException"));
+        assertEquals(INTERNAL_SERVER_ERROR, ProblemDetailDescriptor.defaultStatus("java.lang.NullPointerException"));
+        assertEquals(INTERNAL_SERVER_ERROR, ProblemDetailDescriptor.defaultStatus("jakarta.ws.rs.NotFoundException"));
+        assertEquals(BAD_REQUEST, ProblemDetailDescriptor.defaultStatus("com.example.NullPointerException"));
+    }
+
+    @Test void shouldDeriveDefaultTypeIndependentOfDefaultLocale() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            assertEquals("urn:problem-type:invalid-id", ProblemDetailDescriptor.defaultType("InvalidIdException"));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
+    private static <T extends Throwable> List<Object> values(List<Member<T>> members, T exception) {
+        return members.stream().map(member -> {
+            try {
+                return member.get(exception);
+            } catch (Throwable e) {
+                throw new AssertionError(e);
+            }
+        }).collect(Collectors.toList());
+    }
+}
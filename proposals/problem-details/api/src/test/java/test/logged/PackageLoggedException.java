@@ -0,0 +1,3 @@
+package test.logged;
+
+public class PackageLoggedException extends RuntimeException {}
@@ -0,0 +1,6 @@
+@Logging(to = "problems", at = WARN)
+package test.logged;
+
+import org.eclipse.microprofile.problemdetails.Logging;
+
+import static org.eclipse.microprofile.problemdetails.LogLevel.WARN;
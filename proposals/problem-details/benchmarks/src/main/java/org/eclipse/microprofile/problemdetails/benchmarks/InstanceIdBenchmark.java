@@ -0,0 +1,40 @@
+package org.eclipse.microprofile.problemdetails.benchmarks;
+
+import org.eclipse.microprofile.problemdetails.ri.RandomUuidGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of a default <code>instance</code> while 64 threads map exceptions at the same time,
+ * as in an error storm: {@link UUID#randomUUID()}, which shares one {@link java.security.SecureRandom},
+ * against the {@link RandomUuidGenerator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(64)
+@Fork(1)
+public class InstanceIdBenchmark {
+    private final RandomUuidGenerator generator = new RandomUuidGenerator();
+
+    @Benchmark public String randomUuid() {
+        return "urn:uuid:" + UUID.randomUUID();
+    }
+
+    @Benchmark public String randomUuidGenerator() {
+        return generator.generate();
+    }
+}
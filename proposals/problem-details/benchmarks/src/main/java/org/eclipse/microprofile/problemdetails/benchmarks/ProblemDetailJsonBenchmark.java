@@ -0,0 +1,85 @@
+package org.eclipse.microprofile.problemdetails.benchmarks;
+
+import org.eclipse.microprofile.problemdetails.Detail;
+import org.eclipse.microprofile.problemdetails.Extension;
+import org.eclipse.microprofile.problemdetails.LogLevel;
+import org.eclipse.microprofile.problemdetails.Logging;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetail;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailJsonWriter;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of writing a typical problem detail as <code>application/problem+json</code>: with the
+ * {@link ProblemDetailJsonWriter}, against JSON-B serializing the same fields as a map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProblemDetailJsonBenchmark {
+    private static final MediaType PROBLEM_JSON = new MediaType("application", "problem+json");
+
+    @Logging(at = LogLevel.OFF)
+    public static class OutOfCreditException extends RuntimeException {
+        private final int balance = 30;
+        private final int cost = 50;
+
+        @Extension public int getBalance() { return balance; }
+
+        @Extension public String getAccount() { return "/account/12345"; }
+
+        @Detail public String getDetail() {
+            return "Your current balance is " + balance + ", but that costs " + cost + ".";
+        }
+    }
+
+    private final ProblemDetailJsonWriter writer = new ProblemDetailJsonWriter();
+    private final Jsonb jsonb = JsonbBuilder.create();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+    private ProblemDetail problemDetail;
+    private Map<String, Object> fields;
+
+    @Setup public void setup() {
+        problemDetail = new ProblemDetailMapper().map(new OutOfCreditException());
+        fields = new LinkedHashMap<>();
+        fields.put("type", problemDetail.getType());
+        fields.put("title", problemDetail.getTitle());
+        fields.put("status", problemDetail.getStatus());
+        fields.put("detail", problemDetail.getDetail());
+        fields.put("instance", problemDetail.getInstance());
+        fields.putAll(problemDetail.getExtensions());
+    }
+
+    @Benchmark public int writer() throws IOException {
+        out.reset();
+        writer.writeTo(problemDetail, ProblemDetail.class, ProblemDetail.class, null, PROBLEM_JSON, null, out);
+        return out.size();
+    }
+
+    @Benchmark public int jsonb() {
+        out.reset();
+        jsonb.toJson(fields, out);
+        return out.size();
+    }
+}
@@ -0,0 +1,114 @@
+package org.eclipse.microprofile.problemdetails.benchmarks;
+
+import org.eclipse.microprofile.problemdetails.Detail;
+import org.eclipse.microprofile.problemdetails.Extension;
+import org.eclipse.microprofile.problemdetails.LogLevel;
+import org.eclipse.microprofile.problemdetails.Logging;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetail;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailMapper;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailXmlWriter;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailYamlWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.ws.rs.core.MediaType;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of writing a typical problem detail as <code>application/problem+xml</code> and
+ * <code>application/problem+yaml</code>: with the {@link ProblemDetailXmlWriter} and the
+ * {@link ProblemDetailYamlWriter}, against building and transforming a DOM of the same document.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProblemDetailXmlBenchmark {
+    private static final MediaType PROBLEM_XML = new MediaType("application", "problem+xml");
+    private static final MediaType PROBLEM_YAML = new MediaType("application", "problem+yaml");
+    private static final String NAMESPACE = "urn:ietf:rfc:7807";
+
+    @Logging(at = LogLevel.OFF)
+    public static class OutOfCreditException extends RuntimeException {
+        private final int balance = 30;
+        private final int cost = 50;
+
+        @Extension public int getBalance() { return balance; }
+
+        @Extension public String getAccount() { return "/account/12345"; }
+
+        @Detail public String getDetail() {
+            return "Your current balance is " + balance + ", but that costs " + cost + ".";
+        }
+    }
+
+    private final ProblemDetailXmlWriter xmlWriter = new ProblemDetailXmlWriter();
+    private final ProblemDetailYamlWriter yamlWriter = new ProblemDetailYamlWriter();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+    private DocumentBuilder documentBuilder;
+    private Transformer transformer;
+    private ProblemDetail problemDetail;
+
+    @Setup public void setup() throws Exception {
+        problemDetail = new ProblemDetailMapper().map(new OutOfCreditException());
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        documentBuilder = factory.newDocumentBuilder();
+        transformer = TransformerFactory.newInstance().newTransformer();
+    }
+
+    @Benchmark public int xmlWriter() throws IOException {
+        out.reset();
+        xmlWriter.writeTo(problemDetail, ProblemDetail.class, ProblemDetail.class, null, PROBLEM_XML, null, out);
+        return out.size();
+    }
+
+    @Benchmark public int yamlWriter() throws IOException {
+        out.reset();
+        yamlWriter.writeTo(problemDetail, ProblemDetail.class, ProblemDetail.class, null, PROBLEM_YAML, null, out);
+        return out.size();
+    }
+
+    @Benchmark public int dom() throws Exception {
+        out.reset();
+        Document document = documentBuilder.newDocument();
+        Element problem = document.createElementNS(NAMESPACE, "problem");
+        document.appendChild(problem);
+        add(problem, "type", problemDetail.getType());
+        add(problem, "title", problemDetail.getTitle());
+        add(problem, "status", Integer.toString(problemDetail.getStatus()));
+        add(problem, "detail", problemDetail.getDetail());
+        add(problem, "instance", problemDetail.getInstance());
+        for (Map.Entry<String, Object> extension : problemDetail.getExtensions().entrySet())
+            add(problem, extension.getKey(), String.valueOf(extension.getValue()));
+        transformer.transform(new DOMSource(document), new StreamResult(out));
+        return out.size();
+    }
+
+    private static void add(Element parent, String name, String value) {
+        Element element = parent.getOwnerDocument().createElementNS(NAMESPACE, name);
+        element.setTextContent(value);
+        parent.appendChild(element);
+    }
+}
@@ -0,0 +1,14 @@
+package org.eclipse.microprofile.problemdetails.ri;
+
+/**
+ * Generates the default <code>instance</code> of a problem detail.
+ * <p>
+ * The spec requires a fully random <code>urn:uuid:</code>, as other kinds of uuids may expose network
+ * or time setting information; custom generators MUST NOT weaken that, but may e.g. use a different source
+ * of randomness or prefix.
+ */
+@FunctionalInterface
+public interface InstanceIdGenerator {
+    /** A new, unique instance URI */
+    String generate();
+}
@@ -0,0 +1,62 @@
+package org.eclipse.microprofile.problemdetails.ri;
+
+import java.util.Map;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * The fields of a problem detail, as mapped from an exception.
+ * The <code>detail</code> and <code>instance</code> may be <code>null</code>;
+ * the extensions are ordered by their name.
+ */
+public final class ProblemDetail {
+    private final String type;
+    private final String title;
+    private final int status;
+    private final String detail;
+    private final String instance;
+    private final Map<String, Object> extensions;
+    /** The exception mapped, so writers can use what they precomputed for its class; or <code>null</code> */
+    final Class<? extends Throwable> exceptionType;
+
+    public ProblemDetail(String type, String title, int status, String detail, String instance, Map<String, Object> extensions) {
+        this(null, type, title, status, detail, instance, extensions);
+    }
+
+    ProblemDetail(Class<? extends Throwable> exceptionType,
+                  String type, String title, int status, String detail, String instance, Map<String, Object> extensions) {
+        this.exceptionType = exceptionType;
+        this.type = type;
+        this.title = title;
+        this.status = status;
+        this.detail = detail;
+        this.instance = instance;
+        this.extensions = unmodifiableMap(extensions);
+    }
+
+    public String getType() { return type; }
+
+    public String getTitle() { return title; }
+
+    public int getStatus() { return status; }
+
+    public String getDetail() { return detail; }
+
+    public String getInstance() { return instance; }
+
+    public Map<String, Object> getExtensions() { return extensions; }
+
+    @Override public String toString() {
+        StringBuilder out = new StringBuilder()
+            .append("type: ").append(type).append('\n')
+            .append("title: ").append(title).append('\n')
+            .append("status: ").append(status).append('\n');
+        if (detail != null)
+            out.append("detail: ").append(detail).append('\n');
+        if (instance != null)
+            out.append("instance: ").append(instance).append('\n');
+        for (Map.Entry<String, Object> extension : extensions.entrySet())
+            out.append(extension.getKey()).append(": ").append(extension.getValue()).append('\n');
+        return out.toString();
+    }
+}
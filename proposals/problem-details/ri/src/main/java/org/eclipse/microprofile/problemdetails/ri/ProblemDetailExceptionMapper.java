@@ -0,0 +1,72 @@
+package org.eclipse.microprofile.problemdetails.ri;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+import static org.eclipse.microprofile.problemdetails.Constants.PROBLEM_DETAIL_JSON;
+import static org.eclipse.microprofile.problemdetails.Constants.PROBLEM_DETAIL_XML;
+import static org.eclipse.microprofile.problemdetails.Constants.PROBLEM_DETAIL_YAML;
+
+/**
+ * Maps all exceptions thrown by JAX-RS resources to problem detail responses,
+ * except for web application exceptions that already have an entity.
+ * The headers of the response of a web application exception are kept.
+ * <p>
+ * The content type is the first of the acceptable media types of the request that is JSON, XML, or YAML,
+ * as <code>application/problem+json</code>, <code>application/problem+xml</code>, or <code>application/problem+yaml</code>;
+ * if there is none, it's <code>application/problem+json</code>.
+ */
+@Provider
+public class ProblemDetailExceptionMapper implements ExceptionMapper<Throwable> {
+    private static final MediaType PROBLEM_JSON = problemType(PROBLEM_DETAIL_JSON);
+    private static final MediaType PROBLEM_XML = problemType(PROBLEM_DETAIL_XML);
+    private static final MediaType PROBLEM_YAML = problemType(PROBLEM_DETAIL_YAML);
+
+    private static MediaType problemType(String mediaType) {
+        return new MediaType("application", mediaType.substring("application/".length()));
+    }
+
+    private final ProblemDetailMapper mapper = new ProblemDetailMapper();
+
+    @Context private HttpHeaders headers;
+
+    @Override public Response toResponse(Throwable exception) {
+        Response.ResponseBuilder builder;
+        if (exception instanceof WebApplicationException) {
+            Response response = ((WebApplicationException) exception).getResponse();
+            if (response.hasEntity())
+                return response;
+            // keep the headers, e.g. the Allow of a NotAllowedException or the Retry-After of a ServiceUnavailableException
+            builder = Response.fromResponse(response);
+        } else {
+            builder = Response.ok();
+        }
+        ProblemDetail problemDetail = mapper.map(exception);
+        return builder.status(problemDetail.getStatus())
+            .type(mediaType())
+            .entity(problemDetail)
+            .build();
+    }
+
+    private MediaType mediaType() {
+        if (headers != null) {
+            for (MediaType accepted : headers.getAcceptableMediaTypes()) {
+                if (accepted.isWildcardSubtype())
+                    break;
+                String subtype = accepted.getSubtype();
+                if (subtype.equals("json") || subtype.endsWith("+json"))
+                    return PROBLEM_JSON;
+                if (subtype.equals("xml") || subtype.endsWith("+xml"))
+                    return PROBLEM_XML;
+                if (subtype.equals("yaml") || subtype.equals("x-yaml") || subtype.endsWith("+yaml"))
+                    return PROBLEM_YAML;
+            }
+        }
+        return PROBLEM_JSON;
+    }
+}
@@ -0,0 +1,108 @@
+package org.eclipse.microprofile.problemdetails.ri;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.microprofile.problemdetails.Constants.PROBLEM_DETAIL_JSON;
+
+/**
+ * Writes problem details as <code>application/problem+json</code>, without a generic serializer:
+ * the fields are escaped and encoded directly into a reused buffer, which is written to the entity stream at once.
+ * <p>
+ * The start of the document, i.e. the <code>type</code>, <code>title</code>, and <code>status</code>,
+ * as well as the keys of the extensions, only depend on the class of the exception, so they are encoded
+ * once per class, as a {@link ProblemDetailTemplate}. Extension values that are not strings, numbers, booleans, URIs, or enums are
+ * serialized with JSON-B.
+ */
+@Provider
+@Produces(PROBLEM_DETAIL_JSON)
+public class ProblemDetailJsonWriter implements MessageBodyWriter<ProblemDetail> {
+    private static final byte[] TYPE = ascii("{\"type\":\"");
+    private static final byte[] TITLE = ascii("\",\"title\":\"");
+    private static final byte[] STATUS = ascii("\",\"status\":");
+    private static final byte[] DETAIL = ascii(",\"detail\":\"");
+    private static final byte[] INSTANCE = ascii(",\"instance\":\"");
+
+    private static final ProblemDetailTemplate.Encoding ENCODING = new ProblemDetailTemplate.Encoding() {
+        @Override public void head(String type, String title, int status, Utf8Buffer out) {
+            out.append(TYPE).appendJsonEscaped(type)
+                .append(TITLE).appendJsonEscaped(title)
+                .append(STATUS).append(status);
+        }
+
+        @Override public void key(String name, Utf8Buffer out) {
+            out.append(',').append('"').appendJsonEscaped(name).append('"').append(':');
+        }
+    };
+    private static final ClassValue<ProblemDetailTemplate> TEMPLATES = ProblemDetailTemplate.cache(ENCODING);
+
+    private static byte[] ascii(String value) { return value.getBytes(UTF_8); }
+
+    @Override public boolean isWriteable(Class<?> type, java.lang.reflect.Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == ProblemDetail.class && isJson(mediaType);
+    }
+
+    private static boolean isJson(MediaType mediaType) {
+        return mediaType == null || mediaType.isWildcardSubtype()
+            || mediaType.getSubtype().equals("json") || mediaType.getSubtype().endsWith("+json");
+    }
+
+    @Override public void writeTo(ProblemDetail problemDetail, Class<?> type, java.lang.reflect.Type genericType, Annotation[] annotations,
+                                  MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        Utf8Buffer buffer = Utf8Buffer.get();
+        write(problemDetail, buffer);
+        buffer.writeTo(entityStream);
+    }
+
+    static void write(ProblemDetail problemDetail, Utf8Buffer out) {
+        ProblemDetailTemplate template = ProblemDetailTemplate.of(TEMPLATES, ENCODING, problemDetail);
+        template.writeHead(problemDetail, out);
+        if (problemDetail.getDetail() != null)
+            out.append(DETAIL).appendJsonEscaped(problemDetail.getDetail()).append('"');
+        if (problemDetail.getInstance() != null)
+            out.append(INSTANCE).appendJsonEscaped(problemDetail.getInstance()).append('"');
+
+        int index = 0;
+        for (Map.Entry<String, Object> extension : problemDetail.getExtensions().entrySet()) {
+            template.writeKey(index++, extension.getKey(), out);
+            writeValue(extension.getValue(), out);
+        }
+        out.append('}');
+    }
+
+    private static void writeValue(Object value, Utf8Buffer out) {
+        if (value == null) {
+            out.appendAscii("null");
+        } else if (value instanceof CharSequence || value instanceof Character || value instanceof URI) {
+            out.append('"').appendJsonEscaped(value.toString()).append('"');
+        } else if (value instanceof Enum) {
+            out.append('"').appendJsonEscaped(((Enum<?>) value).name()).append('"');
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+            || value instanceof BigInteger || value instanceof BigDecimal || value instanceof Boolean) {
+            out.appendAscii(value.toString());
+        } else if ((value instanceof Double && Double.isFinite((Double) value))
+            || (value instanceof Float && Float.isFinite((Float) value))) {
+            out.appendAscii(value.toString());
+        } else {
+            out.append(JsonbHolder.JSONB.toJson(value).getBytes(UTF_8));
+        }
+    }
+
+    /** JSON-B is only initialized when the first complex extension value is written */
+    private static class JsonbHolder {
+        private static final Jsonb JSONB = JsonbBuilder.create();
+    }
+}
@@ -0,0 +1,207 @@
+package org.eclipse.microprofile.problemdetails.ri;
+
+import org.eclipse.microprofile.problemdetails.LogLevel;
+import org.eclipse.microprofile.problemdetails.ProblemDetailDescriptor;
+import org.eclipse.microprofile.problemdetails.ProblemDetailDescriptor.Member;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.eclipse.microprofile.problemdetails.Constants.EXCEPTION_MESSAGE_AS_DETAIL;
+import static org.eclipse.microprofile.problemdetails.Constants.EXCEPTION_MESSAGE_AS_DETAIL_DEFAULT;
+
+/**
+ * Maps exceptions to problem details and logs them.
+ * <p>
+ * Everything that only depends on the class of an exception, i.e. the descriptor and the logger,
+ * is looked up once per class and cached for the lifetime of the class; mapping an exception
+ * only reads the values of the annotated members. The descriptor is the one generated by the
+ * annotation processor, if there is one; otherwise it's built by reflection.
+ */
+public class ProblemDetailMapper {
+    private static final ClassValue<Mapping<?>> MAPPINGS = new ClassValue<Mapping<?>>() {
+        @Override protected Mapping<?> computeValue(Class<?> type) {
+            return mapping(type.asSubclass(Throwable.class));
+        }
+    };
+
+    private static <T extends Throwable> Mapping<T> mapping(Class<T> type) {
+        ProblemDetailDescriptor<T> descriptor = ProblemDetailDescriptor.load(type);
+        if (descriptor == null)
+            descriptor = ReflectiveProblemDetailDescriptor.of(type);
+        return new Mapping<>(descriptor);
+    }
+
+    /**
+     * The descriptor of an exception class, generated or built by reflection, and cached.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Throwable> ProblemDetailDescriptor<T> descriptor(Class<T> type) {
+        return ((Mapping<T>) MAPPINGS.get(type)).descriptor;
+    }
+
+    private final boolean exceptionMessageAsDetail;
+    private final InstanceIdGenerator instanceIdGenerator;
+
+    /**
+     * Configured by the system property {@link org.eclipse.microprofile.problemdetails.Constants#EXCEPTION_MESSAGE_AS_DETAIL},
+     * with a {@link RandomUuidGenerator}
+     */
+    public ProblemDetailMapper() {
+        this(Boolean.parseBoolean(System.getProperty(EXCEPTION_MESSAGE_AS_DETAIL, EXCEPTION_MESSAGE_AS_DETAIL_DEFAULT.toString())));
+    }
+
+    public ProblemDetailMapper(boolean exceptionMessageAsDetail) {
+        this(exceptionMessageAsDetail, new RandomUuidGenerator());
+    }
+
+    public ProblemDetailMapper(boolean exceptionMessageAsDetail, InstanceIdGenerator instanceIdGenerator) {
+        this.exceptionMessageAsDetail = exceptionMessageAsDetail;
+        this.instanceIdGenerator = instanceIdGenerator;
+    }
+
+    /**
+     * Map an exception to a problem detail, and log it.
+     */
+    public ProblemDetail map(Throwable exception) {
+        Mapping<?> mapping = MAPPINGS.get(exception.getClass());
+        ProblemDetail problemDetail = mapping.map(exception, exceptionMessageAsDetail, instanceIdGenerator);
+        mapping.log(problemDetail, exception);
+        return problemDetail;
+    }
+
+    /** What is needed to map exceptions of one class */
+    private static final class Mapping<T extends Throwable> {
+        private final ProblemDetailDescriptor<T> descriptor;
+        private final String simpleName;
+        private final Logger logger;
+
+        private Mapping(ProblemDetailDescriptor<T> descriptor) {
+            this.descriptor = descriptor;
+            this.simpleName = descriptor.getExceptionType().getSimpleName();
+            this.logger = (descriptor.getLogLevel() == LogLevel.OFF) ? null : Logger.getLogger(descriptor.getLogCategory());
+        }
+
+        private ProblemDetail map(Throwable throwable, boolean exceptionMessageAsDetail, InstanceIdGenerator instanceIdGenerator) {
+            T exception = descriptor.getExceptionType().cast(throwable);
+            String type = descriptor.getType();
+            String title = descriptor.getTitle();
+            int status = descriptor.getStatus().code;
+            String message = exception.getMessage();
+
+            if (exception instanceof WebApplicationException) {
+                status = ((WebApplicationException) exception).getResponse().getStatus();
+                if (exception.getClass() == WebApplicationException.class) {
+                    String name = statusName(status);
+                    if (name != null) {
+                        type = ProblemDetailDescriptor.defaultType(name);
+                        title = ProblemDetailDescriptor.defaultTitle(name);
+                    }
+                }
+                if (message != null && message.startsWith("HTTP " + status + " "))
+                    message = null; // the default message only repeats the status
+            }
+
+            String detail = detail(exception);
+            if (detail == null && exceptionMessageAsDetail)
+                detail = message;
+            return new ProblemDetail(descriptor.getExceptionType(), type, title, status, detail,
+                instance(exception, instanceIdGenerator), extensions(exception));
+        }
+
+        /**
+         * The camel case name of a status, e.g. <code>ServiceUnavailable</code>; of its family, e.g. <code>ClientError</code>,
+         * if there is no {@link Response.Status} constant for it, as runtimes differ in the reason phrases of those;
+         * or null, if the status is not an error.
+         */
+        private static String statusName(int status) {
+            Response.Status known = Response.Status.fromStatusCode(status);
+            if (known != null)
+                return known.getReasonPhrase().replace(" ", "");
+            switch (Response.Status.Family.familyOf(status)) {
+                case CLIENT_ERROR:
+                    return "ClientError";
+                case SERVER_ERROR:
+                    return "ServerError";
+                default:
+                    return null;
+            }
+        }
+
+        private String detail(T exception) {
+            List<Member<T>> details = descriptor.getDetails();
+            if (details.isEmpty())
+                return null;
+            StringBuilder out = null;
+            for (Member<T> member : details) {
+                Object value = get(member, exception);
+                if (value == null)
+                    continue;
+                out = (out == null) ? new StringBuilder() : out.append(' ');
+                out.append(value);
+            }
+            return (out == null) ? null : out.toString();
+        }
+
+        private String instance(T exception, InstanceIdGenerator instanceIdGenerator) {
+            for (Member<T> member : descriptor.getInstances()) {
+                Object value = get(member, exception);
+                if (value != null)
+                    return value.toString();
+            }
+            return descriptor.getInstances().isEmpty() ? instanceIdGenerator.generate() : null;
+        }
+
+        private Map<String, Object> extensions(T exception) {
+            List<Member<T>> extensions = descriptor.getExtensions();
+            if (extensions.isEmpty())
+                return Collections.emptyMap();
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Member<T> member : extensions)
+                map.put(member.getName(), get(member, exception));
+            return map;
+        }
+
+        private Object get(Member<T> member, T exception) {
+            try {
+                return member.get(exception);
+            } catch (Throwable e) {
+                return "could not invoke " + simpleName + "." + member.getMemberName() + ": " + e;
+            }
+        }
+
+        private void log(ProblemDetail problemDetail, Throwable exception) {
+            if (logger == null)
+                return;
+            LogLevel logLevel = descriptor.getLogLevel();
+            if (logLevel == LogLevel.AUTO)
+                logLevel = (problemDetail.getStatus() < 500) ? LogLevel.INFO : LogLevel.ERROR;
+            Level level = level(logLevel);
+            if (!logger.isLoggable(level))
+                return;
+            boolean withStackTrace = (logLevel == LogLevel.ERROR || logLevel == LogLevel.WARN);
+            logger.log(level, problemDetail.toString(), withStackTrace ? exception : null);
+        }
+
+        private static Level level(LogLevel logLevel) {
+            switch (logLevel) {
+                case ERROR:
+                    return Level.SEVERE;
+                case WARN:
+                    return Level.WARNING;
+                case INFO:
+                    return Level.INFO;
+                case DEBUG:
+                    return Level.FINE;
+                default:
+                    return Level.OFF;
+            }
+        }
+    }
+}
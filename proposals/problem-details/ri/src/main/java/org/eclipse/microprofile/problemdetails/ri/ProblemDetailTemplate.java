@@ -0,0 +1,116 @@
+package org.eclipse.microprofile.problemdetails.ri;
+
+import org.eclipse.microprofile.problemdetails.ProblemDetailDescriptor;
+import org.eclipse.microprofile.problemdetails.ProblemDetailDescriptor.Member;
+
+import java.util.List;
+
+/**
+ * The parts of a problem detail document that only depend on the class of the exception, encoded once
+ * per class and media type: the start of the document with the <code>type</code>, <code>title</code>, and
+ * <code>status</code>, and the keys of the extensions. The {@link ProblemDetailJsonWriter}, the
+ * {@link ProblemDetailXmlWriter}, and the {@link ProblemDetailYamlWriter} copy these bytes, and only encode
+ * the fields that differ per exception.
+ */
+final class ProblemDetailTemplate {
+    /** How a media type encodes the parts of a template */
+    interface Encoding {
+        void head(String type, String title, int status, Utf8Buffer out);
+
+        /** What comes before the value of an extension */
+        void key(String name, Utf8Buffer out);
+
+        /** What comes after the value of an extension */
+        default void keyEnd(String name, Utf8Buffer out) {}
+    }
+
+    /** A cache of the templates of one encoding */
+    static ClassValue<ProblemDetailTemplate> cache(Encoding encoding) {
+        return new ClassValue<ProblemDetailTemplate>() {
+            @Override protected ProblemDetailTemplate computeValue(Class<?> type) {
+                return new ProblemDetailTemplate(encoding, ProblemDetailMapper.descriptor(type.asSubclass(Throwable.class)));
+            }
+        };
+    }
+
+    /** The template for a problem detail; one that encodes everything, if it wasn't mapped from an exception */
+    static ProblemDetailTemplate of(ClassValue<ProblemDetailTemplate> cache, Encoding encoding, ProblemDetail problemDetail) {
+        return (problemDetail.exceptionType == null)
+            ? new ProblemDetailTemplate(encoding)
+            : cache.get(problemDetail.exceptionType);
+    }
+
+    private static final String[] NO_NAMES = new String[0];
+    private static final byte[][] NO_KEYS = new byte[0][];
+
+    private final Encoding encoding;
+    private final String type;
+    private final String title;
+    private final int status;
+    private final byte[] head;
+    private final String[] extensionNames;
+    private final byte[][] extensionKeys;
+    private final byte[][] extensionKeyEnds;
+
+    private ProblemDetailTemplate(Encoding encoding) {
+        this.encoding = encoding;
+        this.type = null;
+        this.title = null;
+        this.status = 0;
+        this.head = null;
+        this.extensionNames = NO_NAMES;
+        this.extensionKeys = NO_KEYS;
+        this.extensionKeyEnds = NO_KEYS;
+    }
+
+    private ProblemDetailTemplate(Encoding encoding, ProblemDetailDescriptor<?> descriptor) {
+        this.encoding = encoding;
+        this.type = descriptor.getType();
+        this.title = descriptor.getTitle();
+        this.status = descriptor.getStatus().code;
+        // fresh buffers, as the one of this thread may be in use
+        Utf8Buffer buffer = new Utf8Buffer();
+        encoding.head(type, title, status, buffer);
+        this.head = buffer.toByteArray();
+        List<? extends Member<?>> extensions = descriptor.getExtensions();
+        this.extensionNames = new String[extensions.size()];
+        this.extensionKeys = new byte[extensions.size()][];
+        this.extensionKeyEnds = new byte[extensions.size()][];
+        for (int i = 0; i < extensions.size(); i++) {
+            extensionNames[i] = extensions.get(i).getName();
+            buffer = new Utf8Buffer();
+            encoding.key(extensionNames[i], buffer);
+            extensionKeys[i] = buffer.toByteArray();
+            buffer = new Utf8Buffer();
+            encoding.keyEnd(extensionNames[i], buffer);
+            extensionKeyEnds[i] = buffer.toByteArray();
+        }
+    }
+
+    /**
+     * The mapper took the fields from the descriptor, unless it had to override them,
+     * e.g. for the status of a web application exception
+     */
+    void writeHead(ProblemDetail problemDetail, Utf8Buffer out) {
+        if (head != null && type.equals(problemDetail.getType()) && title.equals(problemDetail.getTitle())
+            && status == problemDetail.getStatus())
+            out.append(head);
+        else
+            encoding.head(problemDetail.getType(), problemDetail.getTitle(), problemDetail.getStatus(), out);
+    }
+
+    /** The extensions of a mapped problem detail are in the order of the descriptor */
+    void writeKey(int index, String name, Utf8Buffer out) {
+        if (index < extensionNames.length && extensionNames[index].equals(name))
+            out.append(extensionKeys[index]);
+        else
+            encoding.key(name, out);
+    }
+
+    void writeKeyEnd(int index, String name, Utf8Buffer out) {
+        if (index < extensionNames.length && extensionNames[index].equals(name))
+            out.append(extensionKeyEnds[index]);
+        else
+            encoding.keyEnd(name, out);
+    }
+}
@@ -0,0 +1,132 @@
+package org.eclipse.microprofile.problemdetails.ri;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.microprofile.problemdetails.Constants.PROBLEM_DETAIL_XML;
+
+/**
+ * Writes problem details as <code>application/problem+xml</code>, as in
+ * <a href="https://tools.ietf.org/html/rfc7807#appendix-A">RFC-7807 Appendix A</a>, without JAXB or a DOM:
+ * the elements are escaped and encoded directly into a reused buffer, starting from a {@link ProblemDetailTemplate}.
+ * <p>
+ * Extensions are elements named like the extension, with characters that are not allowed in XML names
+ * replaced by an underscore. Collections and arrays are written as <code>i</code> elements, maps as
+ * nested elements, and all other values as their string representation.
+ */
+@Provider
+@Produces(PROBLEM_DETAIL_XML)
+public class ProblemDetailXmlWriter implements MessageBodyWriter<ProblemDetail> {
+    private static final byte[] TYPE = ascii("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+        + "<problem xmlns=\"urn:ietf:rfc:7807\"><type>");
+    private static final byte[] TITLE = ascii("</type><title>");
+    private static final byte[] STATUS = ascii("</title><status>");
+    private static final byte[] STATUS_END = ascii("</status>");
+    private static final byte[] DETAIL = ascii("<detail>");
+    private static final byte[] DETAIL_END = ascii("</detail>");
+    private static final byte[] INSTANCE = ascii("<instance>");
+    private static final byte[] INSTANCE_END = ascii("</instance>");
+    private static final byte[] ITEM = ascii("<i>");
+    private static final byte[] ITEM_END = ascii("</i>");
+    private static final byte[] END = ascii("</problem>");
+
+    private static final ProblemDetailTemplate.Encoding ENCODING = new ProblemDetailTemplate.Encoding() {
+        @Override public void head(String type, String title, int status, Utf8Buffer out) {
+            out.append(TYPE).appendXmlEscaped(type)
+                .append(TITLE).appendXmlEscaped(title)
+                .append(STATUS).append(status).append(STATUS_END);
+        }
+
+        @Override public void key(String name, Utf8Buffer out) {
+            out.append('<').appendXmlEscaped(elementName(name)).append('>');
+        }
+
+        @Override public void keyEnd(String name, Utf8Buffer out) {
+            out.append('<').append('/').appendXmlEscaped(elementName(name)).append('>');
+        }
+    };
+    private static final ClassValue<ProblemDetailTemplate> TEMPLATES = ProblemDetailTemplate.cache(ENCODING);
+
+    private static byte[] ascii(String value) { return value.getBytes(UTF_8); }
+
+    @Override public boolean isWriteable(Class<?> type, java.lang.reflect.Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == ProblemDetail.class && isXml(mediaType);
+    }
+
+    private static boolean isXml(MediaType mediaType) {
+        return mediaType != null && (mediaType.getSubtype().equals("xml") || mediaType.getSubtype().endsWith("+xml"));
+    }
+
+    @Override public void writeTo(ProblemDetail problemDetail, Class<?> type, java.lang.reflect.Type genericType, Annotation[] annotations,
+                                  MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        Utf8Buffer buffer = Utf8Buffer.get();
+        write(problemDetail, buffer);
+        buffer.writeTo(entityStream);
+    }
+
+    static void write(ProblemDetail problemDetail, Utf8Buffer out) {
+        ProblemDetailTemplate template = ProblemDetailTemplate.of(TEMPLATES, ENCODING, problemDetail);
+        template.writeHead(problemDetail, out);
+        if (problemDetail.getDetail() != null)
+            out.append(DETAIL).appendXmlEscaped(problemDetail.getDetail()).append(DETAIL_END);
+        if (problemDetail.getInstance() != null)
+            out.append(INSTANCE).appendXmlEscaped(problemDetail.getInstance()).append(INSTANCE_END);
+
+        int index = 0;
+        for (Map.Entry<String, Object> extension : problemDetail.getExtensions().entrySet()) {
+            template.writeKey(index, extension.getKey(), out);
+            writeValue(extension.getValue(), out);
+            template.writeKeyEnd(index++, extension.getKey(), out);
+        }
+        out.append(END);
+    }
+
+    private static void writeValue(Object value, Utf8Buffer out) {
+        if (value == null) {
+            return;
+        } else if (value instanceof Enum) {
+            out.appendXmlEscaped(((Enum<?>) value).name());
+        } else if (value instanceof Iterable) {
+            for (Object item : (Iterable<?>) value)
+                writeItem(item, out);
+        } else if (value.getClass().isArray()) {
+            for (int i = 0; i < Array.getLength(value); i++)
+                writeItem(Array.get(value, i), out);
+        } else if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                ENCODING.key(String.valueOf(entry.getKey()), out);
+                writeValue(entry.getValue(), out);
+                ENCODING.keyEnd(String.valueOf(entry.getKey()), out);
+            }
+        } else {
+            out.appendXmlEscaped(value.toString());
+        }
+    }
+
+    private static void writeItem(Object item, Utf8Buffer out) {
+        out.append(ITEM);
+        writeValue(item, out);
+        out.append(ITEM_END);
+    }
+
+    /** Replace the characters that are not allowed in an XML name */
+    private static String elementName(String name) {
+        StringBuilder out = new StringBuilder(name.length() + 1);
+        if (name.isEmpty() || !(Character.isLetter(name.charAt(0)) || name.charAt(0) == '_'))
+            out.append('_');
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            out.append((Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.') ? c : '_');
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,200 @@
+package org.eclipse.microprofile.problemdetails.ri;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.microprofile.problemdetails.Constants.PROBLEM_DETAIL_YAML;
+
+/**
+ * Writes problem details as <code>application/problem+yaml</code>, without a generic serializer:
+ * the fields are escaped and encoded directly into a reused buffer, starting from a {@link ProblemDetailTemplate}.
+ * <p>
+ * Strings are written as double-quoted scalars with JSON escapes, which are valid YAML as well,
+ * and <code>&#92;u</code> escapes for the characters YAML doesn't allow unescaped.
+ * Collections and arrays are written as block sequences, maps as block mappings, and values
+ * that are not numbers or booleans as their quoted string representation. Floating point numbers
+ * are written with a dot and a signed exponent, e.g. <code>1.0e+10</code>, which YAML 1.1 and 1.2 parsers
+ * both read as a float.
+ */
+@Provider
+@Produces(PROBLEM_DETAIL_YAML)
+public class ProblemDetailYamlWriter implements MessageBodyWriter<ProblemDetail> {
+    private static final byte[] TYPE = ascii("type: \"");
+    private static final byte[] TITLE = ascii("\"\ntitle: \"");
+    private static final byte[] STATUS = ascii("\"\nstatus: ");
+    private static final byte[] DETAIL = ascii("detail: \"");
+    private static final byte[] INSTANCE = ascii("instance: \"");
+    private static final byte[] QUOTE_NEWLINE = ascii("\"\n");
+
+    /** Plain scalars that YAML parsers would not read as a string */
+    private static final Set<String> RESERVED = new HashSet<>(Arrays.asList(
+        "null", "true", "false", "yes", "no", "on", "off", "y", "n"));
+
+    private static final ProblemDetailTemplate.Encoding ENCODING = new ProblemDetailTemplate.Encoding() {
+        @Override public void head(String type, String title, int status, Utf8Buffer out) {
+            out.append(TYPE).appendYamlEscaped(type)
+                .append(TITLE).appendYamlEscaped(title)
+                .append(STATUS).append(status).append('\n');
+        }
+
+        @Override public void key(String name, Utf8Buffer out) {
+            writeKey(name, out);
+        }
+    };
+    private static final ClassValue<ProblemDetailTemplate> TEMPLATES = ProblemDetailTemplate.cache(ENCODING);
+
+    private static byte[] ascii(String value) { return value.getBytes(UTF_8); }
+
+    @Override public boolean isWriteable(Class<?> type, java.lang.reflect.Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == ProblemDetail.class && isYaml(mediaType);
+    }
+
+    private static boolean isYaml(MediaType mediaType) {
+        return mediaType != null && (mediaType.getSubtype().equals("yaml") || mediaType.getSubtype().equals("x-yaml")
+            || mediaType.getSubtype().endsWith("+yaml"));
+    }
+
+    @Override public void writeTo(ProblemDetail problemDetail, Class<?> type, java.lang.reflect.Type genericType, Annotation[] annotations,
+                                  MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        Utf8Buffer buffer = Utf8Buffer.get();
+        write(problemDetail, buffer);
+        buffer.writeTo(entityStream);
+    }
+
+    static void write(ProblemDetail problemDetail, Utf8Buffer out) {
+        ProblemDetailTemplate template = ProblemDetailTemplate.of(TEMPLATES, ENCODING, problemDetail);
+        template.writeHead(problemDetail, out);
+        if (problemDetail.getDetail() != null)
+            out.append(DETAIL).appendYamlEscaped(problemDetail.getDetail()).append(QUOTE_NEWLINE);
+        if (problemDetail.getInstance() != null)
+            out.append(INSTANCE).appendYamlEscaped(problemDetail.getInstance()).append(QUOTE_NEWLINE);
+
+        int index = 0;
+        for (Map.Entry<String, Object> extension : problemDetail.getExtensions().entrySet()) {
+            template.writeKey(index++, extension.getKey(), out);
+            writeValue(extension.getValue(), 2, out);
+        }
+    }
+
+    private static void writeKey(String name, Utf8Buffer out) {
+        if (isPlain(name))
+            out.appendYamlEscaped(name);
+        else
+            out.append('"').appendYamlEscaped(name).append('"');
+        out.append(':');
+    }
+
+    private static boolean isPlain(String name) {
+        if (name.isEmpty() || !(Character.isLetter(name.charAt(0)) || name.charAt(0) == '_')
+            || RESERVED.contains(name.toLowerCase(Locale.ROOT)))
+            return false;
+        for (int i = 1; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.'))
+                return false;
+        }
+        return true;
+    }
+
+    /** Write the value after a key or a sequence entry marker, indenting nested blocks by the given number of spaces */
+    private static void writeValue(Object value, int indent, Utf8Buffer out) {
+        if (value instanceof Collection || value instanceof Map || (value != null && value.getClass().isArray())) {
+            writeBlock(value, indent, out);
+            return;
+        }
+        out.append(' ');
+        if (value == null) {
+            out.appendAscii("null");
+        } else if (value instanceof Enum) {
+            out.append('"').appendYamlEscaped(((Enum<?>) value).name()).append('"');
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+            || value instanceof BigInteger || value instanceof Boolean) {
+            out.appendAscii(value.toString());
+        } else if (value instanceof BigDecimal) {
+            out.appendAscii(yamlFloat(value.toString()));
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            out.appendAscii(Double.isNaN(number) ? ".nan"
+                : (number == Double.POSITIVE_INFINITY) ? ".inf"
+                : (number == Double.NEGATIVE_INFINITY) ? "-.inf"
+                : yamlFloat(value.toString()));
+        } else {
+            out.append('"').appendYamlEscaped(value.toString()).append('"');
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Java writes numbers in scientific notation like <code>1.0E10</code> or <code>1E+3</code>,
+     * but a YAML 1.1 float needs a dot and a signed exponent, or it is read as a string
+     */
+    private static String yamlFloat(String number) {
+        int e = number.indexOf('E');
+        if (e < 0)
+            return number;
+        String mantissa = number.substring(0, e);
+        String exponent = number.substring(e + 1);
+        return mantissa + ((mantissa.indexOf('.') < 0) ? ".0" : "")
+            + "e" + ((exponent.charAt(0) == '-' || exponent.charAt(0) == '+') ? "" : "+") + exponent;
+    }
+
+    private static void writeBlock(Object value, int indent, Utf8Buffer out) {
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            if (map.isEmpty()) {
+                out.appendAscii(" {}\n");
+                return;
+            }
+            out.append('\n');
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                indent(indent, out);
+                writeKey(String.valueOf(entry.getKey()), out);
+                writeValue(entry.getValue(), indent + 2, out);
+            }
+        } else {
+            Iterator<?> items = (value instanceof Collection) ? ((Collection<?>) value).iterator() : arrayIterator(value);
+            if (!items.hasNext()) {
+                out.appendAscii(" []\n");
+                return;
+            }
+            out.append('\n');
+            while (items.hasNext()) {
+                indent(indent, out);
+                out.append('-');
+                writeValue(items.next(), indent + 2, out);
+            }
+        }
+    }
+
+    private static Iterator<Object> arrayIterator(Object array) {
+        return new Iterator<Object>() {
+            private int index = 0;
+
+            @Override public boolean hasNext() { return index < Array.getLength(array); }
+
+            @Override public Object next() { return Array.get(array, index++); }
+        };
+    }
+
+    private static void indent(int indent, Utf8Buffer out) {
+        for (int i = 0; i < indent; i++)
+            out.append(' ');
+    }
+}
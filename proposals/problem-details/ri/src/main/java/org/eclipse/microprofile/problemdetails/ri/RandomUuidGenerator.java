@@ -0,0 +1,77 @@
+package org.eclipse.microprofile.problemdetails.ri;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Generates random (version 4) <code>urn:uuid:</code> instance URIs, like {@link java.util.UUID#randomUUID()}
+ * but without the contention on its single shared {@link SecureRandom}: every thread has its own
+ * cryptographically strong generator, seeded from the shared one when the thread first needs it and
+ * reseeded after every {@value #RESEED_INTERVAL} ids. The URN is formatted into a char buffer
+ * reused by the thread, so the only allocation is the resulting string.
+ */
+public class RandomUuidGenerator implements InstanceIdGenerator {
+    static final int RESEED_INTERVAL = 1 << 16;
+
+    private static final String PREFIX = "urn:uuid:";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** Only used to seed the per-thread generators */
+    private static final SecureRandom SEEDER = new SecureRandom();
+
+    private final ThreadLocal<Stripe> stripes = ThreadLocal.withInitial(Stripe::new);
+
+    @Override public String generate() {
+        return stripes.get().next();
+    }
+
+    private static final class Stripe {
+        private final SecureRandom random = create();
+        private final byte[] bytes = new byte[16];
+        private final char[] chars = (PREFIX + "00000000-0000-0000-0000-000000000000").toCharArray();
+        private int remaining = RESEED_INTERVAL;
+
+        private static SecureRandom create() {
+            SecureRandom random;
+            try {
+                // the deterministic generators don't read from the OS on every call, like the default NativePRNG does
+                random = SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                try {
+                    random = SecureRandom.getInstance("SHA1PRNG");
+                } catch (NoSuchAlgorithmException e2) {
+                    return new SecureRandom();
+                }
+            }
+            random.setSeed(seed());
+            return random;
+        }
+
+        private static byte[] seed() {
+            byte[] seed = new byte[32];
+            synchronized (SEEDER) {
+                SEEDER.nextBytes(seed);
+            }
+            return seed;
+        }
+
+        private String next() {
+            if (--remaining == 0) {
+                random.setSeed(seed()); // adds to the entropy, doesn't replace it
+                remaining = RESEED_INTERVAL;
+            }
+            random.nextBytes(bytes);
+            bytes[6] = (byte) ((bytes[6] & 0x0f) | 0x40); // version 4
+            bytes[8] = (byte) ((bytes[8] & 0x3f) | 0x80); // IETF variant
+
+            int pos = PREFIX.length();
+            for (int i = 0; i < 16; i++) {
+                if (i == 4 || i == 6 || i == 8 || i == 10)
+                    pos++; // skip the dash
+                chars[pos++] = HEX[(bytes[i] >> 4) & 0x0f];
+                chars[pos++] = HEX[bytes[i] & 0x0f];
+            }
+            return new String(chars);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.eclipse.microprofile.problemdetails.ri;
+
+import org.eclipse.microprofile.problemdetails.Detail;
+import org.eclipse.microprofile.problemdetails.Extension;
+import org.eclipse.microprofile.problemdetails.Instance;
+import org.eclipse.microprofile.problemdetails.LogLevel;
+import org.eclipse.microprofile.problemdetails.Logging;
+import org.eclipse.microprofile.problemdetails.ProblemDetailDescriptor;
+import org.eclipse.microprofile.problemdetails.Status;
+import org.eclipse.microprofile.problemdetails.Title;
+import org.eclipse.microprofile.problemdetails.Type;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The descriptor of an exception without a generated one, e.g. a standard or a local exception class:
+ * built by reflecting on the annotations once, with method handles to read the annotated members.
+ */
+final class ReflectiveProblemDetailDescriptor<T extends Throwable> extends ProblemDetailDescriptor<T> {
+
+    static <T extends Throwable> ReflectiveProblemDetailDescriptor<T> of(Class<T> exceptionType) {
+        List<Member<T>> details = new ArrayList<>();
+        List<Member<T>> instances = new ArrayList<>();
+        List<Member<T>> extensions = new ArrayList<>();
+        List<AccessibleObject> members = new ArrayList<>();
+        members.addAll(Arrays.asList(exceptionType.getDeclaredFields()));
+        members.addAll(Arrays.asList(exceptionType.getDeclaredMethods()));
+        for (AccessibleObject member : members) {
+            if (((java.lang.reflect.Member) member).isSynthetic())
+                continue;
+            String name = ((java.lang.reflect.Member) member).getName();
+            if (member.isAnnotationPresent(Detail.class))
+                details.add(new Member<>(name, name, accessor(exceptionType, member)));
+            if (member.isAnnotationPresent(Instance.class))
+                instances.add(new Member<>(name, name, accessor(exceptionType, member)));
+            Extension extension = member.getAnnotation(Extension.class);
+            if (extension != null)
+                extensions.add(new Member<>(extension.value().isEmpty() ? name : extension.value(), name, accessor(exceptionType, member)));
+        }
+        details.sort(Comparator.comparing(Member::getName));
+        instances.sort(Comparator.comparing(Member::getName));
+        extensions.sort(Comparator.comparing(Member::getName));
+        return new ReflectiveProblemDetailDescriptor<>(exceptionType, details, instances, extensions);
+    }
+
+    private ReflectiveProblemDetailDescriptor(Class<T> exceptionType,
+                                              List<Member<T>> details, List<Member<T>> instances, List<Member<T>> extensions) {
+        super(exceptionType,
+            exceptionType.isAnnotationPresent(Type.class)
+                ? exceptionType.getAnnotation(Type.class).value()
+                : defaultType(simpleName(exceptionType)),
+            exceptionType.isAnnotationPresent(Title.class)
+                ? exceptionType.getAnnotation(Title.class).value()
+                : defaultTitle(simpleName(exceptionType)),
+            exceptionType.isAnnotationPresent(Status.class)
+                ? exceptionType.getAnnotation(Status.class).value()
+                : defaultStatus(exceptionType.getName()),
+            logCategory(exceptionType),
+            logLevel(exceptionType),
+            details, instances, extensions);
+    }
+
+    /** Anonymous classes have no name, so we take the name of the class they extend */
+    private static String simpleName(Class<?> type) {
+        while (type.isAnonymousClass())
+            type = type.getSuperclass();
+        return type.getSimpleName();
+    }
+
+    private static Logging logging(Class<?> exceptionType) {
+        Logging logging = exceptionType.getAnnotation(Logging.class);
+        if (logging == null && exceptionType.getPackage() != null)
+            logging = exceptionType.getPackage().getAnnotation(Logging.class);
+        return logging;
+    }
+
+    private static String logCategory(Class<?> exceptionType) {
+        Logging logging = logging(exceptionType);
+        return (logging != null && !logging.to().isEmpty()) ? logging.to() : exceptionType.getName();
+    }
+
+    private static LogLevel logLevel(Class<?> exceptionType) {
+        Logging logging = logging(exceptionType);
+        return (logging != null) ? logging.at() : LogLevel.AUTO;
+    }
+
+    private static <T> Accessor<T> accessor(Class<?> exceptionType, AccessibleObject member) {
+        String name = ((java.lang.reflect.Member) member).getName();
+        if (member instanceof Field) {
+            MethodHandle handle = field(exceptionType, name);
+            return exception -> (Object) handle.invokeExact((Throwable) exception);
+        }
+        Method method = (Method) member;
+        if (method.getParameterCount() != 0) {
+            String message = "expected no args but got " + method.getParameterCount();
+            return exception -> { throw new InvalidMemberException(message); };
+        }
+        MethodHandle handle = method(exceptionType, name);
+        return exception -> (Object) handle.invokeExact((Throwable) exception);
+    }
+
+    /** A member that can't be read; its message is the complete description of the problem */
+    private static class InvalidMemberException extends RuntimeException {
+        private InvalidMemberException(String message) { super(message, null, false, false); }
+
+        @Override public String toString() { return getMessage(); }
+    }
+}
@@ -0,0 +1,178 @@
+package org.eclipse.microprofile.problemdetails.ri;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A growable byte buffer that encodes and escapes strings as UTF-8 while appending, so an entity can be
+ * written to the output stream with a single call, without intermediate strings.
+ * Each thread reuses its own buffer, unless an entity made it grow beyond {@value #MAX_RETAINED} bytes.
+ */
+final class Utf8Buffer {
+    private static final int MAX_RETAINED = 16 * 1024;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(UTF_8);
+    private static final ThreadLocal<Utf8Buffer> BUFFERS = ThreadLocal.withInitial(Utf8Buffer::new);
+
+    /** The buffer of the current thread, emptied */
+    static Utf8Buffer get() {
+        Utf8Buffer buffer = BUFFERS.get();
+        buffer.size = 0;
+        return buffer;
+    }
+
+    private byte[] bytes = new byte[1024];
+    private int size;
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+        if (bytes.length > MAX_RETAINED)
+            bytes = new byte[1024];
+    }
+
+    Utf8Buffer append(byte[] value) {
+        ensure(value.length);
+        System.arraycopy(value, 0, bytes, size, value.length);
+        size += value.length;
+        return this;
+    }
+
+    Utf8Buffer append(char c) {
+        ensure(1);
+        bytes[size++] = (byte) c;
+        return this;
+    }
+
+    Utf8Buffer append(int value) {
+        return appendAscii(Integer.toString(value));
+    }
+
+    /** Append a string known to only contain ASCII characters that need no escaping, e.g. a number */
+    Utf8Buffer appendAscii(String value) {
+        int length = value.length();
+        ensure(length);
+        for (int i = 0; i < length; i++)
+            bytes[size++] = (byte) value.charAt(i);
+        return this;
+    }
+
+    /** Append the contents of a JSON string, i.e. without the quotes */
+    Utf8Buffer appendJsonEscaped(CharSequence value) {
+        return appendEscaped(value, false);
+    }
+
+    /**
+     * Append the contents of a double-quoted YAML scalar, i.e. without the quotes: like a JSON string,
+     * but with <code>DEL</code>, the C1 controls, and the byte order mark escaped, as YAML doesn't allow them unescaped
+     */
+    Utf8Buffer appendYamlEscaped(CharSequence value) {
+        return appendEscaped(value, true);
+    }
+
+    private Utf8Buffer appendEscaped(CharSequence value, boolean yaml) {
+        int length = value.length();
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (yaml && (c == 0x7f || (c >= 0x80 && c <= 0x9f) || c == 0xfeff)) {
+                appendUnicodeEscape(c);
+            } else if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                ensure(1);
+                bytes[size++] = (byte) c;
+            } else if (c == '"' || c == '\\') {
+                ensure(2);
+                bytes[size++] = '\\';
+                bytes[size++] = (byte) c;
+            } else if (c == '\n') {
+                appendAscii("\\n");
+            } else if (c == '\r') {
+                appendAscii("\\r");
+            } else if (c == '\t') {
+                appendAscii("\\t");
+            } else if (c < 0x20) {
+                appendUnicodeEscape(c);
+            } else {
+                i = appendNonAscii(value, i);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Append the contents of an XML element. Carriage returns are written as character references,
+     * so parsers don't normalize them away; other control characters are not allowed in XML 1.0,
+     * so they are replaced by <code>U+FFFD</code>.
+     */
+    Utf8Buffer appendXmlEscaped(CharSequence value) {
+        int length = value.length();
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '<') {
+                appendAscii("&lt;");
+            } else if (c == '>') {
+                appendAscii("&gt;");
+            } else if (c == '&') {
+                appendAscii("&amp;");
+            } else if (c == '\r') {
+                appendAscii("&#13;");
+            } else if ((c >= 0x20 && c < 0x80) || c == '\n' || c == '\t') {
+                ensure(1);
+                bytes[size++] = (byte) c;
+            } else if (c < 0x20 || c == '\ufffe' || c == '\uffff') {
+                appendNonAscii("\ufffd", 0);
+            } else {
+                i = appendNonAscii(value, i);
+            }
+        }
+        return this;
+    }
+
+    private void appendUnicodeEscape(char c) {
+        ensure(6);
+        bytes[size++] = '\\';
+        bytes[size++] = 'u';
+        bytes[size++] = HEX[(c >> 12) & 0xf];
+        bytes[size++] = HEX[(c >> 8) & 0xf];
+        bytes[size++] = HEX[(c >> 4) & 0xf];
+        bytes[size++] = HEX[c & 0xf];
+    }
+
+    /** Encode the non-ASCII char at the index (and its low surrogate); returns the index of the last char consumed */
+    private int appendNonAscii(CharSequence value, int i) {
+        char c = value.charAt(i);
+        ensure(4);
+        if (c < 0x800) {
+            bytes[size++] = (byte) (0xc0 | (c >> 6));
+            bytes[size++] = (byte) (0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(++i));
+            bytes[size++] = (byte) (0xf0 | (codePoint >> 18));
+            bytes[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+            bytes[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+            bytes[size++] = (byte) (0x80 | (codePoint & 0x3f));
+        } else if (Character.isSurrogate(c)) {
+            bytes[size++] = '?'; // unpaired, like String.getBytes(UTF_8)
+        } else {
+            bytes[size++] = (byte) (0xe0 | (c >> 12));
+            bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            bytes[size++] = (byte) (0x80 | (c & 0x3f));
+        }
+        return i;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    @Override public String toString() {
+        return new String(bytes, 0, size, UTF_8);
+    }
+}
@@ -0,0 +1,91 @@
+package test;
+
+import org.eclipse.microprofile.problemdetails.Logging;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailExceptionMapper;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailJsonWriter;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailXmlWriter;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailYamlWriter;
+import org.jboss.resteasy.mock.MockDispatcherFactory;
+import org.jboss.resteasy.mock.MockHttpRequest;
+import org.jboss.resteasy.mock.MockHttpResponse;
+import org.jboss.resteasy.spi.Dispatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.ServiceUnavailableException;
+
+import static org.eclipse.microprofile.problemdetails.LogLevel.OFF;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProblemDetailExceptionMapperTest {
+    private final Dispatcher dispatcher = MockDispatcherFactory.createDispatcher();
+
+    @Logging(at = OFF)
+    public static class OutOfCreditException extends RuntimeException {}
+
+    @Path("/")
+    public static class Boundary {
+        @GET public String fail() { throw new OutOfCreditException(); }
+
+        @GET @Path("/unavailable") public String unavailable() { throw new ServiceUnavailableException(120L); }
+    }
+
+    @BeforeEach void setUp() {
+        dispatcher.getProviderFactory()
+            .register(ProblemDetailExceptionMapper.class)
+            .register(ProblemDetailJsonWriter.class)
+            .register(ProblemDetailXmlWriter.class)
+            .register(ProblemDetailYamlWriter.class);
+        dispatcher.getRegistry().addSingletonResource(new Boundary());
+    }
+
+    @Test void shouldWriteJsonByDefault() throws Exception {
+        MockHttpResponse response = get(MockHttpRequest.get("/"));
+
+        assertEquals(400, response.getStatus());
+        assertEquals("application/problem+json", contentType(response));
+        assertTrue(response.getContentAsString().startsWith("{\"type\":\"urn:problem-type:out-of-credit\""));
+    }
+
+    @Test void shouldWriteXmlWhenPreferred() throws Exception {
+        MockHttpResponse response = get(MockHttpRequest.get("/").accept("text/plain, application/xml;q=0.9, application/json;q=0.8"));
+
+        assertEquals("application/problem+xml", contentType(response));
+        assertTrue(response.getContentAsString().contains("<type>urn:problem-type:out-of-credit</type>"));
+    }
+
+    @Test void shouldWriteYamlWhenPreferred() throws Exception {
+        MockHttpResponse response = get(MockHttpRequest.get("/").accept("application/yaml"));
+
+        assertEquals("application/problem+yaml", contentType(response));
+        assertTrue(response.getContentAsString().startsWith("type: \"urn:problem-type:out-of-credit\"\n"));
+    }
+
+    @Test void shouldWriteJsonWhenNothingElseIsAcceptable() throws Exception {
+        MockHttpResponse response = get(MockHttpRequest.get("/").accept("text/html"));
+
+        assertEquals("application/problem+json", contentType(response));
+    }
+
+    @Test void shouldKeepHeadersOfWebApplicationException() throws Exception {
+        MockHttpResponse response = get(MockHttpRequest.get("/unavailable"));
+
+        assertEquals(503, response.getStatus());
+        assertEquals("application/problem+json", contentType(response));
+        assertEquals("120", response.getOutputHeaders().getFirst("Retry-After").toString());
+        assertTrue(response.getContentAsString().contains("\"status\":503"));
+    }
+
+    private MockHttpResponse get(MockHttpRequest request) {
+        MockHttpResponse response = new MockHttpResponse();
+        dispatcher.invoke(request, response);
+        return response;
+    }
+
+    private static String contentType(MockHttpResponse response) {
+        return response.getOutputHeaders().getFirst("Content-Type").toString();
+    }
+}
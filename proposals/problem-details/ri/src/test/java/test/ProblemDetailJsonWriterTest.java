@@ -0,0 +1,115 @@
+package test;
+
+import org.eclipse.microprofile.problemdetails.Detail;
+import org.eclipse.microprofile.problemdetails.Extension;
+import org.eclipse.microprofile.problemdetails.Instance;
+import org.eclipse.microprofile.problemdetails.Logging;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetail;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailExceptionMapper;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailJsonWriter;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailMapper;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.microprofile.problemdetails.LogLevel.OFF;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProblemDetailJsonWriterTest {
+    private static final MediaType PROBLEM_JSON = MediaType.valueOf("application/problem+json");
+
+    private final ProblemDetailJsonWriter writer = new ProblemDetailJsonWriter();
+    private final ProblemDetailMapper mapper = new ProblemDetailMapper(true, () -> "urn:uuid:1");
+
+    @Logging(at = OFF)
+    public static class OutOfCreditException extends RuntimeException {
+        @Instance URI instance = URI.create("urn:some:instance");
+        @Detail String detail = "Your balance is \"30\"\n";
+        @Extension int balance = 30;
+        @Extension List<URI> accounts = Arrays.asList(URI.create("/account/12345"), URI.create("/account/67890"));
+        @Extension Boolean blocked = null;
+    }
+
+    @Test void shouldWriteMappedProblemDetail() throws IOException {
+        String json = write(mapper.map(new OutOfCreditException()));
+
+        assertEquals("{" +
+            "\"type\":\"urn:problem-type:out-of-credit\"," +
+            "\"title\":\"Out Of Credit\"," +
+            "\"status\":400," +
+            "\"detail\":\"Your balance is \\\"30\\\"\\n\"," +
+            "\"instance\":\"urn:some:instance\"," +
+            "\"accounts\":[\"/account/12345\",\"/account/67890\"]," +
+            "\"balance\":30," +
+            "\"blocked\":null" +
+            "}", json);
+    }
+
+    @Test void shouldWriteOverriddenStatus() throws IOException {
+        String json = write(mapper.map(new WebApplicationException(503)));
+
+        assertEquals("{" +
+            "\"type\":\"urn:problem-type:service-unavailable\"," +
+            "\"title\":\"Service Unavailable\"," +
+            "\"status\":503," +
+            "\"instance\":\"urn:uuid:1\"" +
+            "}", json);
+    }
+
+    @Test void shouldWriteConstructedProblemDetail() throws IOException {
+        Map<String, Object> extensions = new LinkedHashMap<>();
+        extensions.put("späte", 1.5);
+        extensions.put("emoji", "\uD83D\uDE00\u0001");
+        ProblemDetail problemDetail = new ProblemDetail("urn:problem-type:some", "Some", 400, null, null, extensions);
+
+        String json = write(problemDetail);
+
+        assertEquals("{" +
+            "\"type\":\"urn:problem-type:some\"," +
+            "\"title\":\"Some\"," +
+            "\"status\":400," +
+            "\"späte\":1.5," +
+            "\"emoji\":\"\uD83D\uDE00\\u0001\"" +
+            "}", json);
+    }
+
+    @Test void shouldOnlyWriteJson() {
+        assertTrue(writer.isWriteable(ProblemDetail.class, ProblemDetail.class, null, PROBLEM_JSON));
+        assertTrue(writer.isWriteable(ProblemDetail.class, ProblemDetail.class, null, MediaType.APPLICATION_JSON_TYPE));
+        assertFalse(writer.isWriteable(ProblemDetail.class, ProblemDetail.class, null, MediaType.APPLICATION_XML_TYPE));
+        assertFalse(writer.isWriteable(String.class, String.class, null, PROBLEM_JSON));
+    }
+
+    @Test void shouldMapToProblemDetailResponse() {
+        Response response = new ProblemDetailExceptionMapper().toResponse(new OutOfCreditException());
+
+        assertEquals(400, response.getStatus());
+        assertEquals(PROBLEM_JSON, response.getMediaType());
+        assertEquals("urn:problem-type:out-of-credit", ((ProblemDetail) response.getEntity()).getType());
+    }
+
+    @Test void shouldKeepEntityOfWebApplicationException() {
+        Response entity = Response.status(400).entity("the body").build();
+
+        assertSame(entity, new ProblemDetailExceptionMapper().toResponse(new WebApplicationException(entity)));
+    }
+
+    private String write(ProblemDetail problemDetail) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(problemDetail, ProblemDetail.class, ProblemDetail.class, null, PROBLEM_JSON, null, out);
+        return new String(out.toByteArray(), UTF_8);
+    }
+}
@@ -0,0 +1,180 @@
+package test;
+
+import org.eclipse.microprofile.problemdetails.Detail;
+import org.eclipse.microprofile.problemdetails.Extension;
+import org.eclipse.microprofile.problemdetails.Instance;
+import org.eclipse.microprofile.problemdetails.Logging;
+import org.eclipse.microprofile.problemdetails.ProblemDetailDescriptor;
+import org.eclipse.microprofile.problemdetails.Status;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetail;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailMapper;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.WebApplicationException;
+import java.net.URI;
+
+import static org.eclipse.microprofile.problemdetails.LogLevel.OFF;
+import static org.eclipse.microprofile.problemdetails.ResponseStatus.FORBIDDEN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProblemDetailMapperTest {
+    private final ProblemDetailMapper mapper = new ProblemDetailMapper(true);
+
+    @Status(FORBIDDEN)
+    @Logging(at = OFF)
+    public static class OutOfCreditException extends RuntimeException {
+        @Extension private final int balance = 30;
+        @Extension List accounts = null;
+        @Detail String detail = "some detail";
+        @Instance URI instance = URI.create("urn:some:instance");
+
+        private interface List {}
+    }
+
+    @Test void shouldCacheDescriptor() {
+        ProblemDetailDescriptor<OutOfCreditException> descriptor = ProblemDetailMapper.descriptor(OutOfCreditException.class);
+
+        assertSame(descriptor, ProblemDetailMapper.descriptor(OutOfCreditException.class));
+        assertEquals(OutOfCreditException.class.getName() + ProblemDetailDescriptor.SUFFIX, descriptor.getClass().getName());
+    }
+
+    @Test void shouldMapGeneratedDescriptor() {
+        ProblemDetail problemDetail = mapper.map(new OutOfCreditException());
+
+        assertEquals("urn:problem-type:out-of-credit", problemDetail.getType());
+        assertEquals("Out Of Credit", problemDetail.getTitle());
+        assertEquals(403, problemDetail.getStatus());
+        assertEquals("some detail", problemDetail.getDetail());
+        assertEquals("urn:some:instance", problemDetail.getInstance());
+        assertEquals("{accounts=null, balance=30}", problemDetail.getExtensions().toString());
+    }
+
+    @Nested class StandardExceptions {
+        @Test void shouldMapNullPointerException() {
+            ProblemDetail problemDetail = mapper.map(new NullPointerException("some message"));
+
+            assertEquals("urn:problem-type:null-pointer", problemDetail.getType());
+            assertEquals("Null Pointer", problemDetail.getTitle());
+            assertEquals(500, problemDetail.getStatus());
+            assertEquals("some message", problemDetail.getDetail());
+            assertTrue(problemDetail.getInstance().startsWith("urn:uuid:"));
+        }
+
+        @Test void shouldNotUseMessageAsDetailIfDisabled() {
+            ProblemDetail problemDetail = new ProblemDetailMapper(false).map(new NullPointerException("some message"));
+
+            assertNull(problemDetail.getDetail());
+        }
+
+        @Test void shouldMapWebApplicationExceptionSubclass() {
+            ProblemDetail problemDetail = mapper.map(new BadRequestException());
+
+            assertEquals("urn:problem-type:bad-request", problemDetail.getType());
+            assertEquals("Bad Request", problemDetail.getTitle());
+            assertEquals(400, problemDetail.getStatus());
+            assertNull(problemDetail.getDetail());
+        }
+
+        @Test void shouldMapPlainWebApplicationException() {
+            ProblemDetail problemDetail = mapper.map(new WebApplicationException(503));
+
+            assertEquals("urn:problem-type:service-unavailable", problemDetail.getType());
+            assertEquals("Service Unavailable", problemDetail.getTitle());
+            assertEquals(503, problemDetail.getStatus());
+            assertNull(problemDetail.getDetail());
+        }
+
+        @Test void shouldMapPlainWebApplicationExceptionWithClientErrorStatusWithoutConstant() {
+            ProblemDetail problemDetail = mapper.map(new WebApplicationException(422));
+
+            assertEquals("urn:problem-type:client-error", problemDetail.getType());
+            assertEquals("Client Error", problemDetail.getTitle());
+            assertEquals(422, problemDetail.getStatus());
+            assertNull(problemDetail.getDetail());
+        }
+
+        @Test void shouldMapPlainWebApplicationExceptionWithUnknownServerErrorStatus() {
+            ProblemDetail problemDetail = mapper.map(new WebApplicationException(599));
+
+            assertEquals("urn:problem-type:server-error", problemDetail.getType());
+            assertEquals("Server Error", problemDetail.getTitle());
+            assertEquals(599, problemDetail.getStatus());
+            assertNull(problemDetail.getDetail());
+        }
+    }
+
+    @Nested class LocalExceptions {
+        @Test void shouldMapDefaults() {
+            class CustomException extends RuntimeException {}
+
+            ProblemDetail problemDetail = mapper.map(new CustomException());
+
+            assertEquals("urn:problem-type:custom", problemDetail.getType());
+            assertEquals("Custom", problemDetail.getTitle());
+            assertEquals(400, problemDetail.getStatus());
+            assertNull(problemDetail.getDetail());
+            assertTrue(problemDetail.getInstance().startsWith("urn:uuid:"));
+        }
+
+        @Test void shouldJoinDetailsInNameOrder() {
+            class SomeMessageException extends RuntimeException {
+                @Detail public String detail0() { return "detail a"; }
+
+                @Detail private String detail1 = "detail b";
+                @Detail public String detail2 = "detail c";
+            }
+
+            ProblemDetail problemDetail = mapper.map(new SomeMessageException());
+
+            assertEquals("detail a detail b detail c", problemDetail.getDetail());
+        }
+
+        @Test void shouldMapFailingDetailMethod() {
+            class FailingDetailException extends RuntimeException {
+                @Detail public String failingDetail() { throw new RuntimeException("inner"); }
+            }
+
+            ProblemDetail problemDetail = mapper.map(new FailingDetailException());
+
+            assertEquals("could not invoke FailingDetailException.failingDetail: java.lang.RuntimeException: inner", problemDetail.getDetail());
+        }
+
+        @Test void shouldFailToMapDetailMethodTakingAnArgument() {
+            class SomeMessageException extends RuntimeException {
+                @Detail public String detail(String foo) { return "some " + foo; }
+            }
+
+            ProblemDetail problemDetail = mapper.map(new SomeMessageException());
+
+            assertEquals("could not invoke SomeMessageException.detail: expected no args but got 1", problemDetail.getDetail());
+        }
+
+        @Test void shouldMapNullInstance() {
+            class SomeException extends RuntimeException {
+                @Instance URI instance1() { return null; }
+            }
+
+            assertNull(mapper.map(new SomeException()).getInstance());
+        }
+
+        @Test void shouldMapSortedExtensions() {
+            class SomeMessageException extends RuntimeException {
+                @Extension String m1() { return "method 1"; }
+
+                @Extension("m2") String method() { return "method 2"; }
+
+                @Extension String f1 = "field 1";
+                @Extension("f2") String field = "field 2";
+            }
+
+            ProblemDetail problemDetail = mapper.map(new SomeMessageException());
+
+            assertEquals("{f1=field 1, f2=field 2, m1=method 1, m2=method 2}", problemDetail.getExtensions().toString());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package test;
+
+import org.eclipse.microprofile.problemdetails.Detail;
+import org.eclipse.microprofile.problemdetails.Extension;
+import org.eclipse.microprofile.problemdetails.Instance;
+import org.eclipse.microprofile.problemdetails.Logging;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetail;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailMapper;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailXmlWriter;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.microprofile.problemdetails.LogLevel.OFF;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProblemDetailXmlWriterTest {
+    private static final MediaType PROBLEM_XML = MediaType.valueOf("application/problem+xml");
+
+    private final ProblemDetailXmlWriter writer = new ProblemDetailXmlWriter();
+    private final ProblemDetailMapper mapper = new ProblemDetailMapper(true, () -> "urn:uuid:1");
+
+    @Logging(at = OFF)
+    public static class OutOfCreditException extends RuntimeException {
+        @Instance URI instance = URI.create("urn:some:instance");
+        @Detail String detail = "Your balance is <30> & \"negative\"\r\n";
+        @Extension int balance = 30;
+        @Extension List<URI> accounts = Arrays.asList(URI.create("/account/12345"), URI.create("/account/67890"));
+        @Extension Boolean blocked = null;
+    }
+
+    @Test void shouldWriteMappedProblemDetail() throws Exception {
+        String xml = write(mapper.map(new OutOfCreditException()));
+
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<problem xmlns=\"urn:ietf:rfc:7807\">" +
+            "<type>urn:problem-type:out-of-credit</type>" +
+            "<title>Out Of Credit</title>" +
+            "<status>400</status>" +
+            "<detail>Your balance is &lt;30&gt; &amp; \"negative\"&#13;\n</detail>" +
+            "<instance>urn:some:instance</instance>" +
+            "<accounts><i>/account/12345</i><i>/account/67890</i></accounts>" +
+            "<balance>30</balance>" +
+            "<blocked></blocked>" +
+            "</problem>", xml);
+        assertEquals("Your balance is <30> & \"negative\"\r\n",
+            parse(xml).getElementsByTagName("detail").item(0).getTextContent());
+    }
+
+    @Test void shouldWriteOverriddenStatus() throws Exception {
+        String xml = write(mapper.map(new WebApplicationException(503)));
+
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<problem xmlns=\"urn:ietf:rfc:7807\">" +
+            "<type>urn:problem-type:service-unavailable</type>" +
+            "<title>Service Unavailable</title>" +
+            "<status>503</status>" +
+            "<instance>urn:uuid:1</instance>" +
+            "</problem>", xml);
+    }
+
+    @Test void shouldWriteConstructedProblemDetail() throws Exception {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("a", 1);
+        nested.put("b", new int[]{2, 3});
+        Map<String, Object> extensions = new LinkedHashMap<>();
+        extensions.put("späte", 1.5);
+        extensions.put("1 invalid", "\uD83D\uDE00\u0001");
+        extensions.put("nested", nested);
+        ProblemDetail problemDetail = new ProblemDetail("urn:problem-type:some", "Some", 400, null, null, extensions);
+
+        String xml = write(problemDetail);
+
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<problem xmlns=\"urn:ietf:rfc:7807\">" +
+            "<type>urn:problem-type:some</type>" +
+            "<title>Some</title>" +
+            "<status>400</status>" +
+            "<späte>1.5</späte>" +
+            "<_1_invalid>\uD83D\uDE00\uFFFD</_1_invalid>" +
+            "<nested><a>1</a><b><i>2</i><i>3</i></b></nested>" +
+            "</problem>", xml);
+        parse(xml);
+    }
+
+    @Test void shouldOnlyWriteXml() {
+        assertTrue(writer.isWriteable(ProblemDetail.class, ProblemDetail.class, null, PROBLEM_XML));
+        assertTrue(writer.isWriteable(ProblemDetail.class, ProblemDetail.class, null, MediaType.APPLICATION_XML_TYPE));
+        assertFalse(writer.isWriteable(ProblemDetail.class, ProblemDetail.class, null, MediaType.APPLICATION_JSON_TYPE));
+        assertFalse(writer.isWriteable(ProblemDetail.class, ProblemDetail.class, null, MediaType.WILDCARD_TYPE));
+        assertFalse(writer.isWriteable(String.class, String.class, null, PROBLEM_XML));
+    }
+
+    private String write(ProblemDetail problemDetail) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(problemDetail, ProblemDetail.class, ProblemDetail.class, null, PROBLEM_XML, null, out);
+        return new String(out.toByteArray(), UTF_8);
+    }
+
+    private static Document parse(String xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(UTF_8)));
+    }
+}
@@ -0,0 +1,151 @@
+package test;
+
+import org.eclipse.microprofile.problemdetails.Detail;
+import org.eclipse.microprofile.problemdetails.Extension;
+import org.eclipse.microprofile.problemdetails.Instance;
+import org.eclipse.microprofile.problemdetails.Logging;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetail;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailMapper;
+import org.eclipse.microprofile.problemdetails.ri.ProblemDetailYamlWriter;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.microprofile.problemdetails.LogLevel.OFF;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProblemDetailYamlWriterTest {
+    private static final MediaType PROBLEM_YAML = MediaType.valueOf("application/problem+yaml");
+
+    private final ProblemDetailYamlWriter writer = new ProblemDetailYamlWriter();
+    private final ProblemDetailMapper mapper = new ProblemDetailMapper(true, () -> "urn:uuid:1");
+
+    @Logging(at = OFF)
+    public static class OutOfCreditException extends RuntimeException {
+        @Instance URI instance = URI.create("urn:some:instance");
+        @Detail String detail = "Your balance is \"30\"\n";
+        @Extension int balance = 30;
+        @Extension List<URI> accounts = Arrays.asList(URI.create("/account/12345"), URI.create("/account/67890"));
+        @Extension Boolean blocked = null;
+    }
+
+    @Test void shouldWriteMappedProblemDetail() throws IOException {
+        String yaml = write(mapper.map(new OutOfCreditException()));
+
+        assertEquals("" +
+            "type: \"urn:problem-type:out-of-credit\"\n" +
+            "title: \"Out Of Credit\"\n" +
+            "status: 400\n" +
+            "detail: \"Your balance is \\\"30\\\"\\n\"\n" +
+            "instance: \"urn:some:instance\"\n" +
+            "accounts:\n" +
+            "  - \"/account/12345\"\n" +
+            "  - \"/account/67890\"\n" +
+            "balance: 30\n" +
+            "blocked: null\n", yaml);
+    }
+
+    @Test void shouldWriteOverriddenStatus() throws IOException {
+        String yaml = write(mapper.map(new WebApplicationException(503)));
+
+        assertEquals("" +
+            "type: \"urn:problem-type:service-unavailable\"\n" +
+            "title: \"Service Unavailable\"\n" +
+            "status: 503\n" +
+            "instance: \"urn:uuid:1\"\n", yaml);
+    }
+
+    @Test void shouldWriteConstructedProblemDetail() throws IOException {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("a", Double.NaN);
+        nested.put("b", Arrays.asList(new int[]{2, 3}, Collections.emptyList()));
+        Map<String, Object> extensions = new LinkedHashMap<>();
+        extensions.put("späte", 1.5);
+        extensions.put("needs quotes", "\uD83D\uDE00\u0001");
+        extensions.put("yes", true);
+        extensions.put("nested", nested);
+        extensions.put("empty", Collections.emptyMap());
+        ProblemDetail problemDetail = new ProblemDetail("urn:problem-type:some", "Some", 400, null, null, extensions);
+
+        String yaml = write(problemDetail);
+
+        assertEquals("" +
+            "type: \"urn:problem-type:some\"\n" +
+            "title: \"Some\"\n" +
+            "status: 400\n" +
+            "späte: 1.5\n" +
+            "\"needs quotes\": \"\uD83D\uDE00\\u0001\"\n" +
+            "\"yes\": true\n" +
+            "nested:\n" +
+            "  a: .nan\n" +
+            "  b:\n" +
+            "    -\n" +
+            "      - 2\n" +
+            "      - 3\n" +
+            "    - []\n" +
+            "empty: {}\n", yaml);
+    }
+
+    @Test void shouldEscapeCharactersYamlDoesNotAllow() throws IOException {
+        ProblemDetail problemDetail = new ProblemDetail("urn:problem-type:some", "Some", 400,
+            "del\u007f nel\u0085 bom\ufeff ü", null, Collections.singletonMap("c1\u009f", "\u0080"));
+
+        String yaml = write(problemDetail);
+
+        assertEquals("" +
+            "type: \"urn:problem-type:some\"\n" +
+            "title: \"Some\"\n" +
+            "status: 400\n" +
+            "detail: \"del\\u007f nel\\u0085 bom\\ufeff ü\"\n" +
+            "\"c1\\u009f\": \"\\u0080\"\n", yaml);
+    }
+
+    @Test void shouldWriteFloatsInScientificNotationReadableByYaml11() throws IOException {
+        Map<String, Object> extensions = new LinkedHashMap<>();
+        extensions.put("double", 1.0E10);
+        extensions.put("float", 1.5E-7f);
+        extensions.put("decimal", new BigDecimal("1E+3"));
+        extensions.put("small", new BigDecimal("1.25E-7"));
+        extensions.put("plain", new BigDecimal("12.50"));
+        ProblemDetail problemDetail = new ProblemDetail("urn:problem-type:some", "Some", 400, null, null, extensions);
+
+        String yaml = write(problemDetail);
+
+        assertEquals("" +
+            "type: \"urn:problem-type:some\"\n" +
+            "title: \"Some\"\n" +
+            "status: 400\n" +
+            "double: 1.0e+10\n" +
+            "float: 1.5e-7\n" +
+            "decimal: 1.0e+3\n" +
+            "small: 1.25e-7\n" +
+            "plain: 12.50\n", yaml);
+    }
+
+    @Test void shouldOnlyWriteYaml() {
+        assertTrue(writer.isWriteable(ProblemDetail.class, ProblemDetail.class, null, PROBLEM_YAML));
+        assertTrue(writer.isWriteable(ProblemDetail.class, ProblemDetail.class, null, MediaType.valueOf("application/yaml")));
+        assertFalse(writer.isWriteable(ProblemDetail.class, ProblemDetail.class, null, MediaType.APPLICATION_JSON_TYPE));
+        assertFalse(writer.isWriteable(ProblemDetail.class, ProblemDetail.class, null, MediaType.WILDCARD_TYPE));
+        assertFalse(writer.isWriteable(String.class, String.class, null, PROBLEM_YAML));
+    }
+
+    private String write(ProblemDetail problemDetail) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(problemDetail, ProblemDetail.class, ProblemDetail.class, null, PROBLEM_YAML, null, out);
+        return new String(out.toByteArray(), UTF_8);
+    }
+}
@@ -0,0 +1,49 @@
+package test;
+
+import org.eclipse.microprofile.problemdetails.ri.RandomUuidGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RandomUuidGeneratorTest {
+    private final RandomUuidGenerator generator = new RandomUuidGenerator();
+
+    @Test void shouldGenerateRandomUuidUrn() {
+        String instance = generator.generate();
+
+        assertTrue(instance.startsWith("urn:uuid:"), instance);
+        UUID uuid = UUID.fromString(instance.substring("urn:uuid:".length()));
+        assertEquals(4, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(instance, "urn:uuid:" + uuid);
+    }
+
+    @Test void shouldGenerateUniqueIdsOnManyThreads() throws Exception {
+        Set<String> instances = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++)
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 10_000; j++)
+                        instances.add(generator.generate());
+                }));
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(80_000, instances.size());
+    }
+}